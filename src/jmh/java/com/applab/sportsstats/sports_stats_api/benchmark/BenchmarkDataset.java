@@ -0,0 +1,150 @@
+package com.applab.sportsstats.sports_stats_api.benchmark;
+
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.service.PlayerAggregateService;
+import com.applab.sportsstats.sports_stats_api.service.TeamStandingsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A league-sized dataset for the benchmarks: 30 teams of 15 players playing
+ * each other home and away, with the first two thirds of the schedule
+ * completed and five box score lines per team in each completed match.
+ * Runs ahead of the {@code DataInitializer}, which then leaves the data as
+ * is. The random source is seeded, so every run measures the same data.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class BenchmarkDataset implements CommandLineRunner {
+
+    static final int TEAMS = 30;
+    static final int PLAYERS_PER_TEAM = 15;
+    private static final int LINES_PER_TEAM = 5;
+    private static final OffsetDateTime SEASON_START = OffsetDateTime.of(2024, 10, 22, 19, 30, 0, 0, ZoneOffset.UTC);
+
+    private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final StatsRepository statsRepository;
+    private final PlayerAggregateService playerAggregateService;
+    private final TeamStandingsService teamStandingsService;
+
+    private final Random random = new Random(42);
+
+    @Override
+    public void run(String... args) {
+        List<Team> teams = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            teams.add(Team.builder()
+                    .name("Team " + t)
+                    .city("City " + (t % 20))
+                    .foundedYear(1946 + t)
+                    .coachName("Coach " + t)
+                    .homeStadium("Arena " + t)
+                    .build());
+        }
+        teams = teamRepository.saveAll(teams);
+
+        List<Player> players = new ArrayList<>();
+        Position[] positions = Position.values();
+        for (Team team : teams) {
+            for (int p = 0; p < PLAYERS_PER_TEAM; p++) {
+                players.add(Player.builder()
+                        .firstName("First" + players.size())
+                        .lastName("Last" + players.size())
+                        // Jersey numbers are unique across the league
+                        .jerseyNumber(players.size())
+                        .position(positions[p % positions.length])
+                        .dateOfBirth(LocalDate.of(1985 + random.nextInt(20), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                        .height(180 + random.nextInt(40))
+                        .weight(75 + random.nextInt(50))
+                        .team(team)
+                        .build());
+            }
+        }
+        players = playerRepository.saveAll(players);
+
+        List<Match> matches = new ArrayList<>();
+        for (int home = 0; home < TEAMS; home++) {
+            for (int away = 0; away < TEAMS; away++) {
+                if (home != away) {
+                    matches.add(Match.builder()
+                            .matchDate(SEASON_START.plusHours(8L * matches.size()))
+                            .venue("Arena " + home)
+                            .status(Match.MatchStatus.SCHEDULED)
+                            .homeTeam(teams.get(home))
+                            .awayTeam(teams.get(away))
+                            .teams(List.of(teams.get(home), teams.get(away)))
+                            .build());
+                }
+            }
+        }
+
+        List<Stats> stats = new ArrayList<>();
+        int completed = matches.size() * 2 / 3;
+        for (Match match : matches.subList(0, completed)) {
+            match.setStatus(Match.MatchStatus.COMPLETED);
+            match.setHomeTeamScore(boxScore(match, roster(players, teams.indexOf(match.getHomeTeam())), stats));
+            match.setAwayTeamScore(boxScore(match, roster(players, teams.indexOf(match.getAwayTeam())), stats));
+        }
+        matchRepository.saveAll(matches);
+        statsRepository.saveAll(stats);
+
+        playerAggregateService.rebuild();
+        teamStandingsService.rebuild();
+        log.info("Generated {} teams, {} players, {} matches and {} stats lines",
+                teams.size(), players.size(), matches.size(), stats.size());
+    }
+
+    private static List<Player> roster(List<Player> players, int team) {
+        return players.subList(team * PLAYERS_PER_TEAM, (team + 1) * PLAYERS_PER_TEAM);
+    }
+
+    private int boxScore(Match match, List<Player> roster, List<Stats> stats) {
+        int score = 0;
+        int first = random.nextInt(roster.size());
+        for (int line = 0; line < LINES_PER_TEAM; line++) {
+            int fieldGoals = 2 + random.nextInt(12);
+            int threes = random.nextInt(Math.min(fieldGoals, 5));
+            int freeThrows = random.nextInt(8);
+            int points = 2 * fieldGoals + threes + freeThrows;
+            stats.add(Stats.builder()
+                    .player(roster.get((first + line) % roster.size()))
+                    .match(match)
+                    .points(points)
+                    .assists(random.nextInt(12))
+                    .rebounds(random.nextInt(14))
+                    .steals(random.nextInt(4))
+                    .blocks(random.nextInt(4))
+                    .fieldGoalsMade(fieldGoals)
+                    .fieldGoalsAttempted(fieldGoals + random.nextInt(10))
+                    .threePointersMade(threes)
+                    .threePointersAttempted(threes + random.nextInt(5))
+                    .freeThrowsMade(freeThrows)
+                    .freeThrowsAttempted(freeThrows + random.nextInt(3))
+                    .minutesPlayed(15 + random.nextInt(25))
+                    .build());
+            score += points;
+        }
+        return score;
+    }
+}
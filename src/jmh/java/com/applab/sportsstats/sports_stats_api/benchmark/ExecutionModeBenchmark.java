@@ -0,0 +1,101 @@
+package com.applab.sportsstats.sports_stats_api.benchmark;
+
+import com.applab.sportsstats.sports_stats_api.SportsStatsApiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dashboard operation of independent top-level fields, resolved one after
+ * another on the calling thread or concurrently on virtual threads. The
+ * latency of a single operation shows the gain from resolving the siblings
+ * concurrently; the throughput of many concurrent operations shows the cost
+ * of the thread hand-offs once the connection pool is the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final String DASHBOARD = """
+            query Dashboard {
+              liveMatches { venue homeTeamScore awayTeamScore homeTeam { name } awayTeam { name } }
+              upcomingMatches { matchDate venue homeTeam { name } awayTeam { name } }
+              recentMatches: matches(filter: { status: COMPLETED }, limit: 20) {
+                matchDate homeTeamScore awayTeamScore homeTeam { name } awayTeam { name }
+              }
+              pointsLeaderboard(limit: 10) { entries { rank value player { lastName team { name } } } }
+              assistsLeaderboard(limit: 10) { entries { rank value player { lastName } } }
+              standings(limit: 30) { team { name } wins losses winPercentage }
+            }
+            """;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private final AtomicInteger invocation = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SportsStatsApiApplication.class, BenchmarkDataset.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--sports-stats.graphql.virtual-threads.enabled=" + virtualThreads,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.applab.sportsstats.sports_stats_api=WARN");
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object dashboard() {
+        return execute();
+    }
+
+    @Benchmark
+    @Threads(32)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object concurrentDashboards() {
+        return execute();
+    }
+
+    private Object execute() {
+        ExecutionGraphQlResponse response = graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                DASHBOARD, null, Map.of(), null, String.valueOf(invocation.incrementAndGet()), Locale.ROOT)).block();
+        if (!response.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark operation failed: " + response.getErrors());
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,119 @@
+package com.applab.sportsstats.sports_stats_api.benchmark;
+
+import com.applab.sportsstats.sports_stats_api.SportsStatsApiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end execution of representative operations against the
+ * {@link BenchmarkDataset}: parsing (cached after the first call),
+ * validation, cost analysis, resolvers, DataLoaders and SQL. Requests go
+ * through the {@link ExecutionGraphQlService}, below the HTTP layer, so the
+ * response cache is not involved and every invocation executes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQlOperationBenchmark {
+
+    private static final String PLAYERS_FILTERED = """
+            query PlayersFiltered($page: Int!) {
+              playersFiltered(filter: { minAge: 25, maxAge: 35 }, sort: { field: "lastName" },
+                              pagination: { page: $page, size: 20 }) {
+                content { firstName lastName position team { name } averagePoints }
+                pageInfo { totalElements }
+              }
+            }
+            """;
+
+    private static final String TEAM_RECORDS = """
+            query TeamRecords { teams { name totalWins winPercentage } }
+            """;
+
+    private static final String MATCH_STATS = """
+            query MatchStats($matchId: ID!) {
+              matchStats(matchId: $matchId) { points assists rebounds player { lastName team { name } } }
+            }
+            """;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private String leaderboard;
+    private int completedMatches;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Arguments rather than default properties, which application.yml would override
+        context = new SpringApplicationBuilder(SportsStatsApiApplication.class, BenchmarkDataset.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.applab.sportsstats.sports_stats_api=WARN");
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+        leaderboard = new ClassPathResource("persisted-queries/Leaderboard.graphql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        int matches = BenchmarkDataset.TEAMS * (BenchmarkDataset.TEAMS - 1);
+        completedMatches = matches * 2 / 3;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object playersFiltered() {
+        // The page moves on every call, so that the second-level cache does not answer every query
+        return execute(PLAYERS_FILTERED, Map.of("page", invocation++ % 10));
+    }
+
+    @Benchmark
+    public Object pointsLeaderboard() {
+        return execute(leaderboard, Map.of("category", "POINTS", "aggregation", "PER_GAME", "limit", 25));
+    }
+
+    @Benchmark
+    public Object teamRecords() {
+        return execute(TEAM_RECORDS, Map.of());
+    }
+
+    @Benchmark
+    public Object matchStats() {
+        return execute(MATCH_STATS, Map.of("matchId", String.valueOf(1 + invocation++ % completedMatches)));
+    }
+
+    private Object execute(String document, Map<String, Object> variables) {
+        ExecutionGraphQlResponse response = graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                document, null, variables, null, String.valueOf(invocation), Locale.ROOT)).block();
+        if (!response.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark operation failed: " + response.getErrors());
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,59 @@
+package com.applab.sportsstats.sports_stats_api.benchmark;
+
+import com.applab.sportsstats.sports_stats_api.dto.PaginationInput;
+import com.applab.sportsstats.sports_stats_api.dto.SortInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request handling of the sort and pagination arguments: validation
+ * of the sort field against the entity's allowed fields, and the conversion
+ * to a Spring Data {@link Pageable}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputHandlingBenchmark {
+
+    private SortInput sort;
+    private PaginationInput pagination;
+
+    @Setup
+    public void setUp() {
+        sort = new SortInput();
+        sort.setField("lastName");
+        sort.setDirection(SortInput.SortDirection.DESC);
+        pagination = new PaginationInput();
+        pagination.setPage(3);
+        pagination.setSize(25);
+    }
+
+    @Benchmark
+    public Sort validateSort() {
+        sort.validate("player");
+        return sort.toSpringSort();
+    }
+
+    @Benchmark
+    public Pageable pageRequest() {
+        pagination.validate();
+        sort.validate("player");
+        return PageRequest.of(pagination.getValidatedPage(), pagination.getValidatedSize(), sort.toSpringSort());
+    }
+}
@@ -0,0 +1,67 @@
+package com.applab.sportsstats.sports_stats_api.benchmark;
+
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.service.MatchEventPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emit throughput of the {@link MatchEventPublisher}, fanned out to a
+ * number of subscribers split between the all-matches stream and the stream
+ * of the updated match. The subscribers consume on the emitting thread, as
+ * the WebSocket sessions' first operators do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchEventPublisherBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int subscribers;
+
+    private MatchEventPublisher publisher;
+    private final List<Disposable> subscriptions = new ArrayList<>();
+    private Match match;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        publisher = new MatchEventPublisher();
+        match = Match.builder().id(1L).homeTeamScore(0).awayTeamScore(0).build();
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add((i % 2 == 0 ? publisher.getAllMatchUpdatesFlux() : publisher.getMatchUpdatesFlux(1L))
+                    .subscribe(blackhole::consume));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        publisher.shutdown();
+    }
+
+    @Benchmark
+    public void publishScoreUpdate() {
+        match.setHomeTeamScore(match.getHomeTeamScore() + 1);
+        publisher.publishMatchScoreUpdate(match);
+    }
+}
@@ -3,6 +3,8 @@ package com.applab.sportsstats.sports_stats_api.config;
 import com.applab.sportsstats.sports_stats_api.entity.*;
 import com.applab.sportsstats.sports_stats_api.enums.Position;
 import com.applab.sportsstats.sports_stats_api.repository.*;
+import com.applab.sportsstats.sports_stats_api.service.PlayerAggregateService;
+import com.applab.sportsstats.sports_stats_api.service.TeamStandingsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -22,10 +24,14 @@ public class DataInitializer implements CommandLineRunner {
     private final PlayerRepository playerRepository;
     private final MatchRepository matchRepository;
     private final StatsRepository statsRepository;
+    private final PlayerAggregateService playerAggregateService;
+    private final TeamStandingsService teamStandingsService;
 
     @Override
     public void run(String... args) throws Exception {
-        if (teamRepository.count() == 0) {
+        if (Arrays.stream(args).anyMatch(arg -> arg.startsWith(SeasonImportRunner.IMPORT_OPTION))) {
+            log.info("Importing a season, skipping initialization.");
+        } else if (teamRepository.count() == 0) {
             log.info("Initializing sample data...");
             initializeData();
             log.info("Sample data initialized successfully!");
@@ -98,6 +104,10 @@ public class DataInitializer implements CommandLineRunner {
         createStats(butler, match2, 19, 6, 5, 3, 1, 7, 15, 1, 4, 4, 6, 39);
         createStats(adebayo, match2, 15, 2, 12, 0, 2, 6, 10, 0, 0, 3, 5, 35);
 
+        // Sample data bypasses the mutations, so derive the read models in one pass
+        playerAggregateService.rebuild();
+        teamStandingsService.rebuild();
+
         log.info("Created {} teams, {} players, {} matches, {} stats entries", 
                 teamRepository.count(), playerRepository.count(), 
                 matchRepository.count(), statsRepository.count());
@@ -0,0 +1,109 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.dto.PlayerStatsSummary;
+import com.applab.sportsstats.sports_stats_api.dto.TeamRecord;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamStandingRepository;
+import com.applab.sportsstats.sports_stats_api.service.FetchPlanner;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoaderOptions;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Registers the DataLoaders used by the field resolvers so that computed
+ * fields and lazy associations are loaded once per execution level instead
+ * of once per parent.
+ *
+ * Entity loaders are keyed by id rather than by parent entity: the foreign
+ * key is read from the parent's uninitialized proxy, and all keys collected
+ * in one level are fetched with a single IN query. Teams and players are
+ * read from the second-level cache first, so only the misses are queried.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class DataLoaderConfig {
+
+    private final BatchLoaderRegistry batchLoaderRegistry;
+    private final DataLoaderMetrics dataLoaderMetrics;
+    private final FetchPlanner fetchPlanner;
+    private final MatchRepository matchRepository;
+    private final PlayerAggregateRepository playerAggregateRepository;
+    private final TeamStandingRepository teamStandingRepository;
+
+    @PostConstruct
+    public void registerBatchLoaders() {
+        batchLoaderRegistry.forTypePair(Long.class, Team.class)
+                .withOptions(this::instrument)
+                .registerMappedBatchLoader((teamIds, env) ->
+                        Mono.fromSupplier(() -> byId(fetchPlanner.findAllById(Team.class, teamIds), Team::getId)));
+
+        batchLoaderRegistry.forTypePair(Long.class, Player.class)
+                .withOptions(this::instrument)
+                .registerMappedBatchLoader((playerIds, env) ->
+                        Mono.fromSupplier(() -> byId(fetchPlanner.findAllById(Player.class, playerIds), Player::getId)));
+
+        batchLoaderRegistry.forTypePair(Long.class, Match.class)
+                .withOptions(this::instrument)
+                .registerMappedBatchLoader((matchIds, env) ->
+                        Mono.fromSupplier(() -> byId(matchRepository.findAllById(matchIds), Match::getId)));
+
+        batchLoaderRegistry.forTypePair(Long.class, PlayerStatsSummary.class)
+                .withOptions(this::instrument)
+                .registerMappedBatchLoader((playerIds, env) ->
+                        Mono.fromSupplier(() -> loadPlayerStatsSummaries(playerIds)));
+
+        batchLoaderRegistry.forTypePair(Long.class, TeamRecord.class)
+                .withOptions(this::instrument)
+                .registerMappedBatchLoader((teamIds, env) ->
+                        Mono.fromSupplier(() -> loadTeamRecords(teamIds)));
+    }
+
+    private void instrument(DataLoaderOptions.Builder options) {
+        options.setInstrumentation(dataLoaderMetrics);
+    }
+
+    private static <T> Map<Long, T> byId(Iterable<T> entities, Function<T, Long> idGetter) {
+        Map<Long, T> result = new HashMap<>();
+        entities.forEach(entity -> result.put(idGetter.apply(entity), entity));
+        return result;
+    }
+
+    private Map<Long, PlayerStatsSummary> loadPlayerStatsSummaries(Set<Long> playerIds) {
+        log.debug("Batch loading stats summaries for {} players", playerIds.size());
+
+        Map<Long, PlayerStatsSummary> summaries = new HashMap<>();
+        playerAggregateRepository.findStatsSummariesByPlayerIds(playerIds)
+                .forEach(summary -> summaries.put(summary.playerId(), summary));
+
+        // Players without any recorded stats still need a value
+        playerIds.forEach(id -> summaries.computeIfAbsent(id, PlayerStatsSummary::empty));
+        return summaries;
+    }
+
+    private Map<Long, TeamRecord> loadTeamRecords(Set<Long> teamIds) {
+        log.debug("Batch loading win/loss records for {} teams", teamIds.size());
+
+        Map<Long, TeamRecord> records = new HashMap<>();
+        teamStandingRepository.findAllById(teamIds)
+                .forEach(standing -> records.put(standing.getTeamId(), new TeamRecord(
+                        standing.getTeamId(), standing.getWins(), standing.getLosses(), standing.getTies())));
+
+        // Teams without a standings row still need a value
+        teamIds.forEach(id -> records.computeIfAbsent(id, TeamRecord::empty));
+        return records;
+    }
+}
@@ -0,0 +1,38 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.instrumentation.DataLoaderInstrumentation;
+import org.dataloader.instrumentation.DataLoaderInstrumentationContext;
+import org.dataloader.instrumentation.DataLoaderInstrumentationHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Records the number of keys in every batch of the DataLoaders registered
+ * by {@link DataLoaderConfig} as {@code graphql.dataloader.batch.size},
+ * tagged with the loaded type. Batches of one mean a field is loaded per
+ * parent after all.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataLoaderMetrics implements DataLoaderInstrumentation {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public DataLoaderInstrumentationContext<List<?>> beginBatchLoader(DataLoader<?, ?> dataLoader, List<?> keys,
+                                                                      BatchLoaderEnvironment environment) {
+        String name = dataLoader.getName();
+        DistributionSummary.builder("graphql.dataloader.batch.size")
+                .description("Keys loaded per DataLoader batch")
+                .tag("loader", name != null ? name.substring(name.lastIndexOf('.') + 1) : "unnamed")
+                .register(meterRegistry)
+                .record(keys.size());
+        return DataLoaderInstrumentationHelper.noOpCtx();
+    }
+}
@@ -0,0 +1,134 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.dto.MatchFilter;
+import com.applab.sportsstats.sports_stats_api.dto.PlayerFilter;
+import com.applab.sportsstats.sports_stats_api.dto.StatsFilter;
+import com.applab.sportsstats.sports_stats_api.enums.ExportFormat;
+import com.applab.sportsstats.sports_stats_api.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a whole table as {@code GET /export/{players|matches|stats}},
+ * straight to the response: {@code format=ndjson} (the default) or
+ * {@code format=csv}, gzipped for clients that accept it. Query parameters
+ * are bound to the same filters as the GraphQL queries, e.g.
+ * {@code /export/matches?status=COMPLETED&dateFrom=2024-01-01T00:00:00Z};
+ * stat lines are filtered by player and match, as in
+ * {@code /export/stats?player.teamId=1&match.status=COMPLETED}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportHandler {
+
+    private static final FormattingConversionService CONVERSION_SERVICE = conversionService();
+    private static final int GZIP_BUFFER_SIZE = 8 * 1024;
+
+    private final ExportService exportService;
+
+    @FunctionalInterface
+    private interface Export {
+        long writeTo(OutputStream out) throws IOException;
+    }
+
+    public ServerResponse handleRequest(ServerRequest request) {
+        String table = request.pathVariable("table");
+        ExportFormat format;
+        try {
+            format = ExportFormat.valueOf(request.param("format").orElse("ndjson").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().body("Format must be one of " + Arrays.toString(ExportFormat.values()));
+        }
+
+        Export export;
+        try {
+            export = switch (table) {
+                case "players" -> {
+                    PlayerFilter filter = bind(request, PlayerFilter.class);
+                    filter.validate();
+                    yield out -> exportService.exportPlayers(filter, format, out);
+                }
+                case "matches" -> {
+                    MatchFilter filter = bind(request, MatchFilter.class);
+                    filter.validate();
+                    yield out -> exportService.exportMatches(filter, format, out);
+                }
+                case "stats" -> {
+                    StatsFilter filter = bind(request, StatsFilter.class);
+                    filter.validate();
+                    yield out -> exportService.exportStats(filter, format, out);
+                }
+                default -> null;
+            };
+        } catch (BindException e) {
+            return ServerResponse.badRequest().body(e.getFieldErrors().stream()
+                    .map(error -> "Invalid value for " + error.getField() + ": " + error.getRejectedValue())
+                    .collect(Collectors.joining("\n")));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().body(e.getMessage());
+        }
+        if (export == null) {
+            return ServerResponse.notFound().build();
+        }
+
+        boolean gzip = acceptsGzip(request);
+        return ServerResponse.ok()
+                .contentType(format.getMediaType())
+                .headers(headers -> {
+                    headers.setContentDisposition(
+                            ContentDisposition.attachment().filename(table + format.getExtension()).build());
+                    headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+                    if (gzip) {
+                        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    }
+                })
+                .build((servletRequest, servletResponse) -> {
+                    OutputStream body = servletResponse.getOutputStream();
+                    if (gzip) {
+                        try (GZIPOutputStream compressed = new GZIPOutputStream(body, GZIP_BUFFER_SIZE)) {
+                            export.writeTo(compressed);
+                        }
+                    } else {
+                        export.writeTo(body);
+                    }
+                    return null;
+                });
+    }
+
+    private static <T> T bind(ServerRequest request, Class<T> filterType) throws BindException {
+        return request.bind(filterType, binder -> binder.setConversionService(CONVERSION_SERVICE));
+    }
+
+    private static boolean acceptsGzip(ServerRequest request) {
+        return request.headers().header(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(coding -> coding.replace(" ", "").toLowerCase(Locale.ROOT))
+                .anyMatch(coding -> coding.equals("gzip")
+                        || (coding.startsWith("gzip;") && !coding.matches("gzip;q=0(\\.0*)?")));
+    }
+
+    // Dates and timestamps in ISO-8601, as in the GraphQL scalars
+    private static FormattingConversionService conversionService() {
+        DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService(false);
+        DateTimeFormatterRegistrar registrar = new DateTimeFormatterRegistrar();
+        registrar.setUseIsoFormat(true);
+        registrar.registerFormatters(conversionService);
+        return conversionService;
+    }
+}
@@ -1,10 +1,20 @@
 package com.applab.sportsstats.sports_stats_api.config;
 
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.applab.sportsstats.sports_stats_api.service.MatchEventPublisher;
 import graphql.scalars.ExtendedScalars;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
 
 @Configuration
 public class GraphQLConfig {
@@ -17,6 +27,45 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.GraphQLLong);
     }
 
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(PersistedDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    // Ahead of the POST-only GraphQL route, which rejects GET on the same path
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public RouterFunction<ServerResponse> graphQlGetRouterFunction(GraphQlProperties properties,
+                                                                   GraphQlGetHandler graphQlGetHandler) {
+        return RouterFunctions.route()
+                .GET(properties.getHttp().getPath(), graphQlGetHandler::handleRequest)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> exportRouterFunction(ExportHandler exportHandler) {
+        return RouterFunctions.route()
+                .GET("/export/{table}", exportHandler::handleRequest)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder subscriptionMetrics(MatchEventPublisher matchEventPublisher) {
+        return registry -> {
+            Gauge.builder("graphql.subscriptions", matchEventPublisher, MatchEventPublisher::getGlobalSubscriberCount)
+                    .description("Active match update subscriptions")
+                    .tag("stream", "all")
+                    .register(registry);
+            Gauge.builder("graphql.subscriptions", matchEventPublisher, MatchEventPublisher::getMatchSubscriberCount)
+                    .description("Active match update subscriptions")
+                    .tag("stream", "match")
+                    .register(registry);
+            Gauge.builder("graphql.subscriptions.matches", matchEventPublisher, MatchEventPublisher::getSubscribedMatchCount)
+                    .description("Matches with at least one subscription")
+                    .register(registry);
+        };
+    }
+
     // (Optional) Ensure JavaTimeModule registered if needed elsewhere
     @Bean
     public JavaTimeModule javaTimeModule() {
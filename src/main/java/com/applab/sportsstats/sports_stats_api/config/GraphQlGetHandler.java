@@ -0,0 +1,112 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.language.OperationDefinition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Executes queries sent as {@code GET /graphql?query=...&variables=...},
+ * which the POST endpoint does not accept; persisted queries can be sent as
+ * {@code extensions} alone. Responses without errors carry a strong ETag
+ * over their exact bytes, so a polling client that sends it back in
+ * {@code If-None-Match} receives a 304 until the data changes. Mutations
+ * must be sent with POST.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQlGetHandler {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final WebGraphQlHandler webGraphQlHandler;
+    private final ObjectMapper objectMapper;
+    private final PersistedDocumentProvider documentProvider;
+    private final IdGenerator idGenerator = new AlternativeJdkIdGenerator();
+
+    public ServerResponse handleRequest(ServerRequest request) {
+        SerializableGraphQlRequest body = new SerializableGraphQlRequest();
+        request.param("query").ifPresent(body::setQuery);
+        request.param("operationName").ifPresent(body::setOperationName);
+        try {
+            body.setVariables(jsonParam(request, "variables"));
+            body.setExtensions(jsonParam(request, "extensions"));
+        } catch (JsonProcessingException e) {
+            return ServerResponse.badRequest().body("Variables and extensions must be JSON objects");
+        }
+        String document;
+        try {
+            // The persisted query marker when only a hash was sent
+            document = body.getDocument();
+        } catch (ServerWebInputException e) {
+            return ServerResponse.badRequest().body("Missing query parameter");
+        }
+        boolean query = documentProvider.operationType(document, body.getExtensions(), body.getOperationName())
+                // Unknown or ambiguous operations are reported by the execution
+                .map(operation -> operation == OperationDefinition.Operation.QUERY)
+                .orElse(true);
+        if (!query) {
+            return ServerResponse.status(HttpStatus.METHOD_NOT_ALLOWED).allow(HttpMethod.POST)
+                    .body("Only queries can be sent with GET");
+        }
+
+        WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(
+                request.uri(), request.headers().asHttpHeaders(), null, request.remoteAddress().orElse(null),
+                request.attributes(), body, idGenerator.generateId().toString(), request.servletRequest().getLocale());
+        return ServerResponse.async(webGraphQlHandler.handleRequest(graphQlRequest)
+                .map(response -> respond(request, response)));
+    }
+
+    private ServerResponse respond(ServerRequest request, WebGraphQlResponse response) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response.toMap());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write GraphQL response", e);
+        }
+        ServerResponse.BodyBuilder ok = ServerResponse.ok()
+                .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                .contentType(MediaType.APPLICATION_JSON);
+        if (!response.isValid() || !response.getErrors().isEmpty()) {
+            return ok.cacheControl(CacheControl.noStore()).body(json);
+        }
+        String eTag = eTag(json);
+        // Revalidated on every poll; unchanged data costs a 304 without a body
+        return request.checkNotModified(eTag)
+                .orElseGet(() -> ok.eTag(eTag).cacheControl(CacheControl.noCache()).body(json));
+    }
+
+    private Map<String, Object> jsonParam(ServerRequest request, String name) throws JsonProcessingException {
+        Optional<String> json = request.param(name);
+        return json.isPresent() ? objectMapper.readValue(json.get(), JSON_OBJECT) : null;
+    }
+
+    private static String eTag(byte[] json) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
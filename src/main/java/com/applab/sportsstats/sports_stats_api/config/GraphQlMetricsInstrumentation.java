@@ -0,0 +1,138 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLNamedType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters for the GraphQL executions:
+ * <ul>
+ *   <li>{@code graphql.field}: the latency of every resolver, tagged with its
+ *       {@code Type.field} coordinate. Property reads are not timed.</li>
+ *   <li>{@code graphql.operation.statements.approximate} and
+ *       {@code graphql.operation.rows.approximate}: the SQL statements
+ *       prepared and the entities loaded while an operation ran.</li>
+ *   <li>{@code graphql.errors}: the errors returned, by classification.</li>
+ * </ul>
+ * The statement and row figures are deltas of the global Hibernate
+ * statistics, as the resolvers of one operation can run on several threads
+ * and sessions. They include whatever else ran meanwhile: other operations,
+ * rebuilds, imports. Figures taken while another operation was in flight
+ * are tagged {@code overlapped=true}; the others are exact unless some work
+ * outside GraphQL ran at the same time. The distributions are meant to spot
+ * the heavy operations, not to account for every statement.
+ */
+@Component
+public class GraphQlMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private final MeterRegistry meterRegistry;
+    private final Statistics statistics;
+    private final AtomicInteger operationsInFlight = new AtomicInteger();
+    private final AtomicLong operationsStarted = new AtomicLong();
+
+    public GraphQlMetricsInstrumentation(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.meterRegistry = meterRegistry;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new OperationState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        operationState.alone = operationsInFlight.getAndIncrement() == 0;
+        operationState.started = operationsStarted.incrementAndGet();
+        operationState.statements = statistics.getPrepareStatementCount();
+        operationState.rows = statistics.getEntityLoadCount();
+        operationState.operation = parameters.getExecutionContext().getOperationDefinition()
+                .getOperation().name().toLowerCase(Locale.ROOT);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState state) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        if (parameters.isTrivialDataFetcher() || environment.getField().getName().startsWith("__")) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        String field = ((GraphQLNamedType) environment.getParentType()).getName() + "." + environment.getField().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Completes when the value does, so DataLoader fields include their batch
+        return SimpleInstrumentationContext.whenCompleted((value, error) -> sample.stop(Timer.builder("graphql.field")
+                .description("Latency of the GraphQL resolvers")
+                .tag("field", field)
+                .tag("outcome", error == null ? "success" : "error")
+                .register(meterRegistry)));
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        if (operationState != null && operationState.operation != null) {
+            long statements = statistics.getPrepareStatementCount() - operationState.statements;
+            long rows = statistics.getEntityLoadCount() - operationState.rows;
+            // Another operation was in flight when this one started, or started after it
+            boolean overlapped = !operationState.alone || operationsStarted.get() != operationState.started;
+            operationsInFlight.decrementAndGet();
+
+            DistributionSummary.builder("graphql.operation.statements.approximate")
+                    .description("SQL statements prepared while a GraphQL operation ran, by any session")
+                    .tag("operation", operationState.operation)
+                    .tag("overlapped", String.valueOf(overlapped))
+                    .register(meterRegistry)
+                    .record(statements);
+            DistributionSummary.builder("graphql.operation.rows.approximate")
+                    .description("Entities loaded while a GraphQL operation ran, by any session")
+                    .tag("operation", operationState.operation)
+                    .tag("overlapped", String.valueOf(overlapped))
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        for (GraphQLError error : executionResult.getErrors()) {
+            Counter.builder("graphql.errors")
+                    .description("Errors returned by GraphQL executions")
+                    .tag("type", String.valueOf(error.getErrorType()))
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private static final class OperationState implements InstrumentationState {
+        private volatile boolean alone;
+        private volatile long started;
+        private volatile long statements;
+        private volatile long rows;
+        // Unset when the request did not get as far as executing
+        private volatile String operation;
+    }
+}
@@ -0,0 +1,223 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.dto.DocumentCacheStatistics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static graphql.execution.preparsed.persisted.PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+
+/**
+ * Parsed and validated documents, keyed by the SHA-256 hash of their text,
+ * so that a known operation skips parsing and validation. Clients can send
+ * the hash alone, following the automatic persisted query protocol: an
+ * unknown hash is answered with {@code PersistedQueryNotFound}, and the
+ * client then sends the text along with the hash to register it.
+ *
+ * The operations in {@code persisted-queries/*.graphql} are registered at
+ * startup and can always be sent by hash. With
+ * {@code sports-stats.graphql.allowlist-only} set, they are the only
+ * operations that are executed.
+ */
+@Slf4j
+@Component
+public class PersistedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final int MAXIMUM_SIZE = 2000;
+    private static final String REGISTERED_OPERATIONS = "classpath*:persisted-queries/*.graphql";
+
+    private final boolean allowlistOnly;
+    // Hash to text of the registered operations
+    private final Map<String, String> registered;
+
+    private final Cache<String, CachedDocument> documents = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .recordStats()
+            .build();
+    private final LongAdder persistedQueryMisses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PersistedDocumentProvider(@Value("${sports-stats.graphql.allowlist-only:false}") boolean allowlistOnly)
+            throws IOException {
+        this.allowlistOnly = allowlistOnly;
+        this.registered = loadRegistered();
+        log.info("Registered {} persisted operations (allowlist only: {})", registered.size(), allowlistOnly);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, parseAndValidate));
+    }
+
+    private PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                               Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String query = executionInput.getQuery();
+        String persistedHash = persistedQueryHash(executionInput.getExtensions());
+
+        if (PERSISTED_QUERY_MARKER.equals(query)) {
+            if (persistedHash == null) {
+                return persistedQueryError(new PersistedQueryIdInvalid(null));
+            }
+            CachedDocument document = documents.get(persistedHash, hash -> {
+                String text = registered.get(hash);
+                return text != null ? parse(executionInput.transform(builder -> builder.query(text)), parseAndValidate) : null;
+            });
+            if (document == null) {
+                persistedQueryMisses.increment();
+                return persistedQueryError(new PersistedQueryNotFound(persistedHash));
+            }
+            return document.entry();
+        }
+
+        String hash = sha256(query);
+        if (persistedHash != null && !persistedHash.equals(hash)) {
+            return persistedQueryError(new PersistedQueryIdInvalid(persistedHash));
+        }
+        if (allowlistOnly && !registered.containsKey(hash)) {
+            rejected.increment();
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                    .message("Only registered operations can be executed")
+                    .errorType(ErrorType.FORBIDDEN)
+                    .build());
+        }
+        return documents.get(hash, key -> parse(executionInput, parseAndValidate)).entry();
+    }
+
+    /**
+     * The parsed document of a request, if it is known and valid. Does not
+     * count as a cache lookup.
+     */
+    public Optional<CachedDocument> cached(String query, Map<String, Object> extensions) {
+        String persistedHash = persistedQueryHash(extensions);
+        String hash = PERSISTED_QUERY_MARKER.equals(query) ? persistedHash : sha256(query);
+        if (hash == null || (persistedHash != null && !persistedHash.equals(hash))) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(documents.asMap().get(hash))
+                .filter(document -> !document.entry().hasErrors());
+    }
+
+    /**
+     * The type of the operation a request executes, when its text is known
+     * and parses.
+     */
+    public Optional<OperationDefinition.Operation> operationType(String query, Map<String, Object> extensions,
+                                                                 String operationName) {
+        Optional<Document> document = cached(query, extensions).map(cached -> cached.entry().getDocument());
+        if (document.isEmpty()) {
+            String hash = persistedQueryHash(extensions);
+            String text = !PERSISTED_QUERY_MARKER.equals(query) ? query
+                    : hash != null ? registered.get(hash) : null;
+            try {
+                document = Optional.ofNullable(text).map(Parser::parse);
+            } catch (InvalidSyntaxException e) {
+                return Optional.empty();
+            }
+        }
+        return document.flatMap(parsed -> operation(parsed, operationName)).map(OperationDefinition::getOperation);
+    }
+
+    public DocumentCacheStatistics statistics() {
+        CacheStats stats = documents.stats();
+        return new DocumentCacheStatistics(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                documents.estimatedSize(),
+                registered.size(),
+                persistedQueryMisses.sum(),
+                rejected.sum());
+    }
+
+    /**
+     * The operation a document executes: the named one, or the only one.
+     */
+    public static Optional<OperationDefinition> operation(Document document, String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null) {
+            return operations.size() == 1 ? Optional.of(operations.get(0)) : Optional.empty();
+        }
+        return operations.stream().filter(operation -> operationName.equals(operation.getName())).findFirst();
+    }
+
+    private static CachedDocument parse(ExecutionInput executionInput,
+                                        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        PreparsedDocumentEntry entry = parseAndValidate.apply(executionInput);
+        return new CachedDocument(entry, entry.hasErrors() ? null : AstPrinter.printAstCompact(entry.getDocument()));
+    }
+
+    // Clients following the protocol recognize these errors by their message
+    private static PreparsedDocumentEntry persistedQueryError(PersistedQueryError error) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .errorType(error)
+                .message(error.getMessage())
+                .build());
+    }
+
+    private static String persistedQueryHash(Map<String, Object> extensions) {
+        if (extensions != null && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash) {
+            return hash;
+        }
+        return null;
+    }
+
+    private static Map<String, String> loadRegistered() throws IOException {
+        Map<String, String> operations = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(REGISTERED_OPERATIONS)) {
+            String text = resource.getContentAsString(StandardCharsets.UTF_8);
+            String hash = sha256(text);
+            operations.put(hash, text);
+            log.debug("Registered persisted operation {}: {}", resource.getFilename(), hash);
+        }
+        return Map.copyOf(operations);
+    }
+
+    static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A parsed and validated document, with its compact printed form for
+     * use as a cache key, so that formatting and comments do not matter.
+     */
+    public record CachedDocument(PreparsedDocumentEntry entry, String normalized) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.dto.CursorInput;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardService;
+import com.applab.sportsstats.sports_stats_api.service.RowCountCache;
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the cost of an operation before it executes, and rejects it when
+ * it is nested deeper or costs more than the configured budgets. A field
+ * costs its weight plus the cost of its selections, times the number of
+ * items when it is a list. That number is the requested {@code limit},
+ * {@code first/last} or {@code pagination.size} when given, the default page
+ * size inside connections and leaderboards (every player in the legacy
+ * per-category ones), and otherwise estimated from the row counts: a whole
+ * table for top-level lists, the average per parent for nested ones. A size
+ * argument only counts on the fields listed in {@link #SIZE_ARGUMENTS},
+ * whose resolvers return no more items than asked for. The computed cost is
+ * reported in the {@code cost} extension.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String EXTENSION = "cost";
+    private static final String CONNECTION_SUFFIX = "Connection";
+
+    // Fields that cost more than loading an object, such as a count or a fuzzy search
+    private static final Map<String, Integer> FIELD_WEIGHTS = Map.of(
+            "PageInfo.totalElements", 1,
+            "PageInfo.totalPages", 1,
+            "Query.searchPlayers", 10);
+
+    // Lists of the children of a single parent, and their average length
+    private static final Map<String, ToLongFunction<RowCountCache>> FAN_OUT = Map.of(
+            "Team.players", rows -> perParent(rows, Player.class, Team.class, 1),
+            "Team.matches", rows -> perParent(rows, Match.class, Team.class, 2),
+            "Player.stats", rows -> perParent(rows, Stats.class, Player.class, 1),
+            "Match.stats", rows -> perParent(rows, Stats.class, Match.class, 1),
+            "Match.teams", rows -> 2,
+            "Query.playersByTeam", rows -> perParent(rows, Player.class, Team.class, 1),
+            "Query.matchesByTeam", rows -> perParent(rows, Match.class, Team.class, 2),
+            "Query.playerStats", rows -> perParent(rows, Stats.class, Player.class, 1),
+            "Query.matchStats", rows -> perParent(rows, Stats.class, Match.class, 1));
+
+    // Arguments that bound the number of items, on the fields whose resolvers apply them;
+    // a list is the items themselves, as the lines of a box score
+    private static final Map<String, List<String>> SIZE_ARGUMENTS = Map.of(
+            "Query.players", List.of("limit"),
+            "Query.matches", List.of("limit"),
+            "Query.standings", List.of("limit"),
+            "Mutation.recordBoxScore", List.of("lines"));
+    private static final List<String> CONNECTION_SIZE_ARGUMENTS = List.of("first", "last", "pagination");
+    private static final List<String> LEADERBOARD_SIZE_ARGUMENTS = List.of("limit");
+
+    // Leaderboards of every player unless given a limit, which is clamped to the players
+    private static final Set<String> UNBOUNDED_LEADERBOARDS = Set.of(
+            "Query.pointsLeaderboard", "Query.assistsLeaderboard", "Query.reboundsLeaderboard");
+
+    // Lists of neither entities nor pages, such as the cache regions
+    private static final int DEFAULT_LIST_SIZE = 10;
+
+    private final RowCountCache rowCountCache;
+    private final Map<String, Class<?>> entityClasses;
+    private final int maxDepth;
+    private final long maxCost;
+
+    public QueryCostInstrumentation(RowCountCache rowCountCache,
+                                    EntityManagerFactory entityManagerFactory,
+                                    @Value("${sports-stats.graphql.max-depth:10}") int maxDepth,
+                                    @Value("${sports-stats.graphql.max-cost:10000}") long maxCost) {
+        this.rowCountCache = rowCountCache;
+        this.entityClasses = entityManagerFactory.getMetamodel().getEntities().stream()
+                .collect(Collectors.toMap(EntityType::getName, EntityType::getJavaType));
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+    }
+
+    // Counted up front rather than by the first queries; kept current by the mutations from then on
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        entityClasses.values().forEach(rowCountCache::count);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        List<ExecutableNormalizedField> fields = executionContext.getNormalizedQueryTree().get().getTopLevelFields();
+
+        long cost = 0;
+        int depth = 0;
+        for (ExecutableNormalizedField field : fields) {
+            cost = saturatedAdd(cost, cost(schema, field, 0));
+            depth = Math.max(depth, depth(field));
+        }
+        OperationCost operationCost = new OperationCost(cost, depth);
+        executionContext.getGraphQLContext().put(OperationCost.class, operationCost);
+
+        if (depth > maxDepth) {
+            throw new AbortExecutionException("Query depth " + depth + " exceeds the maximum of " + maxDepth);
+        }
+        if (cost > maxCost) {
+            throw new AbortExecutionException("Query cost " + cost + " exceeds the maximum of " + maxCost);
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        GraphQLContext context = parameters.getGraphQLContext();
+        OperationCost operationCost = context != null ? context.get(OperationCost.class) : null;
+        if (operationCost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("requested", operationCost.cost());
+        extension.put("maximum", maxCost);
+        extension.put("depth", operationCost.depth());
+        extension.put("maximumDepth", maxDepth);
+        return CompletableFuture.completedFuture(
+                executionResult.transform(builder -> builder.addExtension(EXTENSION, extension)));
+    }
+
+    /**
+     * The cost of a field and its selections. The page size of a connection
+     * or leaderboard is passed down to its item lists.
+     */
+    private long cost(GraphQLSchema schema, ExecutableNormalizedField field, long pageSize) {
+        if (field.getName().startsWith("__")) {
+            return 0;
+        }
+        GraphQLOutputType type = field.getFieldDefinitions(schema).get(0).getType();
+        String typeName = ((GraphQLNamedType) GraphQLTypeUtil.unwrapAll(type)).getName();
+        String coordinate = field.getSingleObjectTypeName() + "." + field.getName();
+
+        long childPageSize = 0;
+        if (typeName.endsWith(CONNECTION_SUFFIX)) {
+            childPageSize = requestedSize(field.getResolvedArguments(), CONNECTION_SIZE_ARGUMENTS, CursorInput.DEFAULT_SIZE);
+        } else if (typeName.equals("Leaderboard")) {
+            childPageSize = UNBOUNDED_LEADERBOARDS.contains(coordinate)
+                    ? Math.max(1, Math.min(requestedSize(field.getResolvedArguments(), LEADERBOARD_SIZE_ARGUMENTS,
+                            Long.MAX_VALUE), rowCountCache.count(Player.class)))
+                    : requestedSize(field.getResolvedArguments(), LEADERBOARD_SIZE_ARGUMENTS, LeaderboardService.DEFAULT_LIMIT);
+        }
+
+        long cost = FIELD_WEIGHTS.getOrDefault(coordinate, GraphQLTypeUtil.isLeaf(type) ? 0 : 1);
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            cost = saturatedAdd(cost, cost(schema, child, childPageSize));
+        }
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type))) {
+            cost = saturatedMultiply(cost, listSize(field, coordinate, typeName, pageSize));
+        }
+        return cost;
+    }
+
+    private long listSize(ExecutableNormalizedField field, String coordinate, String elementType, long pageSize) {
+        long requested = requestedSize(field.getResolvedArguments(), SIZE_ARGUMENTS.getOrDefault(coordinate, List.of()), 0);
+        if (requested > 0) {
+            return requested;
+        }
+        if (pageSize > 0) {
+            return pageSize;
+        }
+        ToLongFunction<RowCountCache> fanOut = FAN_OUT.get(coordinate);
+        if (fanOut != null) {
+            return fanOut.applyAsLong(rowCountCache);
+        }
+        Class<?> entityClass = entityClasses.get(elementType);
+        return entityClass != null ? Math.max(1, rowCountCache.count(entityClass)) : DEFAULT_LIST_SIZE;
+    }
+
+    private static long requestedSize(Map<String, Object> arguments, List<String> names, long defaultSize) {
+        for (String name : names) {
+            Object argument = arguments.get(name);
+            if (argument instanceof Number size) {
+                return size.longValue();
+            }
+            if (argument instanceof List<?> items) {
+                return items.size();
+            }
+            if (argument instanceof Map<?, ?> pagination && pagination.get("size") instanceof Number size) {
+                return size.longValue();
+            }
+        }
+        return defaultSize;
+    }
+
+    private static int depth(ExecutableNormalizedField field) {
+        if (field.getName().startsWith("__")) {
+            return 0;
+        }
+        int depth = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            depth = Math.max(depth, depth(child));
+        }
+        return depth + 1;
+    }
+
+    private static long perParent(RowCountCache rows, Class<?> child, Class<?> parent, int parentsPerChild) {
+        long parents = Math.max(1, rows.count(parent));
+        return Math.max(1, (rows.count(child) * parentsPerChild + parents - 1) / parents);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long product = a * b;
+        return a != 0 && (product / a != b || product < 0) ? Long.MAX_VALUE : product;
+    }
+
+    public record OperationCost(long cost, int depth) {
+    }
+}
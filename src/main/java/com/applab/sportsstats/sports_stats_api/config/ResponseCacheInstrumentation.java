@@ -0,0 +1,139 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.enums.PlayerSortField;
+import com.applab.sportsstats.sports_stats_api.service.ResponseCache;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Records the dependency tags of a cached query while it executes, see
+ * {@link ResponseCache}. Every field is fetched from a parent object, so an
+ * entity shows up here as the source of its fields whichever resolver or
+ * DataLoader produced it. Lists and connections of an entity type depend on
+ * the whole type, as do the computed fields listed in {@link #DERIVED}, and
+ * the fields whose arguments filter or sort on per-player stats. So does a
+ * root lookup of an entity that found nothing: there is no entity to tag,
+ * and a new one of the type can change it.
+ */
+@Component
+public class ResponseCacheInstrumentation extends SimplePerformantInstrumentation {
+
+    // Types and fields computed from other entities, and the entity types they are computed from.
+    // The standings have a row per team, so a new team changes them before it plays a match
+    private static final Map<String, List<String>> DERIVED = Map.of(
+            "TeamStanding", List.of("Match", "Team"),
+            "Team.totalWins", List.of("Match"),
+            "Team.totalLosses", List.of("Match"),
+            "Team.totalTies", List.of("Match"),
+            "Team.winPercentage", List.of("Match"),
+            "Leaderboard", List.of("Stats"),
+            "Player.averagePoints", List.of("Stats"),
+            "Player.averageAssists", List.of("Stats"),
+            "Player.averageRebounds", List.of("Stats"),
+            "Player.totalGamesPlayed", List.of("Stats"));
+
+    // Fields whose arguments can select or order players by their stats, through the player aggregates
+    private static final Map<String, Predicate<Map<String, Object>>> STATS_ARGUMENTS = Map.of(
+            "Query.players", arguments -> filtersOnPoints(arguments) || sortsOnStats(arguments),
+            "Query.playersFiltered", ResponseCacheInstrumentation::filtersOnPoints);
+
+    // Fields whose values change without a mutation
+    private static final Set<String> UNCACHEABLE = Set.of(
+            "Query.cacheStatistics",
+            "Query.documentCacheStatistics");
+
+    private static final String CONNECTION_SUFFIX = "Connection";
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+    private final Map<Class<?>, String> entityNames;
+
+    public ResponseCacheInstrumentation(EntityManagerFactory entityManagerFactory) {
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.entityNames = entityManagerFactory.getMetamodel().getEntities().stream()
+                .collect(Collectors.toMap(EntityType::getJavaType, EntityType::getName));
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState state) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        ResponseCache.Dependencies dependencies = environment.getGraphQlContext().get(ResponseCache.Dependencies.class);
+        if (dependencies == null) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        record(environment, dependencies);
+
+        String entityType = ((GraphQLNamedType) GraphQLTypeUtil.unwrapAll(environment.getFieldType())).getName();
+        if (environment.getParentType() == environment.getGraphQLSchema().getQueryType()
+                && entityNames.containsValue(entityType)) {
+            return SimpleInstrumentationContext.whenCompleted((result, exception) -> {
+                Object value = result instanceof DataFetcherResult<?> fetched ? fetched.getData() : result;
+                if (value == null) {
+                    dependencies.add(entityType);
+                }
+            });
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private void record(DataFetchingEnvironment environment, ResponseCache.Dependencies dependencies) {
+        String parentType = ((GraphQLNamedType) environment.getParentType()).getName();
+        String coordinate = parentType + "." + environment.getField().getName();
+        if (UNCACHEABLE.contains(coordinate)) {
+            dependencies.uncacheable();
+            return;
+        }
+
+        Object source = environment.getSource();
+        String sourceEntity = source != null ? entityNames.get(Hibernate.getClass(source)) : null;
+        if (sourceEntity != null) {
+            dependencies.add(sourceEntity + ":" + persistenceUnitUtil.getIdentifier(source));
+        }
+        DERIVED.getOrDefault(parentType, List.of()).forEach(dependencies::add);
+        DERIVED.getOrDefault(coordinate, List.of()).forEach(dependencies::add);
+        Predicate<Map<String, Object>> readsStats = STATS_ARGUMENTS.get(coordinate);
+        if (readsStats != null && readsStats.test(environment.getArguments())) {
+            dependencies.add("Stats");
+        }
+
+        GraphQLOutputType fieldType = environment.getFieldType();
+        String elementType = ((GraphQLNamedType) GraphQLTypeUtil.unwrapAll(fieldType)).getName();
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(fieldType))) {
+            if (entityNames.containsValue(elementType)) {
+                dependencies.add(elementType);
+            }
+        } else if (elementType.endsWith(CONNECTION_SUFFIX)) {
+            dependencies.add(elementType.substring(0, elementType.length() - CONNECTION_SUFFIX.length()));
+        }
+    }
+
+    private static boolean filtersOnPoints(Map<String, Object> arguments) {
+        return arguments.get("filter") instanceof Map<?, ?> filter
+                && (filter.get("minPoints") != null || filter.get("maxPoints") != null);
+    }
+
+    // Enum arguments arrive as their names
+    private static boolean sortsOnStats(Map<String, Object> arguments) {
+        return arguments.get("sort") instanceof Map<?, ?> sort && sort.get("field") != null
+                && PlayerSortField.valueOf(sort.get("field").toString()).isAggregate();
+    }
+}
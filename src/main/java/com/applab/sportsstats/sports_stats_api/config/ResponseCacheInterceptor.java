@@ -0,0 +1,76 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.service.ResponseCache;
+import graphql.ExecutionResult;
+import graphql.language.OperationDefinition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Serves queries from the {@link ResponseCache}. The key is the normalized
+ * form of the document kept by the {@link PersistedDocumentProvider}, so
+ * formatting and comments do not matter, and requests that send only the
+ * persisted query hash share entries with those that send the text. On a
+ * miss the query executes with a {@link ResponseCache.Dependencies} in its
+ * context, filled in by the {@link ResponseCacheInstrumentation}, and a
+ * result without errors is stored. Mutations and subscriptions pass through.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+    private final ResponseCache responseCache;
+    private final PersistedDocumentProvider documentProvider;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        // Unknown documents are parsed by the execution, and known from then on
+        Optional<PersistedDocumentProvider.CachedDocument> document =
+                documentProvider.cached(request.getDocument(), request.getExtensions());
+        if (document.isPresent()) {
+            if (!isQuery(document.get(), request)) {
+                return chain.next(request);
+            }
+            ExecutionResult cached = responseCache.get(key(document.get(), request));
+            if (cached != null) {
+                log.debug("Serving cached response for operation {}", request.getOperationName());
+                return Mono.just(new WebGraphQlResponse(
+                        new DefaultExecutionGraphQlResponse(request.toExecutionInput(), cached)));
+            }
+        }
+
+        long generation = responseCache.generation();
+        ResponseCache.Dependencies dependencies = new ResponseCache.Dependencies();
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(ResponseCache.Dependencies.class, dependencies);
+            return input;
+        });
+        return chain.next(request).doOnNext(response -> {
+            if (response.isValid() && response.getErrors().isEmpty()) {
+                documentProvider.cached(request.getDocument(), request.getExtensions())
+                        .filter(executed -> isQuery(executed, request))
+                        .ifPresent(executed -> responseCache.put(
+                                key(executed, request), response.getExecutionResult(), dependencies, generation));
+            }
+        });
+    }
+
+    private static boolean isQuery(PersistedDocumentProvider.CachedDocument document, WebGraphQlRequest request) {
+        return PersistedDocumentProvider.operation(document.entry().getDocument(), request.getOperationName())
+                .filter(operation -> operation.getOperation() == OperationDefinition.Operation.QUERY)
+                .isPresent();
+    }
+
+    private static ResponseCache.Key key(PersistedDocumentProvider.CachedDocument document, WebGraphQlRequest request) {
+        return new ResponseCache.Key(document.normalized(), request.getOperationName(), request.getVariables());
+    }
+}
@@ -0,0 +1,49 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import com.applab.sportsstats.sports_stats_api.dto.ImportReport;
+import com.applab.sportsstats.sports_stats_api.dto.ImportTableReport;
+import com.applab.sportsstats.sports_stats_api.service.SeasonImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command line mode: started with {@code --import=<directory>}, the
+ * application imports the season files of that directory, logs the report
+ * and exits, with status 2 when rows were rejected.
+ * {@code --import-batch-size=<rows>} overrides the configured batch size.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeasonImportRunner implements ApplicationRunner {
+
+    static final String IMPORT_OPTION = "--import=";
+
+    private final SeasonImportService seasonImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("import")) {
+            return;
+        }
+        Path directory = Path.of(args.getOptionValues("import").get(0));
+        Integer batchSize = args.containsOption("import-batch-size")
+                ? Integer.valueOf(args.getOptionValues("import-batch-size").get(0))
+                : null;
+
+        ImportReport report = seasonImportService.importSeason(directory, batchSize);
+        for (ImportTableReport table : report.tables()) {
+            table.rejections().forEach(rejection -> log.warn("Rejected {} line {}: {}",
+                    table.file(), rejection.line(), rejection.reason()));
+        }
+        System.exit(SpringApplication.exit(context, () -> report.rowsRejected() == 0 ? 0 : 2));
+    }
+}
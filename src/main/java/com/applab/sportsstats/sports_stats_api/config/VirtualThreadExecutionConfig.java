@@ -0,0 +1,112 @@
+package com.applab.sportsstats.sports_stats_api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.data.method.HandlerMethod;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Predicate;
+
+/**
+ * Opt-in execution of the blocking {@code Query} resolvers on virtual
+ * threads. The resolvers then return a future to graphql-java, which fetches
+ * the independent top-level fields of an operation concurrently instead of
+ * one after another.
+ *
+ * Each resolver runs in its own read-only transaction on its virtual thread,
+ * in place of the request's open-in-view session, which is bound to the
+ * servlet thread. The entities it returns are detached once it completes:
+ * associations are fetched by the {@code FetchPlanner} or the DataLoaders
+ * rather than lazily. The number of resolvers running at once is bounded so
+ * that they do not queue for the connection pool. Mutations stay on the
+ * request thread, since they execute serially anyway, and so do the nested
+ * field resolvers, which only compute values or go through DataLoaders.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "sports-stats.graphql.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadExecutionConfig {
+
+    // Query resolvers that return a value rather than a future or a stream
+    private static final Predicate<HandlerMethod> BLOCKING_QUERY_METHOD = handlerMethod -> {
+        Class<?> returnType = handlerMethod.getReturnType().getParameterType();
+        return handlerMethod.hasMethodAnnotation(QueryMapping.class)
+                && !CompletionStage.class.isAssignableFrom(returnType)
+                && !Publisher.class.isAssignableFrom(returnType);
+    };
+
+    @Bean
+    public static BeanPostProcessor virtualThreadControllerConfigurer(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            @Value("${sports-stats.graphql.virtual-threads.max-concurrency:10}") int maxConcurrency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AnnotatedControllerConfigurer configurer) {
+                    log.info("Running blocking query resolvers on virtual threads, at most {} at a time", maxConcurrency);
+                    configurer.setExecutor(new TransactionalVirtualThreadExecutor(transactionManager, maxConcurrency));
+                    configurer.setBlockingMethodPredicate(BLOCKING_QUERY_METHOD);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Starts a virtual thread per task, which waits for one of the permits
+     * and runs the task in a read-only transaction. The transaction manager
+     * is looked up on first use, as post-processors are created before it.
+     */
+    private static final class TransactionalVirtualThreadExecutor implements Executor {
+
+        private final ThreadFactory threadFactory = Thread.ofVirtual().name("graphql-fetcher-", 0).factory();
+        private final ObjectProvider<PlatformTransactionManager> transactionManager;
+        private final Semaphore permits;
+        private volatile TransactionTemplate transactionTemplate;
+
+        private TransactionalVirtualThreadExecutor(ObjectProvider<PlatformTransactionManager> transactionManager,
+                                                   int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("Max concurrency must be at least 1");
+            }
+            this.transactionManager = transactionManager;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            TransactionTemplate template = transactionTemplate();
+            threadFactory.newThread(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    template.executeWithoutResult(status -> task.run());
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        }
+
+        private TransactionTemplate transactionTemplate() {
+            TransactionTemplate template = transactionTemplate;
+            if (template == null) {
+                template = new TransactionTemplate(transactionManager.getObject());
+                template.setReadOnly(true);
+                transactionTemplate = template;
+            }
+            return template;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+public record CacheRegion(
+        String name,
+        long hits,
+        long misses,
+        long puts
+) {
+
+    public double hitRatio() {
+        return CacheStatistics.ratio(hits, misses);
+    }
+}
@@ -0,0 +1,31 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import java.util.List;
+
+/**
+ * Hit, miss and put counts of the Hibernate second-level and query caches
+ * since startup, in total and per cache region.
+ */
+public record CacheStatistics(
+        long secondLevelCacheHits,
+        long secondLevelCacheMisses,
+        long secondLevelCachePuts,
+        long queryCacheHits,
+        long queryCacheMisses,
+        long queryCachePuts,
+        List<CacheRegion> regions
+) {
+
+    public double secondLevelCacheHitRatio() {
+        return ratio(secondLevelCacheHits, secondLevelCacheMisses);
+    }
+
+    public double queryCacheHitRatio() {
+        return ratio(queryCacheHits, queryCacheMisses);
+    }
+
+    static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -3,21 +3,47 @@ package com.applab.sportsstats.sports_stats_api.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Connection<T> {
     private List<T> content;
+    private List<Edge<T>> edges;
     private PageInfo pageInfo;
 
-    public static <T> Connection<T> from(Page<T> page) {
+    public static <T> Connection<T> from(Slice<T> slice, Function<T, String> cursorOf) {
+        List<Edge<T>> edges = edges(slice.getContent(), cursorOf);
         return new Connection<>(
-            page.getContent(),
-            PageInfo.from(page)
+            slice.getContent(),
+            edges,
+            PageInfo.from(slice, startCursor(edges), endCursor(edges))
         );
     }
-}
\ No newline at end of file
+
+    public static <T> Connection<T> from(List<T> content, boolean hasNextPage, boolean hasPreviousPage,
+                                         int pageSize, Function<T, String> cursorOf) {
+        List<Edge<T>> edges = edges(content, cursorOf);
+        return new Connection<>(
+            content,
+            edges,
+            PageInfo.forCursor(hasNextPage, hasPreviousPage, pageSize, startCursor(edges), endCursor(edges))
+        );
+    }
+
+    private static <T> List<Edge<T>> edges(List<T> content, Function<T, String> cursorOf) {
+        return content.stream().map(node -> new Edge<>(cursorOf.apply(node), node)).toList();
+    }
+
+    private static String startCursor(List<? extends Edge<?>> edges) {
+        return edges.isEmpty() ? null : edges.get(0).cursor();
+    }
+
+    private static String endCursor(List<? extends Edge<?>> edges) {
+        return edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor();
+    }
+}
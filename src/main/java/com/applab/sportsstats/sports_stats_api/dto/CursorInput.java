@@ -0,0 +1,56 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Relay-style cursor arguments ({@code first/after} forward,
+ * {@code last/before} backward) of a Connection query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorInput {
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    private Integer first;
+    private String after;
+    private Integer last;
+    private String before;
+
+    public static CursorInput of(Integer first, String after, Integer last, String before) {
+        return new CursorInput(first, after, last, before);
+    }
+
+    public boolean isPresent() {
+        return first != null || after != null || last != null || before != null;
+    }
+
+    public boolean isBackward() {
+        return last != null || before != null;
+    }
+
+    public void validate() {
+        if ((first != null || after != null) && (last != null || before != null)) {
+            throw new IllegalArgumentException("Use either first/after or last/before, not both");
+        }
+        if (first != null && (first <= 0 || first > MAX_SIZE)) {
+            throw new IllegalArgumentException("First must be between 1 and " + MAX_SIZE);
+        }
+        if (last != null && (last <= 0 || last > MAX_SIZE)) {
+            throw new IllegalArgumentException("Last must be between 1 and " + MAX_SIZE);
+        }
+    }
+
+    public int getValidatedSize() {
+        Integer size = isBackward() ? last : first;
+        return size != null ? size : DEFAULT_SIZE;
+    }
+
+    /** The cursor to seek from, or null to start at the first (or last) row. */
+    public String getCursor() {
+        return isBackward() ? before : after;
+    }
+}
@@ -0,0 +1,20 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+/**
+ * Counters of the pre-parsed GraphQL document cache and of persisted query
+ * lookups since startup.
+ */
+public record DocumentCacheStatistics(
+        long hits,
+        long misses,
+        long evictions,
+        long size,
+        int registeredOperations,
+        long persistedQueryNotFound,
+        long rejectedOperations
+) {
+
+    public double hitRatio() {
+        return CacheStatistics.ratio(hits, misses);
+    }
+}
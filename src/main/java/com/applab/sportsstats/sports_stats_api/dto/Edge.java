@@ -0,0 +1,7 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+/**
+ * A Connection item with the opaque cursor that points right after it.
+ */
+public record Edge<T>(String cursor, T node) {
+}
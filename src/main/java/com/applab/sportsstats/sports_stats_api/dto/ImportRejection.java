@@ -0,0 +1,7 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+/**
+ * A row that was not imported, by its line in the file.
+ */
+public record ImportRejection(long line, String reason) {
+}
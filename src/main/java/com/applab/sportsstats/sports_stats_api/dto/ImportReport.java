@@ -0,0 +1,20 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a season import: one report per imported file, in import order.
+ */
+public record ImportReport(
+        List<ImportTableReport> tables,
+        long durationMillis
+) {
+
+    public long rowsImported() {
+        return tables.stream().mapToLong(ImportTableReport::rowsImported).sum();
+    }
+
+    public long rowsRejected() {
+        return tables.stream().mapToLong(ImportTableReport::rowsRejected).sum();
+    }
+}
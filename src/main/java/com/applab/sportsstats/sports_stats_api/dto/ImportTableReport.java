@@ -0,0 +1,22 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import java.util.List;
+
+/**
+ * Row counts and throughput of the import of one file. Only the first
+ * rejections are listed; {@code rowsRejected} counts all of them.
+ */
+public record ImportTableReport(
+        String table,
+        String file,
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        long durationMillis,
+        List<ImportRejection> rejections
+) {
+
+    public double rowsPerSecond() {
+        return durationMillis == 0 ? rowsImported : rowsImported * 1000.0 / durationMillis;
+    }
+}
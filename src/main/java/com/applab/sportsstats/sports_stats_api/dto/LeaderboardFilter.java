@@ -0,0 +1,29 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+@Data
+@Slf4j
+public class LeaderboardFilter {
+    private Long teamId;
+    private Position position;
+    private Integer minGames;
+
+    public void validate() {
+        if (teamId != null && teamId <= 0) {
+            throw new IllegalArgumentException("Team ID must be positive");
+        }
+
+        if (minGames != null && minGames < 0) {
+            throw new IllegalArgumentException("Minimum games cannot be negative");
+        }
+
+        log.debug("Leaderboard filter validation passed: {}", this);
+    }
+
+    public boolean hasFilters() {
+        return teamId != null || position != null || minGames != null;
+    }
+}
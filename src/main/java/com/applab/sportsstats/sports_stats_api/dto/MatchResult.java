@@ -0,0 +1,48 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.enums.MatchOutcome;
+
+/**
+ * Final score of a completed match, as counted by the team standings.
+ */
+public record MatchResult(
+        Long matchId,
+        Long homeTeamId,
+        Long awayTeamId,
+        int homeTeamScore,
+        int awayTeamScore
+) {
+
+    /**
+     * Snapshot of a match's result, or null when the match does not count
+     * towards the standings (not completed or missing a score).
+     */
+    public static MatchResult of(Match match) {
+        if (match.getStatus() != Match.MatchStatus.COMPLETED
+                || match.getHomeTeamScore() == null || match.getAwayTeamScore() == null) {
+            return null;
+        }
+        return new MatchResult(match.getId(), match.getHomeTeam().getId(), match.getAwayTeam().getId(),
+                match.getHomeTeamScore(), match.getAwayTeamScore());
+    }
+
+    public boolean isHomeTeam(Long teamId) {
+        return homeTeamId.equals(teamId);
+    }
+
+    public int scoreFor(Long teamId) {
+        return isHomeTeam(teamId) ? homeTeamScore : awayTeamScore;
+    }
+
+    public int scoreAgainst(Long teamId) {
+        return isHomeTeam(teamId) ? awayTeamScore : homeTeamScore;
+    }
+
+    public MatchOutcome outcomeFor(Long teamId) {
+        int difference = scoreFor(teamId) - scoreAgainst(teamId);
+        if (difference > 0) return MatchOutcome.WIN;
+        if (difference < 0) return MatchOutcome.LOSS;
+        return MatchOutcome.TIE;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @Data
 @NoArgsConstructor
@@ -11,19 +12,30 @@ import org.springframework.data.domain.Page;
 public class PageInfo {
     private boolean hasNextPage;
     private boolean hasPreviousPage;
-    private int totalPages;
-    private long totalElements;
-    private int currentPage;
+    // Only set for counted offset pages; slices and cursor pages are not counted
+    private Integer totalPages;
+    private Long totalElements;
+    private Integer currentPage;
     private int pageSize;
+    private String startCursor;
+    private String endCursor;
 
-    public static PageInfo from(Page<?> page) {
+    public static PageInfo from(Slice<?> slice, String startCursor, String endCursor) {
+        Page<?> page = slice instanceof Page<?> counted ? counted : null;
         return new PageInfo(
-            page.hasNext(),
-            page.hasPrevious(),
-            page.getTotalPages(),
-            page.getTotalElements(),
-            page.getNumber(),
-            page.getSize()
+            slice.hasNext(),
+            slice.hasPrevious(),
+            page != null ? page.getTotalPages() : null,
+            page != null ? page.getTotalElements() : null,
+            slice.getNumber(),
+            slice.getSize(),
+            startCursor,
+            endCursor
         );
     }
-}
\ No newline at end of file
+
+    public static PageInfo forCursor(boolean hasNextPage, boolean hasPreviousPage, int pageSize,
+                                     String startCursor, String endCursor) {
+        return new PageInfo(hasNextPage, hasPreviousPage, null, null, null, pageSize, startCursor, endCursor);
+    }
+}
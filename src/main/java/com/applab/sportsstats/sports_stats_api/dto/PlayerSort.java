@@ -0,0 +1,14 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import com.applab.sportsstats.sports_stats_api.enums.PlayerSortField;
+import lombok.Data;
+
+@Data
+public class PlayerSort {
+    private PlayerSortField field = PlayerSortField.LAST_NAME;
+    private SortInput.SortDirection order = SortInput.SortDirection.ASC;
+
+    public boolean isDescending() {
+        return order == SortInput.SortDirection.DESC;
+    }
+}
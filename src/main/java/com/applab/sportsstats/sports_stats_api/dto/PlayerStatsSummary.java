@@ -0,0 +1,28 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+/**
+ * Per-player aggregate of recorded stat lines, read from the maintained
+ * player aggregates and shared by all of the computed stat fields on the
+ * Player type.
+ */
+public record PlayerStatsSummary(
+        Long playerId,
+        long statLines,
+        double averagePoints,
+        double averageAssists,
+        double averageRebounds
+) {
+
+    public PlayerStatsSummary(Long playerId, Long statLines, Double averagePoints,
+                              Double averageAssists, Double averageRebounds) {
+        this(playerId,
+             statLines != null ? statLines : 0L,
+             averagePoints != null ? averagePoints : 0.0,
+             averageAssists != null ? averageAssists : 0.0,
+             averageRebounds != null ? averageRebounds : 0.0);
+    }
+
+    public static PlayerStatsSummary empty(Long playerId) {
+        return new PlayerStatsSummary(playerId, 0L, 0.0, 0.0, 0.0);
+    }
+}
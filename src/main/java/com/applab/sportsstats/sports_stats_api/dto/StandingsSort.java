@@ -0,0 +1,21 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import com.applab.sportsstats.sports_stats_api.enums.StandingsSortField;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+@Data
+public class StandingsSort {
+    private StandingsSortField field = StandingsSortField.WIN_PERCENTAGE;
+    private SortInput.SortDirection order = SortInput.SortDirection.DESC;
+
+    public Sort toSpringSort() {
+        Sort.Direction springDirection = order == SortInput.SortDirection.ASC ?
+            Sort.Direction.ASC : Sort.Direction.DESC;
+
+        // Wins and then team id break ties so that the table order is stable
+        return Sort.by(springDirection, field.getProperty())
+                .and(Sort.by(Sort.Direction.DESC, "wins"))
+                .and(Sort.by(Sort.Direction.ASC, "teamId"));
+    }
+}
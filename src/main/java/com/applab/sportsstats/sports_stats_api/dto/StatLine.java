@@ -0,0 +1,42 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+
+/**
+ * Immutable snapshot of the values of one stat line, indexed by
+ * {@link StatCategory#ordinal()}. Used to apply before/after deltas to the
+ * in-memory aggregates without holding on to managed entities.
+ */
+public record StatLine(Integer[] values) {
+
+    /** {@link #isGamePlayed()} counted over the stat lines {@code s} of a JPQL query. */
+    public static final String GAMES_PLAYED_JPQL = "SUM(CASE WHEN s.minutesPlayed > 0 THEN 1 ELSE 0 END)";
+
+    /**
+     * The sum of a stat line property over the games played only, in a JPQL
+     * query on the stat lines {@code s}: the numerator of a per-game value.
+     */
+    public static String sumOverGamesPlayedJpql(String property) {
+        return "COALESCE(SUM(CASE WHEN s.minutesPlayed > 0 THEN s." + property + " ELSE 0 END), 0)";
+    }
+
+    public static StatLine of(Stats stats) {
+        StatCategory[] categories = StatCategory.values();
+        Integer[] values = new Integer[categories.length];
+        for (StatCategory category : categories) {
+            values[category.ordinal()] = category.valueOf(stats);
+        }
+        return new StatLine(values);
+    }
+
+    public Integer get(StatCategory category) {
+        return values[category.ordinal()];
+    }
+
+    /** A line counts as a game played when the player logged minutes. */
+    public boolean isGamePlayed() {
+        Integer minutes = get(StatCategory.MINUTES_PLAYED);
+        return minutes != null && minutes > 0;
+    }
+}
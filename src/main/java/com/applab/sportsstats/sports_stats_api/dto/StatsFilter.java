@@ -0,0 +1,29 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects stat lines by their player and their match, with the same
+ * criteria as the player and match filters.
+ */
+@Data
+@Slf4j
+public class StatsFilter {
+    private PlayerFilter player;
+    private MatchFilter match;
+
+    public void validate() {
+        if (player != null) {
+            player.validate();
+        }
+        if (match != null) {
+            match.validate();
+        }
+        log.debug("Stats filter validation passed: {}", this);
+    }
+
+    public boolean hasFilters() {
+        return (player != null && player.hasFilters()) || (match != null && match.hasFilters());
+    }
+}
@@ -0,0 +1,31 @@
+package com.applab.sportsstats.sports_stats_api.dto;
+
+/**
+ * Win/loss/tie record of a team over its completed matches, read from the
+ * team standings and shared by the totalWins, totalLosses and winPercentage
+ * fields.
+ */
+public record TeamRecord(
+        Long teamId,
+        long wins,
+        long losses,
+        long ties
+) {
+
+    public TeamRecord(Long teamId, Long wins, Long losses, Long ties) {
+        this(teamId,
+             wins != null ? wins : 0L,
+             losses != null ? losses : 0L,
+             ties != null ? ties : 0L);
+    }
+
+    public static TeamRecord empty(Long teamId) {
+        return new TeamRecord(teamId, 0L, 0L, 0L);
+    }
+
+    public double winPercentage() {
+        long decided = wins + losses;
+        if (decided == 0) return 0.0;
+        return (double) wins / decided * 100.0;
+    }
+}
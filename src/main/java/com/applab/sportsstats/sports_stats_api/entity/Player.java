@@ -7,10 +7,16 @@ import com.applab.sportsstats.sports_stats_api.enums.Position;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
-@Table(name = "players")
+@Table(name = "players", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_players_team_jersey", columnNames = {"team_id", "jersey_number"})
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "players")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,7 +33,7 @@ public class Player {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(name="jersey_number", nullable = false, unique = true)
+    @Column(name="jersey_number", nullable = false)
     private Integer jerseyNumber;
 
     @Enumerated(EnumType.STRING)
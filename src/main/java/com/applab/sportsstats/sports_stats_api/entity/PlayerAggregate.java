@@ -0,0 +1,206 @@
+package com.applab.sportsstats.sports_stats_api.entity;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Per-player totals and averages over every recorded stat line, and the
+ * games played ({@link StatLine#isGamePlayed()}). Maintained in the same
+ * transaction as the stats writes, so filters and computed fields can read
+ * it instead of aggregating the stats table.
+ */
+@Entity
+@Table(name = "player_aggregates", indexes = {
+    @Index(name = "idx_player_aggregates_average_points", columnList = "average_points")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerAggregate {
+
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(name = "stat_lines", nullable = false)
+    @Builder.Default
+    private Long statLines = 0L;
+
+    // Lines with minutes played
+    @Column(name = "games_played", nullable = false)
+    @Builder.Default
+    private Long gamesPlayed = 0L;
+
+    // Lines with minutes recorded; minutes played is the only nullable column
+    @Column(name = "minutes_recorded", nullable = false)
+    @Builder.Default
+    private Long minutesRecorded = 0L;
+
+    @Column(name = "total_points", nullable = false)
+    @Builder.Default
+    private Long totalPoints = 0L;
+
+    @Column(name = "total_assists", nullable = false)
+    @Builder.Default
+    private Long totalAssists = 0L;
+
+    @Column(name = "total_rebounds", nullable = false)
+    @Builder.Default
+    private Long totalRebounds = 0L;
+
+    @Column(name = "total_steals", nullable = false)
+    @Builder.Default
+    private Long totalSteals = 0L;
+
+    @Column(name = "total_blocks", nullable = false)
+    @Builder.Default
+    private Long totalBlocks = 0L;
+
+    @Column(name = "total_field_goals_made", nullable = false)
+    @Builder.Default
+    private Long totalFieldGoalsMade = 0L;
+
+    @Column(name = "total_field_goals_attempted", nullable = false)
+    @Builder.Default
+    private Long totalFieldGoalsAttempted = 0L;
+
+    @Column(name = "total_three_pointers_made", nullable = false)
+    @Builder.Default
+    private Long totalThreePointersMade = 0L;
+
+    @Column(name = "total_three_pointers_attempted", nullable = false)
+    @Builder.Default
+    private Long totalThreePointersAttempted = 0L;
+
+    @Column(name = "total_free_throws_made", nullable = false)
+    @Builder.Default
+    private Long totalFreeThrowsMade = 0L;
+
+    @Column(name = "total_free_throws_attempted", nullable = false)
+    @Builder.Default
+    private Long totalFreeThrowsAttempted = 0L;
+
+    @Column(name = "total_minutes_played", nullable = false)
+    @Builder.Default
+    private Long totalMinutesPlayed = 0L;
+
+    @Column(name = "average_points", nullable = false)
+    @Builder.Default
+    private Double averagePoints = 0.0;
+
+    @Column(name = "average_assists", nullable = false)
+    @Builder.Default
+    private Double averageAssists = 0.0;
+
+    @Column(name = "average_rebounds", nullable = false)
+    @Builder.Default
+    private Double averageRebounds = 0.0;
+
+    @Column(name = "average_steals", nullable = false)
+    @Builder.Default
+    private Double averageSteals = 0.0;
+
+    @Column(name = "average_blocks", nullable = false)
+    @Builder.Default
+    private Double averageBlocks = 0.0;
+
+    @Column(name = "average_field_goals_made", nullable = false)
+    @Builder.Default
+    private Double averageFieldGoalsMade = 0.0;
+
+    @Column(name = "average_field_goals_attempted", nullable = false)
+    @Builder.Default
+    private Double averageFieldGoalsAttempted = 0.0;
+
+    @Column(name = "average_three_pointers_made", nullable = false)
+    @Builder.Default
+    private Double averageThreePointersMade = 0.0;
+
+    @Column(name = "average_three_pointers_attempted", nullable = false)
+    @Builder.Default
+    private Double averageThreePointersAttempted = 0.0;
+
+    @Column(name = "average_free_throws_made", nullable = false)
+    @Builder.Default
+    private Double averageFreeThrowsMade = 0.0;
+
+    @Column(name = "average_free_throws_attempted", nullable = false)
+    @Builder.Default
+    private Double averageFreeThrowsAttempted = 0.0;
+
+    @Column(name = "average_minutes_played", nullable = false)
+    @Builder.Default
+    private Double averageMinutesPlayed = 0.0;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or removes ({@code sign = -1}) one stat line and
+     * recomputes the averages.
+     */
+    public void apply(StatLine line, int sign) {
+        statLines += sign;
+        if (line.isGamePlayed()) {
+            gamesPlayed += sign;
+        }
+        for (StatCategory category : StatCategory.values()) {
+            Integer value = line.get(category);
+            if (value != null) {
+                addToTotal(category, (long) sign * value);
+            }
+        }
+        if (line.get(StatCategory.MINUTES_PLAYED) != null) {
+            minutesRecorded += sign;
+        }
+        recomputeAverages();
+    }
+
+    private void addToTotal(StatCategory category, long delta) {
+        switch (category) {
+            case POINTS -> totalPoints += delta;
+            case ASSISTS -> totalAssists += delta;
+            case REBOUNDS -> totalRebounds += delta;
+            case STEALS -> totalSteals += delta;
+            case BLOCKS -> totalBlocks += delta;
+            case FIELD_GOALS_MADE -> totalFieldGoalsMade += delta;
+            case FIELD_GOALS_ATTEMPTED -> totalFieldGoalsAttempted += delta;
+            case THREE_POINTERS_MADE -> totalThreePointersMade += delta;
+            case THREE_POINTERS_ATTEMPTED -> totalThreePointersAttempted += delta;
+            case FREE_THROWS_MADE -> totalFreeThrowsMade += delta;
+            case FREE_THROWS_ATTEMPTED -> totalFreeThrowsAttempted += delta;
+            case MINUTES_PLAYED -> totalMinutesPlayed += delta;
+        }
+    }
+
+    private void recomputeAverages() {
+        averagePoints = average(totalPoints, statLines);
+        averageAssists = average(totalAssists, statLines);
+        averageRebounds = average(totalRebounds, statLines);
+        averageSteals = average(totalSteals, statLines);
+        averageBlocks = average(totalBlocks, statLines);
+        averageFieldGoalsMade = average(totalFieldGoalsMade, statLines);
+        averageFieldGoalsAttempted = average(totalFieldGoalsAttempted, statLines);
+        averageThreePointersMade = average(totalThreePointersMade, statLines);
+        averageThreePointersAttempted = average(totalThreePointersAttempted, statLines);
+        averageFreeThrowsMade = average(totalFreeThrowsMade, statLines);
+        averageFreeThrowsAttempted = average(totalFreeThrowsAttempted, statLines);
+        averageMinutesPlayed = average(totalMinutesPlayed, minutesRecorded);
+    }
+
+    private static double average(long total, long count) {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+}
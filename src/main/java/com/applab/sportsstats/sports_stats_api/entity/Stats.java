@@ -7,15 +7,19 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
 @Entity
-@Table(name = "stats")
+@Table(name = "stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stats_player_match", columnNames = {"player_id", "match_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Stats {
     
+    // Allocated from a sequence, so that the inserts of a box score can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stats_id_seq")
+    @SequenceGenerator(name = "stats_id_seq", sequenceName = "stats_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,149 @@
+package com.applab.sportsstats.sports_stats_api.entity;
+
+import com.applab.sportsstats.sports_stats_api.dto.MatchResult;
+import com.applab.sportsstats.sports_stats_api.enums.MatchOutcome;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * League table row of a team over its completed matches. Maintained
+ * incrementally as match results are recorded or corrected, so the standings
+ * are read without scanning the matches table.
+ */
+@Entity
+@Table(name = "team_standings", indexes = {
+    @Index(name = "idx_team_standings_win_percentage", columnList = "win_percentage")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamStanding {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "games_played", nullable = false)
+    @Builder.Default
+    private Integer gamesPlayed = 0;
+
+    @Column(name = "wins", nullable = false)
+    @Builder.Default
+    private Integer wins = 0;
+
+    @Column(name = "losses", nullable = false)
+    @Builder.Default
+    private Integer losses = 0;
+
+    @Column(name = "ties", nullable = false)
+    @Builder.Default
+    private Integer ties = 0;
+
+    @Column(name = "home_wins", nullable = false)
+    @Builder.Default
+    private Integer homeWins = 0;
+
+    @Column(name = "home_losses", nullable = false)
+    @Builder.Default
+    private Integer homeLosses = 0;
+
+    @Column(name = "home_ties", nullable = false)
+    @Builder.Default
+    private Integer homeTies = 0;
+
+    @Column(name = "away_wins", nullable = false)
+    @Builder.Default
+    private Integer awayWins = 0;
+
+    @Column(name = "away_losses", nullable = false)
+    @Builder.Default
+    private Integer awayLosses = 0;
+
+    @Column(name = "away_ties", nullable = false)
+    @Builder.Default
+    private Integer awayTies = 0;
+
+    @Column(name = "points_for", nullable = false)
+    @Builder.Default
+    private Integer pointsFor = 0;
+
+    @Column(name = "points_against", nullable = false)
+    @Builder.Default
+    private Integer pointsAgainst = 0;
+
+    @Column(name = "point_differential", nullable = false)
+    @Builder.Default
+    private Integer pointDifferential = 0;
+
+    // Wins over decided games (ties excluded), as a percentage
+    @Column(name = "win_percentage", nullable = false)
+    @Builder.Default
+    private Double winPercentage = 0.0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "streak_outcome")
+    private MatchOutcome streakOutcome;
+
+    @Column(name = "streak_length", nullable = false)
+    @Builder.Default
+    private Integer streakLength = 0;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or reverses ({@code sign = -1}) one match result
+     * of this team.
+     */
+    public void apply(MatchResult result, int sign) {
+        boolean home = result.isHomeTeam(teamId);
+        switch (result.outcomeFor(teamId)) {
+            case WIN -> {
+                wins += sign;
+                if (home) homeWins += sign; else awayWins += sign;
+            }
+            case LOSS -> {
+                losses += sign;
+                if (home) homeLosses += sign; else awayLosses += sign;
+            }
+            case TIE -> {
+                ties += sign;
+                if (home) homeTies += sign; else awayTies += sign;
+            }
+        }
+        gamesPlayed += sign;
+        pointsFor += sign * result.scoreFor(teamId);
+        pointsAgainst += sign * result.scoreAgainst(teamId);
+        pointDifferential = pointsFor - pointsAgainst;
+
+        int decided = wins + losses;
+        winPercentage = decided == 0 ? 0.0 : (double) wins / decided * 100.0;
+    }
+
+    /**
+     * Extends the current streak with a newer result, or starts a new one.
+     */
+    public void extendStreak(MatchOutcome outcome) {
+        if (outcome == streakOutcome) {
+            streakLength++;
+        } else {
+            streakOutcome = outcome;
+            streakLength = 1;
+        }
+    }
+
+    // Current streak in the usual "W3" / "L1" notation, null before the first game
+    public String getStreak() {
+        return streakOutcome == null ? null : streakOutcome.getCode() + streakLength;
+    }
+}
@@ -0,0 +1,25 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), ".ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), ".csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /** File name extension, the one the season import reads. */
+    public String getExtension() {
+        return extension;
+    }
+}
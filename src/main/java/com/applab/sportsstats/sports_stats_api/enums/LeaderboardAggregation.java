@@ -0,0 +1,7 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+public enum LeaderboardAggregation {
+    SUM,      // career total
+    AVG,      // average over every recorded stat line
+    PER_GAME  // total divided by games with minutes played
+}
@@ -0,0 +1,20 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+/**
+ * Result of a completed match from one team's point of view.
+ */
+public enum MatchOutcome {
+    WIN("W"),
+    LOSS("L"),
+    TIE("T");
+
+    private final String code;
+
+    MatchOutcome(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
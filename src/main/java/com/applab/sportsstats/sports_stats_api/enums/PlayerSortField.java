@@ -0,0 +1,31 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+/**
+ * Sortable fields of the players query. Stat fields sort on the per-game
+ * averages of {@code PlayerAggregate}, the values the points filters use.
+ */
+public enum PlayerSortField {
+    FIRST_NAME("firstName", false),
+    LAST_NAME("lastName", false),
+    JERSEY_NUMBER("jerseyNumber", false),
+    POINTS("averagePoints", true),
+    ASSISTS("averageAssists", true),
+    REBOUNDS("averageRebounds", true);
+
+    private final String property;
+    private final boolean aggregate;
+
+    PlayerSortField(String property, boolean aggregate) {
+        this.property = property;
+        this.aggregate = aggregate;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /** Whether the property belongs to the player's aggregate rather than the player. */
+    public boolean isAggregate() {
+        return aggregate;
+    }
+}
@@ -0,0 +1,25 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+/**
+ * Sortable columns of the team standings, mapped to their entity property.
+ */
+public enum StandingsSortField {
+    WIN_PERCENTAGE("winPercentage"),
+    WINS("wins"),
+    LOSSES("losses"),
+    TIES("ties"),
+    GAMES_PLAYED("gamesPlayed"),
+    POINTS_FOR("pointsFor"),
+    POINTS_AGAINST("pointsAgainst"),
+    POINT_DIFFERENTIAL("pointDifferential");
+
+    private final String property;
+
+    StandingsSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,61 @@
+package com.applab.sportsstats.sports_stats_api.enums;
+
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+
+import java.util.function.Function;
+
+public enum StatCategory {
+    POINTS("points", "Points", Stats::getPoints),
+    ASSISTS("assists", "Assists", Stats::getAssists),
+    REBOUNDS("rebounds", "Rebounds", Stats::getRebounds),
+    STEALS("steals", "Steals", Stats::getSteals),
+    BLOCKS("blocks", "Blocks", Stats::getBlocks),
+    FIELD_GOALS_MADE("fieldGoalsMade", "Field Goals Made", Stats::getFieldGoalsMade),
+    FIELD_GOALS_ATTEMPTED("fieldGoalsAttempted", "Field Goals Attempted", Stats::getFieldGoalsAttempted),
+    THREE_POINTERS_MADE("threePointersMade", "Three Pointers Made", Stats::getThreePointersMade),
+    THREE_POINTERS_ATTEMPTED("threePointersAttempted", "Three Pointers Attempted", Stats::getThreePointersAttempted),
+    FREE_THROWS_MADE("freeThrowsMade", "Free Throws Made", Stats::getFreeThrowsMade),
+    FREE_THROWS_ATTEMPTED("freeThrowsAttempted", "Free Throws Attempted", Stats::getFreeThrowsAttempted),
+    MINUTES_PLAYED("minutesPlayed", "Minutes Played", Stats::getMinutesPlayed);
+
+    private final String property;
+    private final String label;
+    private final Function<Stats, Integer> accessor;
+
+    StatCategory(String property, String label, Function<Stats, Integer> accessor) {
+        this.property = property;
+        this.label = label;
+        this.accessor = accessor;
+    }
+
+    /** Name of the corresponding {@code Stats} entity attribute. */
+    public String getProperty() {
+        return property;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** Value of this category on a stat line, or null when it was not recorded. */
+    public Integer valueOf(Stats stats) {
+        return accessor.apply(stats);
+    }
+
+    /**
+     * Resolves a category from its enum name or its label, ignoring case,
+     * e.g. "POINTS", "points" or "Field Goals Made".
+     */
+    public static StatCategory fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Stat category is required");
+        }
+        String normalized = name.trim().toUpperCase().replace(' ', '_');
+        for (StatCategory category : values()) {
+            if (category.name().equals(normalized)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stat category: " + name);
+    }
+}
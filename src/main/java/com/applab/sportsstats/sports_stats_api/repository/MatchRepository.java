@@ -3,24 +3,31 @@ package com.applab.sportsstats.sports_stats_api.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.applab.sportsstats.sports_stats_api.dto.MatchResult;
 import com.applab.sportsstats.sports_stats_api.entity.Match;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 
-public interface MatchRepository extends JpaRepository<Match, Long> {
+public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match> {
+
+    // Ids of the matches a team plays in, home or away
+    String TEAM_MATCH_IDS = "SELECT h.id FROM Match h WHERE h.homeTeam.id = :teamId " +
+                            "UNION SELECT a.id FROM Match a WHERE a.awayTeam.id = :teamId";
     
     List<Match> findByStatus(Match.MatchStatus status);
     
     List<Match> findByMatchDateBetween(OffsetDateTime startDate, OffsetDateTime endDate);
     
-    @Query("SELECT m FROM Match m WHERE m.homeTeam.id = :teamId OR m.awayTeam.id = :teamId")
+    // The union lets each side use its team index, where an OR scans the table
+    @Query("SELECT m FROM Match m WHERE m.id IN (" + TEAM_MATCH_IDS + ")")
     List<Match> findByTeamId(@Param("teamId") Long teamId);
     
-    @Query("SELECT m FROM Match m WHERE (m.homeTeam.id = :teamId OR m.awayTeam.id = :teamId) AND m.status = :status")
+    @Query("SELECT m FROM Match m WHERE m.id IN (" + TEAM_MATCH_IDS + ") AND m.status = :status")
     List<Match> findByTeamIdAndStatus(@Param("teamId") Long teamId, @Param("status") Match.MatchStatus status);
     
     @Query("SELECT m FROM Match m WHERE m.homeTeam.id = :homeTeamId AND m.awayTeam.id = :awayTeamId")
@@ -35,27 +42,24 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     @Query("SELECT m FROM Match m WHERE m.matchDate > :currentDate ORDER BY m.matchDate ASC")
     List<Match> findUpcomingMatches(@Param("currentDate") OffsetDateTime currentDate);
     
+    // Completed results in play order, for rebuilding the standings
+    @Query("SELECT new com.applab.sportsstats.sports_stats_api.dto.MatchResult(" +
+           "m.id, m.homeTeam.id, m.awayTeam.id, m.homeTeamScore, m.awayTeamScore) " +
+           "FROM Match m WHERE m.status = 'COMPLETED' " +
+           "AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL " +
+           "ORDER BY m.matchDate ASC, m.id ASC")
+    List<MatchResult> findCompletedResults();
+
+    // A team's completed results, most recent first, for its current streak
+    @Query("SELECT new com.applab.sportsstats.sports_stats_api.dto.MatchResult(" +
+           "m.id, m.homeTeam.id, m.awayTeam.id, m.homeTeamScore, m.awayTeamScore) " +
+           "FROM Match m WHERE m.id IN (" + TEAM_MATCH_IDS + ") " +
+           "AND m.status = 'COMPLETED' " +
+           "AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL " +
+           "ORDER BY m.matchDate DESC, m.id DESC")
+    List<MatchResult> findCompletedResultsByTeamIdMostRecentFirst(@Param("teamId") Long teamId, Pageable pageable);
+    
     // Paginated version
-    @Query("SELECT m FROM Match m WHERE m.homeTeam.id = :teamId OR m.awayTeam.id = :teamId")
+    @Query("SELECT m FROM Match m WHERE m.id IN (" + TEAM_MATCH_IDS + ")")
     Page<Match> findByTeamId(@Param("teamId") Long teamId, Pageable pageable);
-    
-    // Filtering methods
-    @Query("SELECT m FROM Match m WHERE " +
-           "(:teamId IS NULL OR m.homeTeam.id = :teamId OR m.awayTeam.id = :teamId) AND " +
-           "(:status IS NULL OR m.status = :status) AND " +
-           "(:dateFrom IS NULL OR m.matchDate >= :dateFrom) AND " +
-           "(:dateTo IS NULL OR m.matchDate <= :dateTo) AND " +
-           "(:venue IS NULL OR LOWER(m.venue) LIKE LOWER(CONCAT('%', :venue, '%'))) AND " +
-           "(:hasScore IS NULL OR " +
-           "    (:hasScore = true AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL) OR " +
-           "    (:hasScore = false AND (m.homeTeamScore IS NULL OR m.awayTeamScore IS NULL)))")
-    Page<Match> findWithFilters(
-        @Param("teamId") Long teamId,
-        @Param("status") Match.MatchStatus status,
-        @Param("dateFrom") OffsetDateTime dateFrom,
-        @Param("dateTo") OffsetDateTime dateTo,
-        @Param("venue") String venue,
-        @Param("hasScore") Boolean hasScore,
-        Pageable pageable
-    );
 }
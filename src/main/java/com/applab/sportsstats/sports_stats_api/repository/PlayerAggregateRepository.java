@@ -0,0 +1,79 @@
+package com.applab.sportsstats.sports_stats_api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.applab.sportsstats.sports_stats_api.dto.PlayerStatsSummary;
+import com.applab.sportsstats.sports_stats_api.entity.PlayerAggregate;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface PlayerAggregateRepository extends JpaRepository<PlayerAggregate, Long> {
+
+    // Row lock so concurrent writes for the same player apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PlayerAggregate a WHERE a.playerId = :playerId")
+    Optional<PlayerAggregate> findByIdForUpdate(@Param("playerId") Long playerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PlayerAggregate a WHERE a.playerId IN :playerIds")
+    List<PlayerAggregate> findAllByIdForUpdate(@Param("playerIds") Collection<Long> playerIds);
+
+    // Batched summaries for the computed Player fields
+    @Query("SELECT new com.applab.sportsstats.sports_stats_api.dto.PlayerStatsSummary(" +
+           "a.playerId, a.statLines, a.averagePoints, a.averageAssists, a.averageRebounds) " +
+           "FROM PlayerAggregate a WHERE a.playerId IN :playerIds")
+    List<PlayerStatsSummary> findStatsSummariesByPlayerIds(@Param("playerIds") Collection<Long> playerIds);
+
+    @Modifying
+    @Query("DELETE FROM PlayerAggregate a WHERE a.playerId = :playerId")
+    int deleteByPlayerId(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("DELETE FROM PlayerAggregate a WHERE a.playerId IN " +
+           "(SELECT p.id FROM Player p WHERE p.team.id = :teamId)")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("DELETE FROM PlayerAggregate a")
+    int deleteAllAggregates();
+
+    // Recomputes every row from the stats table in one statement; a game played is a line with minutes
+    @Modifying
+    @Query(value = "INSERT INTO player_aggregates (player_id, stat_lines, games_played, minutes_recorded, " +
+           "total_points, total_assists, total_rebounds, total_steals, total_blocks, " +
+           "total_field_goals_made, total_field_goals_attempted, " +
+           "total_three_pointers_made, total_three_pointers_attempted, " +
+           "total_free_throws_made, total_free_throws_attempted, total_minutes_played, " +
+           "average_points, average_assists, average_rebounds, average_steals, average_blocks, " +
+           "average_field_goals_made, average_field_goals_attempted, " +
+           "average_three_pointers_made, average_three_pointers_attempted, " +
+           "average_free_throws_made, average_free_throws_attempted, average_minutes_played, " +
+           "updated_at) " +
+           "SELECT player_id, COUNT(*), SUM(CASE WHEN minutes_played > 0 THEN 1 ELSE 0 END), " +
+           "COUNT(minutes_played), " +
+           "SUM(points), SUM(assists), SUM(rebounds), SUM(steals), SUM(blocks), " +
+           "SUM(field_goals_made), SUM(field_goals_attempted), " +
+           "SUM(three_pointers_made), SUM(three_pointers_attempted), " +
+           "SUM(free_throws_made), SUM(free_throws_attempted), COALESCE(SUM(minutes_played), 0), " +
+           "AVG(CAST(points AS DOUBLE PRECISION)), AVG(CAST(assists AS DOUBLE PRECISION)), " +
+           "AVG(CAST(rebounds AS DOUBLE PRECISION)), AVG(CAST(steals AS DOUBLE PRECISION)), " +
+           "AVG(CAST(blocks AS DOUBLE PRECISION)), " +
+           "AVG(CAST(field_goals_made AS DOUBLE PRECISION)), AVG(CAST(field_goals_attempted AS DOUBLE PRECISION)), " +
+           "AVG(CAST(three_pointers_made AS DOUBLE PRECISION)), AVG(CAST(three_pointers_attempted AS DOUBLE PRECISION)), " +
+           "AVG(CAST(free_throws_made AS DOUBLE PRECISION)), AVG(CAST(free_throws_attempted AS DOUBLE PRECISION)), " +
+           "COALESCE(AVG(CAST(minutes_played AS DOUBLE PRECISION)), 0), " +
+           "CURRENT_TIMESTAMP " +
+           "FROM stats GROUP BY player_id",
+           nativeQuery = true)
+    int insertFromStats();
+}
@@ -3,24 +3,58 @@ package com.applab.sportsstats.sports_stats_api.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.applab.sportsstats.sports_stats_api.entity.Player;
 import com.applab.sportsstats.sports_stats_api.enums.Position;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player> {
     
-    List<Player> findByTeamId(Long teamId);
+    // Compared on the foreign key column; the derived query joins the team first.
+    // Cached, like findByPosition, until the next write to the players table
+    @Query("SELECT p FROM Player p WHERE p.team.id = :teamId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Player> findByTeamId(@Param("teamId") Long teamId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Player> findByPosition(Position position);
     
-    Optional<Player> findByJerseyNumber(Integer jerseyNumber);
+    // Jersey numbers are unique within a team
+    @Query("SELECT p FROM Player p WHERE p.team.id = :teamId AND p.jerseyNumber = :jerseyNumber")
+    Optional<Player> findByTeamIdAndJerseyNumber(@Param("teamId") Long teamId,
+                                                 @Param("jerseyNumber") Integer jerseyNumber);
+
+    // Which of the players exist, without loading them
+    @Query("SELECT p.id FROM Player p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Row locks that serialize the first aggregate insert of each player, without loading them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Player p WHERE p.id IN :ids")
+    List<Long> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Bulk deletes: one statement each, without loading the players or cascading to their stats
+    @Modifying
+    @Query("DELETE FROM Player p WHERE p.id = :id")
+    int deletePlayer(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Player p WHERE p.team.id = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
     
     List<Player> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
             String firstName, String lastName);
@@ -36,42 +70,9 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findByTeamName(@Param("teamName") String teamName);
     
     // Paginated versions
-    Page<Player> findByTeamId(Long teamId, Pageable pageable);
+    @Query("SELECT p FROM Player p WHERE p.team.id = :teamId")
+    Page<Player> findByTeamId(@Param("teamId") Long teamId, Pageable pageable);
     
     Page<Player> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
             String firstName, String lastName, Pageable pageable);
-    
-    // Filtering methods
-    @Query("SELECT p FROM Player p WHERE " +
-           "(:teamId IS NULL OR p.team.id = :teamId) AND " +
-           "(:position IS NULL OR p.position = :position) AND " +
-           "(:minJerseyNumber IS NULL OR p.jerseyNumber >= :minJerseyNumber) AND " +
-           "(:maxJerseyNumber IS NULL OR p.jerseyNumber <= :maxJerseyNumber)")
-    Page<Player> findWithBasicFilters(
-        @Param("teamId") Long teamId,
-        @Param("position") Position position,
-        @Param("minJerseyNumber") Integer minJerseyNumber,
-        @Param("maxJerseyNumber") Integer maxJerseyNumber,
-        Pageable pageable
-    );
-    
-    // Advanced filtering with stats aggregation
-    @Query("SELECT DISTINCT p FROM Player p " +
-           "LEFT JOIN p.stats s " +
-           "WHERE (:teamId IS NULL OR p.team.id = :teamId) " +
-           "AND (:position IS NULL OR p.position = :position) " +
-           "AND (:minJerseyNumber IS NULL OR p.jerseyNumber >= :minJerseyNumber) " +
-           "AND (:maxJerseyNumber IS NULL OR p.jerseyNumber <= :maxJerseyNumber) " +
-           "GROUP BY p.id " +
-           "HAVING (:minPoints IS NULL OR AVG(s.points) >= :minPoints) " +
-           "AND (:maxPoints IS NULL OR AVG(s.points) <= :maxPoints)")
-    Page<Player> findWithAdvancedFilters(
-        @Param("teamId") Long teamId,
-        @Param("position") Position position,
-        @Param("minJerseyNumber") Integer minJerseyNumber,
-        @Param("maxJerseyNumber") Integer maxJerseyNumber,
-        @Param("minPoints") Integer minPoints,
-        @Param("maxPoints") Integer maxPoints,
-        Pageable pageable
-    );
 }
\ No newline at end of file
@@ -1,23 +1,41 @@
 package com.applab.sportsstats.sports_stats_api.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.applab.sportsstats.sports_stats_api.entity.Stats;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface StatsRepository extends JpaRepository<Stats, Long> {
+public interface StatsRepository extends JpaRepository<Stats, Long>, JpaSpecificationExecutor<Stats> {
     
-    List<Stats> findByPlayerId(Long playerId);
+    // Compared on the foreign key columns; the derived queries join the parent first
+    @Query("SELECT s FROM Stats s WHERE s.player.id = :playerId")
+    List<Stats> findByPlayerId(@Param("playerId") Long playerId);
     
-    List<Stats> findByMatchId(Long matchId);
+    @Query("SELECT s FROM Stats s WHERE s.match.id = :matchId")
+    List<Stats> findByMatchId(@Param("matchId") Long matchId);
     
     @Query("SELECT s FROM Stats s WHERE s.player.id = :playerId AND s.match.id = :matchId")
     Stats findByPlayerIdAndMatchId(@Param("playerId") Long playerId, @Param("matchId") Long matchId);
+
+    // Row lock for an edit, so that concurrent edits of a line read it one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stats s WHERE s.player.id = :playerId AND s.match.id = :matchId")
+    Stats findByPlayerIdAndMatchIdForUpdate(@Param("playerId") Long playerId, @Param("matchId") Long matchId);
+
+    // Which of the players already have a line in the match, for a box score in one query
+    @Query("SELECT s.player.id FROM Stats s WHERE s.match.id = :matchId AND s.player.id IN :playerIds")
+    List<Long> findRecordedPlayerIds(@Param("matchId") Long matchId, @Param("playerIds") Collection<Long> playerIds);
     
     @Query("SELECT s FROM Stats s JOIN s.player p WHERE s.points >= :minPoints")
     List<Stats> findPlayersWithMinimumPoints(@Param("minPoints") Integer minPoints);
@@ -39,35 +57,13 @@ public interface StatsRepository extends JpaRepository<Stats, Long> {
     
     @Query("SELECT s FROM Stats s WHERE s.match.id = :matchId AND s.player.team.id = :teamId")
     List<Stats> findByMatchIdAndTeamId(@Param("matchId") Long matchId, @Param("teamId") Long teamId);
-    
-    // Aggregate queries for leaderboards
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, AVG(s.points) as avgPoints " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY avgPoints DESC")
-    List<Object[]> findAveragePointsLeaderboard();
-    
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, SUM(s.points) as totalPoints " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY totalPoints DESC")
-    List<Object[]> findTotalPointsLeaderboard();
-    
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, AVG(s.assists) as avgAssists " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY avgAssists DESC")
-    List<Object[]> findAverageAssistsLeaderboard();
-    
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, SUM(s.assists) as totalAssists " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY totalAssists DESC")
-    List<Object[]> findTotalAssistsLeaderboard();
-    
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, AVG(s.rebounds) as avgRebounds " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY avgRebounds DESC")
-    List<Object[]> findAverageReboundsLeaderboard();
-    
-    @Query("SELECT s.player.id, s.player.firstName, s.player.lastName, SUM(s.rebounds) as totalRebounds " +
-           "FROM Stats s GROUP BY s.player.id, s.player.firstName, s.player.lastName " +
-           "ORDER BY totalRebounds DESC")
-    List<Object[]> findTotalReboundsLeaderboard();
+
+    // Bulk deletes ahead of a player or team delete, which no longer cascades through the entities
+    @Modifying
+    @Query("DELETE FROM Stats s WHERE s.player.id = :playerId")
+    int deleteByPlayerId(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("DELETE FROM Stats s WHERE s.player.id IN (SELECT p.id FROM Player p WHERE p.team.id = :teamId)")
+    int deleteByTeamId(@Param("teamId") Long teamId);
 }
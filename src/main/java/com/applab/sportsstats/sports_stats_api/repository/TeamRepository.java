@@ -1,22 +1,28 @@
 package com.applab.sportsstats.sports_stats_api.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.applab.sportsstats.sports_stats_api.entity.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, JpaSpecificationExecutor<Team> {
     
+    // Cached lookups, invalidated by any write to the teams table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Team> findByName(String name);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Team> findByCity(String city);
     
     List<Team> findByFoundedYearGreaterThan(Integer year);
@@ -26,20 +32,9 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     
     @Query("SELECT t FROM Team t JOIN t.players p WHERE p.id = :playerId")
     Optional<Team> findByPlayerId(@Param("playerId") Long playerId);
-    
-    // Filtering methods
-    @Query("SELECT t FROM Team t WHERE " +
-           "(:city IS NULL OR LOWER(t.city) = LOWER(:city)) AND " +
-           "(:minFoundedYear IS NULL OR t.foundedYear >= :minFoundedYear) AND " +
-           "(:maxFoundedYear IS NULL OR t.foundedYear <= :maxFoundedYear) AND " +
-           "(:nameContains IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :nameContains, '%'))) AND " +
-           "(:coachName IS NULL OR LOWER(t.coachName) LIKE LOWER(CONCAT('%', :coachName, '%')))")
-    Page<Team> findWithFilters(
-        @Param("city") String city,
-        @Param("minFoundedYear") Integer minFoundedYear,
-        @Param("maxFoundedYear") Integer maxFoundedYear,
-        @Param("nameContains") String nameContains,
-        @Param("coachName") String coachName,
-        Pageable pageable
-    );
+
+    // The row count tells whether the team existed, without loading it first
+    @Modifying
+    @Query("DELETE FROM Team t WHERE t.id = :id")
+    int deleteTeam(@Param("id") Long id);
 }
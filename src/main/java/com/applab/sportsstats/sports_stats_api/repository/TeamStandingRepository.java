@@ -0,0 +1,36 @@
+package com.applab.sportsstats.sports_stats_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.applab.sportsstats.sports_stats_api.entity.TeamStanding;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TeamStandingRepository extends JpaRepository<TeamStanding, Long> {
+
+    // Sorted and limited league table without a count query
+    List<TeamStanding> findAllBy(Pageable pageable);
+
+    // Row lock so concurrent result changes for the same team apply one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TeamStanding s WHERE s.teamId = :teamId")
+    Optional<TeamStanding> findByIdForUpdate(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("DELETE FROM TeamStanding s WHERE s.teamId = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TeamStanding s")
+    int deleteAllStandings();
+}
@@ -0,0 +1,68 @@
+package com.applab.sportsstats.sports_stats_api.repository.specification;
+
+import com.applab.sportsstats.sports_stats_api.dto.MatchFilter;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Match predicates built from a {@link MatchFilter}; only the criteria that
+ * are actually set end up in the statement.
+ */
+public final class MatchSpecifications {
+
+    private MatchSpecifications() {
+    }
+
+    public static Specification<Match> fromFilter(MatchFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) return cb.and();
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getTeamId() != null) {
+                predicates.add(byTeam(filter.getTeamId()).toPredicate(root, query, cb));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("matchDate"), filter.getDateFrom()));
+            }
+            if (filter.getDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("matchDate"), filter.getDateTo()));
+            }
+            if (filter.getVenue() != null) {
+                predicates.add(TeamSpecifications.containsIgnoreCase(cb, root.get("venue"), filter.getVenue()));
+            }
+            if (Boolean.TRUE.equals(filter.getHasScore())) {
+                predicates.add(cb.isNotNull(root.get("homeTeamScore")));
+                predicates.add(cb.isNotNull(root.get("awayTeamScore")));
+            } else if (Boolean.FALSE.equals(filter.getHasScore())) {
+                predicates.add(cb.or(cb.isNull(root.get("homeTeamScore")), cb.isNull(root.get("awayTeamScore"))));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Match> byTeam(Long teamId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("homeTeam").get("id"), teamId),
+                cb.equal(root.get("awayTeam").get("id"), teamId));
+    }
+
+    public static Specification<Match> byId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static Specification<Match> byStatus(Match.MatchStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Match> startsAfter(OffsetDateTime date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("matchDate"), date);
+    }
+}
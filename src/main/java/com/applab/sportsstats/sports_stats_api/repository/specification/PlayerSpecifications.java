@@ -0,0 +1,114 @@
+package com.applab.sportsstats.sports_stats_api.repository.specification;
+
+import com.applab.sportsstats.sports_stats_api.dto.PlayerFilter;
+import com.applab.sportsstats.sports_stats_api.dto.PlayerSort;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.PlayerAggregate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Player predicates built from a {@link PlayerFilter}; only the criteria that
+ * are actually set end up in the statement.
+ */
+public final class PlayerSpecifications {
+
+    private PlayerSpecifications() {
+    }
+
+    public static Specification<Player> fromFilter(PlayerFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) return cb.and();
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getTeamId() != null) {
+                predicates.add(cb.equal(root.get("team").get("id"), filter.getTeamId()));
+            }
+            if (filter.getPosition() != null) {
+                predicates.add(cb.equal(root.get("position"), filter.getPosition()));
+            }
+            if (filter.getMinJerseyNumber() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("jerseyNumber"), filter.getMinJerseyNumber()));
+            }
+            if (filter.getMaxJerseyNumber() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("jerseyNumber"), filter.getMaxJerseyNumber()));
+            }
+            // At least minAge years old: born on or before today minus minAge years
+            if (filter.getMinAge() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dateOfBirth"),
+                        LocalDate.now().minusYears(filter.getMinAge())));
+            }
+            // At most maxAge years old: born after today minus (maxAge + 1) years
+            if (filter.getMaxAge() != null) {
+                predicates.add(cb.greaterThan(root.get("dateOfBirth"),
+                        LocalDate.now().minusYears(filter.getMaxAge() + 1L)));
+            }
+            if (filter.getMinPoints() != null || filter.getMaxPoints() != null) {
+                // Range scan on the indexed per-player average, joined back by id
+                Subquery<Long> aggregates = query.subquery(Long.class);
+                Root<PlayerAggregate> aggregate = aggregates.from(PlayerAggregate.class);
+                List<Predicate> range = new ArrayList<>();
+                if (filter.getMinPoints() != null) {
+                    range.add(cb.greaterThanOrEqualTo(aggregate.get("averagePoints"), filter.getMinPoints().doubleValue()));
+                }
+                if (filter.getMaxPoints() != null) {
+                    range.add(cb.lessThanOrEqualTo(aggregate.get("averagePoints"), filter.getMaxPoints().doubleValue()));
+                }
+                aggregates.select(aggregate.get("playerId")).where(range.toArray(Predicate[]::new));
+                predicates.add(root.get("id").in(aggregates));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Orders by the sort field, then by id so that limits are stable. Stat
+     * fields read the player's aggregate through a correlated subquery, with
+     * players who have no stat lines yet counted as zero. The ordering is set
+     * on the query itself, so the repository must be called unsorted.
+     */
+    public static Specification<Player> orderedBy(PlayerSort sort) {
+        return (root, query, cb) -> {
+            Expression<?> key;
+            if (sort.getField().isAggregate()) {
+                Subquery<Double> aggregates = query.subquery(Double.class);
+                Root<PlayerAggregate> aggregate = aggregates.from(PlayerAggregate.class);
+                aggregates.select(aggregate.get(sort.getField().getProperty()))
+                        .where(cb.equal(aggregate.get("playerId"), root.get("id")));
+                key = cb.coalesce(aggregates, 0.0);
+            } else {
+                key = root.get(sort.getField().getProperty());
+            }
+            Order order = sort.isDescending() ? cb.desc(key) : cb.asc(key);
+            query.orderBy(order, cb.asc(root.get("id")));
+            // No predicate of its own, so that it adds nothing to the WHERE clause
+            return null;
+        };
+    }
+
+    // Either name or the full name, as the PlayerSearchIndex's substring search
+    public static Specification<Player> nameContains(String term) {
+        return (root, query, cb) -> cb.or(
+                TeamSpecifications.containsIgnoreCase(cb, root.get("firstName"), term),
+                TeamSpecifications.containsIgnoreCase(cb, root.get("lastName"), term),
+                TeamSpecifications.containsIgnoreCase(cb,
+                        cb.concat(cb.concat(root.get("firstName"), " "), root.get("lastName")), term));
+    }
+
+    public static Specification<Player> byIds(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Player> byTeam(Long teamId) {
+        return (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+    }
+}
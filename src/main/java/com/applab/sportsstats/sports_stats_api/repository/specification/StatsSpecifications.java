@@ -0,0 +1,57 @@
+package com.applab.sportsstats.sports_stats_api.repository.specification;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatsFilter;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stats line predicates for the root stats queries.
+ */
+public final class StatsSpecifications {
+
+    private StatsSpecifications() {
+    }
+
+    public static Specification<Stats> byPlayer(Long playerId) {
+        return (root, query, cb) -> cb.equal(root.get("player").get("id"), playerId);
+    }
+
+    public static Specification<Stats> byMatch(Long matchId) {
+        return (root, query, cb) -> cb.equal(root.get("match").get("id"), matchId);
+    }
+
+    /**
+     * Lines of the players and matches selected by the filter, each side as an
+     * id subquery built from the player or match specifications.
+     */
+    public static Specification<Stats> fromFilter(StatsFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) return cb.and();
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getPlayer() != null && filter.getPlayer().hasFilters()) {
+                Subquery<Long> players = query.subquery(Long.class);
+                Root<Player> player = players.from(Player.class);
+                players.select(player.get("id"))
+                        .where(PlayerSpecifications.fromFilter(filter.getPlayer()).toPredicate(player, query, cb));
+                predicates.add(root.get("player").get("id").in(players));
+            }
+            if (filter.getMatch() != null && filter.getMatch().hasFilters()) {
+                Subquery<Long> matches = query.subquery(Long.class);
+                Root<Match> match = matches.from(Match.class);
+                matches.select(match.get("id"))
+                        .where(MatchSpecifications.fromFilter(filter.getMatch()).toPredicate(match, query, cb));
+                predicates.add(root.get("match").get("id").in(matches));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
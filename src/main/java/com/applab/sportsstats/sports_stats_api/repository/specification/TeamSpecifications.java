@@ -0,0 +1,57 @@
+package com.applab.sportsstats.sports_stats_api.repository.specification;
+
+import com.applab.sportsstats.sports_stats_api.dto.TeamFilter;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Team predicates built from a {@link TeamFilter}; only the criteria that
+ * are actually set end up in the statement.
+ */
+public final class TeamSpecifications {
+
+    private TeamSpecifications() {
+    }
+
+    public static Specification<Team> fromFilter(TeamFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) return cb.and();
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCity() != null) {
+                predicates.add(cb.equal(cb.lower(root.get("city")), filter.getCity().toLowerCase()));
+            }
+            if (filter.getMinFoundedYear() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("foundedYear"), filter.getMinFoundedYear()));
+            }
+            if (filter.getMaxFoundedYear() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("foundedYear"), filter.getMaxFoundedYear()));
+            }
+            if (filter.getNameContains() != null) {
+                predicates.add(containsIgnoreCase(cb, root.get("name"), filter.getNameContains()));
+            }
+            if (filter.getCoachName() != null) {
+                predicates.add(containsIgnoreCase(cb, root.get("coachName"), filter.getCoachName()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Case-insensitive substring match. Wildcards in the term are escaped so
+     * that they match literally instead of widening the scan.
+     */
+    static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> column, String term) {
+        String escaped = term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like(cb.lower(column), "%" + escaped + "%", '\\');
+    }
+}
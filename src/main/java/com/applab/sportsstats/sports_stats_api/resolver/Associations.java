@@ -0,0 +1,24 @@
+package com.applab.sportsstats.sports_stats_api.resolver;
+
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Resolution of to-one associations for the field resolvers. An association
+ * that the root query's fetch plan already loaded is returned as is; anything
+ * else is batch-loaded by id through the DataLoader.
+ */
+final class Associations {
+
+    private Associations() {
+    }
+
+    static <T> CompletableFuture<T> fetchedOrLoad(T association, Function<T, Long> idOf, DataLoader<Long, T> loader) {
+        if (association == null) return CompletableFuture.completedFuture(null);
+        if (Hibernate.isInitialized(association)) return CompletableFuture.completedFuture(association);
+        return loader.load(idOf.apply(association));
+    }
+}
@@ -2,15 +2,28 @@ package com.applab.sportsstats.sports_stats_api.resolver;
 
 import com.applab.sportsstats.sports_stats_api.entity.Match;
 import com.applab.sportsstats.sports_stats_api.entity.Team;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 public class MatchFieldResolver {
 
+    @SchemaMapping(typeName = "Match", field = "homeTeam")
+    public CompletableFuture<Team> homeTeam(Match match, DataLoader<Long, Team> teamLoader) {
+        return Associations.fetchedOrLoad(match.getHomeTeam(), Team::getId, teamLoader);
+    }
+
+    @SchemaMapping(typeName = "Match", field = "awayTeam")
+    public CompletableFuture<Team> awayTeam(Match match, DataLoader<Long, Team> teamLoader) {
+        return Associations.fetchedOrLoad(match.getAwayTeam(), Team::getId, teamLoader);
+    }
+
     @SchemaMapping(typeName = "Match", field = "winner")
-    public Team winner(Match match) {
-        return match.getWinner();
+    public CompletableFuture<Team> winner(Match match, DataLoader<Long, Team> teamLoader) {
+        return Associations.fetchedOrLoad(match.getWinner(), Team::getId, teamLoader);
     }
 
     @SchemaMapping(typeName = "Match", field = "isTie")
@@ -1,5 +1,8 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
+import com.applab.sportsstats.sports_stats_api.dto.ImportReport;
+import com.applab.sportsstats.sports_stats_api.dto.MatchResult;
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
 import com.applab.sportsstats.sports_stats_api.entity.Match;
 import com.applab.sportsstats.sports_stats_api.entity.Player;
 import com.applab.sportsstats.sports_stats_api.entity.Stats;
@@ -9,20 +12,38 @@ import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
 import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
 import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
 import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardService;
 import com.applab.sportsstats.sports_stats_api.service.MatchEventPublisher;
+import com.applab.sportsstats.sports_stats_api.service.PlayerAggregateService;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchService;
+import com.applab.sportsstats.sports_stats_api.service.ResponseCache;
+import com.applab.sportsstats.sports_stats_api.service.RowCountCache;
+import com.applab.sportsstats.sports_stats_api.service.SeasonImportService;
+import com.applab.sportsstats.sports_stats_api.service.TeamStandingsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Slf4j
 @Controller
@@ -30,11 +51,21 @@ import java.util.Optional;
 @Transactional
 public class MutationResolver {
 
+    // One JDBC batch, and more than the players of both teams
+    private static final int MAX_BOX_SCORE_LINES = 50;
+
     private final TeamRepository teamRepository;
     private final PlayerRepository playerRepository;
     private final MatchRepository matchRepository;
     private final StatsRepository statsRepository;
     private final MatchEventPublisher matchEventPublisher;
+    private final LeaderboardService leaderboardService;
+    private final PlayerAggregateService playerAggregateService;
+    private final TeamStandingsService teamStandingsService;
+    private final RowCountCache rowCountCache;
+    private final PlayerSearchService playerSearchService;
+    private final ResponseCache responseCache;
+    private final SeasonImportService seasonImportService;
 
     // ==================== TEAM MUTATIONS ====================
 
@@ -47,7 +78,12 @@ public class MutationResolver {
                 .coachName(input.coachName())
                 .homeStadium(input.homeStadium())
                 .build();
-        return teamRepository.save(team);
+        Team savedTeam = constrained(() -> teamRepository.save(team), Map.of(
+                "uk_teams_name", "Team name " + input.name() + " is already taken"));
+        teamStandingsService.teamCreated(savedTeam.getId());
+        rowCountCache.added(Team.class);
+        responseCache.invalidate(Team.class, savedTeam.getId());
+        return savedTeam;
     }
 
     @MutationMapping
@@ -61,34 +97,45 @@ public class MutationResolver {
         Optional.ofNullable(input.coachName()).ifPresent(team::setCoachName);
         Optional.ofNullable(input.homeStadium()).ifPresent(team::setHomeStadium);
         
-        return teamRepository.save(team);
+        Team savedTeam = constrained(() -> teamRepository.saveAndFlush(team), Map.of(
+                "uk_teams_name", "Team name " + input.name() + " is already taken"));
+        responseCache.invalidate(Team.class, savedTeam.getId());
+        return savedTeam;
     }
 
+    /**
+     * Deletes the team with its players and their stats in bulk, one
+     * statement per table; the delete of the team itself tells whether it
+     * existed. Teams that played matches are kept by the foreign keys.
+     */
     @MutationMapping
     public Boolean deleteTeam(@Argument Long id) {
-        if (!teamRepository.existsById(id)) {
+        playerAggregateService.teamRemoved(id);
+        teamStandingsService.teamRemoved(id);
+        playerSearchService.teamRemoved(id);
+        statsRepository.deleteByTeamId(id);
+        playerRepository.deleteByTeamId(id);
+        String inUse = "Team " + id + " has matches and cannot be deleted";
+        int deleted = constrained(() -> teamRepository.deleteTeam(id), Map.of(
+                "fk_matches_home_team", inUse, "fk_matches_away_team", inUse, "fk_match_teams_team", inUse));
+        if (deleted == 0) {
             return false;
         }
-        teamRepository.deleteById(id);
+        leaderboardService.reload();
+        rowCountCache.invalidate(Team.class, Player.class, Stats.class);
+        responseCache.invalidateAll(Team.class, Player.class, Stats.class);
         return true;
     }
 
     // ==================== PLAYER MUTATIONS ====================
 
+    /**
+     * Inserts the player in one statement: the team is only referenced, and
+     * both its existence and the free jersey number are checked by the
+     * database constraints.
+     */
     @MutationMapping
     public Player createPlayer(@Argument("input") @Valid CreatePlayerInput input) {
-        Team team = teamRepository.findById(input.teamId())
-                .orElseThrow(() -> new IllegalArgumentException("Team not found with id: " + input.teamId()));
-
-        // Check if jersey number is already taken by another player in the same team
-        boolean jerseyTaken = playerRepository.findByTeamId(input.teamId())
-                .stream()
-                .anyMatch(p -> p.getJerseyNumber().equals(input.jerseyNumber()));
-        
-        if (jerseyTaken) {
-            throw new IllegalArgumentException("Jersey number " + input.jerseyNumber() + " is already taken by another player in this team");
-        }
-
         Player player = Player.builder()
                 .firstName(input.firstName())
                 .lastName(input.lastName())
@@ -97,10 +144,15 @@ public class MutationResolver {
                 .dateOfBirth(input.dateOfBirth())
                 .height(input.height())
                 .weight(input.weight())
-                .team(team)
+                .team(teamRepository.getReferenceById(input.teamId()))
                 .build();
         
-        return playerRepository.save(player);
+        Player savedPlayer = constrained(() -> playerRepository.save(player),
+                playerConstraintMessages(input.teamId(), input.jerseyNumber()));
+        rowCountCache.added(Player.class);
+        playerSearchService.playerSaved(savedPlayer);
+        responseCache.invalidate(Player.class, savedPlayer.getId());
+        return savedPlayer;
     }
 
     @MutationMapping
@@ -117,20 +169,33 @@ public class MutationResolver {
         Optional.ofNullable(input.weight()).ifPresent(player::setWeight);
         
         if (input.teamId() != null) {
-            Team team = teamRepository.findById(input.teamId())
-                    .orElseThrow(() -> new IllegalArgumentException("Team not found with id: " + input.teamId()));
-            player.setTeam(team);
+            player.setTeam(teamRepository.getReferenceById(input.teamId()));
         }
         
-        return playerRepository.save(player);
+        // Flushed here, so that a constraint violation is reported as such rather than failing the commit
+        Player savedPlayer = constrained(() -> playerRepository.saveAndFlush(player),
+                playerConstraintMessages(player.getTeam().getId(), player.getJerseyNumber()));
+        playerSearchService.playerSaved(savedPlayer);
+        responseCache.invalidate(Player.class, savedPlayer.getId());
+        return savedPlayer;
     }
 
     @MutationMapping
     public Boolean deletePlayer(@Argument Long id) {
-        if (!playerRepository.existsById(id)) {
+        playerAggregateService.playerRemoved(id);
+        // One bulk delete of the stats before the player's own, in place of loading the player
+        // to cascade its removal to every stat line one statement at a time
+        statsRepository.deleteByPlayerId(id);
+        if (playerRepository.deletePlayer(id) == 0) {
             return false;
         }
-        playerRepository.deleteById(id);
+        leaderboardService.playerRemoved(id);
+        playerSearchService.playerRemoved(id);
+        // The player's stats were deleted with it
+        rowCountCache.removed(Player.class);
+        rowCountCache.invalidate(Stats.class);
+        responseCache.invalidate(Player.class, id);
+        responseCache.invalidateAll(Stats.class);
         return true;
     }
 
@@ -138,12 +203,7 @@ public class MutationResolver {
 
     @MutationMapping
     public Match createMatch(@Argument("input") @Valid CreateMatchInput input) {
-        Team homeTeam = teamRepository.findById(input.homeTeamId())
-                .orElseThrow(() -> new IllegalArgumentException("Home team not found with id: " + input.homeTeamId()));
-        Team awayTeam = teamRepository.findById(input.awayTeamId())
-                .orElseThrow(() -> new IllegalArgumentException("Away team not found with id: " + input.awayTeamId()));
-
-        // Validate that home and away teams are different
+        // Validate that home and away teams are different, before any statement
         if (input.homeTeamId().equals(input.awayTeamId())) {
             throw new IllegalArgumentException("Home team and away team cannot be the same");
         }
@@ -152,11 +212,16 @@ public class MutationResolver {
                 .matchDate(input.matchDate())
                 .venue(input.venue())
                 .status(Match.MatchStatus.SCHEDULED)
-                .homeTeam(homeTeam)
-                .awayTeam(awayTeam)
+                .homeTeam(teamRepository.getReferenceById(input.homeTeamId()))
+                .awayTeam(teamRepository.getReferenceById(input.awayTeamId()))
                 .build();
         
-        return matchRepository.save(match);
+        Match savedMatch = constrained(() -> matchRepository.save(match), Map.of(
+                "fk_matches_home_team", "Home team not found with id: " + input.homeTeamId(),
+                "fk_matches_away_team", "Away team not found with id: " + input.awayTeamId()));
+        rowCountCache.added(Match.class);
+        responseCache.invalidate(Match.class, savedMatch.getId());
+        return savedMatch;
     }
 
     @MutationMapping
@@ -171,6 +236,7 @@ public class MutationResolver {
         Integer oldHomeScore = match.getHomeTeamScore();
         Integer oldAwayScore = match.getAwayTeamScore();
         Match.MatchStatus oldStatus = match.getStatus();
+        MatchResult oldResult = MatchResult.of(match);
 
         // Update match scores and status
         match.setHomeTeamScore(input.homeTeamScore());
@@ -178,6 +244,9 @@ public class MutationResolver {
         match.setStatus(input.status());
         
         Match savedMatch = matchRepository.save(match);
+        // Reverses the previous result when a completed score is corrected
+        teamStandingsService.matchChanged(oldResult, MatchResult.of(savedMatch));
+        responseCache.invalidate(Match.class, savedMatch.getId());
         
         // Log the changes
         log.debug("Match scores updated - Match ID: {}, Home: {} → {}, Away: {} → {}, Status: {} → {}", 
@@ -204,8 +273,11 @@ public class MutationResolver {
                 .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + matchId));
         
         Match.MatchStatus oldStatus = match.getStatus();
+        MatchResult oldResult = MatchResult.of(match);
         match.setStatus(Match.MatchStatus.LIVE);
         Match savedMatch = matchRepository.save(match);
+        teamStandingsService.matchChanged(oldResult, MatchResult.of(savedMatch));
+        responseCache.invalidate(Match.class, savedMatch.getId());
         
         log.debug("Match status updated - Match ID: {}, Status: {} → {}", 
                 matchId, oldStatus, Match.MatchStatus.LIVE);
@@ -230,8 +302,11 @@ public class MutationResolver {
                 .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + matchId));
         
         Match.MatchStatus oldStatus = match.getStatus();
+        MatchResult oldResult = MatchResult.of(match);
         match.setStatus(Match.MatchStatus.COMPLETED);
         Match savedMatch = matchRepository.save(match);
+        teamStandingsService.matchChanged(oldResult, MatchResult.of(savedMatch));
+        responseCache.invalidate(Match.class, savedMatch.getId());
         
         log.debug("Match status updated - Match ID: {}, Status: {} → {}", 
                 matchId, oldStatus, Match.MatchStatus.COMPLETED);
@@ -250,33 +325,19 @@ public class MutationResolver {
 
     // ==================== STATS MUTATIONS ====================
 
+    /**
+     * Inserts the stat line without reading the player, the match or an
+     * existing line first: the foreign keys and the unique player and match
+     * pair reject what the lookups used to.
+     */
     @MutationMapping
     public Stats recordStats(@Argument("input") @Valid RecordStatsInput input) {
-        Player player = playerRepository.findById(input.playerId())
-                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + input.playerId()));
-        Match match = matchRepository.findById(input.matchId())
-                .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + input.matchId()));
-
-        // Check if stats already exist for this player in this match
-        Stats existingStats = statsRepository.findByPlayerIdAndMatchId(input.playerId(), input.matchId());
-        if (existingStats != null) {
-            throw new IllegalArgumentException("Stats already recorded for player " + input.playerId() + " in match " + input.matchId());
-        }
-
-        // Validate shooting statistics
-        if (input.fieldGoalsMade() > input.fieldGoalsAttempted()) {
-            throw new IllegalArgumentException("Field goals made cannot exceed field goals attempted");
-        }
-        if (input.threePointersMade() > input.threePointersAttempted()) {
-            throw new IllegalArgumentException("Three pointers made cannot exceed three pointers attempted");
-        }
-        if (input.freeThrowsMade() > input.freeThrowsAttempted()) {
-            throw new IllegalArgumentException("Free throws made cannot exceed free throws attempted");
-        }
+        validateShooting(input.fieldGoalsMade(), input.fieldGoalsAttempted(), input.threePointersMade(),
+                input.threePointersAttempted(), input.freeThrowsMade(), input.freeThrowsAttempted());
 
         Stats stats = Stats.builder()
-                .player(player)
-                .match(match)
+                .player(playerRepository.getReferenceById(input.playerId()))
+                .match(matchRepository.getReferenceById(input.matchId()))
                 .points(input.points())
                 .assists(input.assists())
                 .rebounds(input.rebounds())
@@ -291,16 +352,96 @@ public class MutationResolver {
                 .minutesPlayed(input.minutesPlayed())
                 .build();
         
-        return statsRepository.save(stats);
+        // Flushed here: the insert would otherwise wait for the sequence-backed batch at commit
+        Stats savedStats = constrained(() -> statsRepository.saveAndFlush(stats), Map.of(
+                "uk_stats_player_match", "Stats already recorded for player " + input.playerId() + " in match " + input.matchId(),
+                "fk_stats_player", "Player not found with id: " + input.playerId(),
+                "fk_stats_match", "Match not found with id: " + input.matchId()));
+        StatLine line = StatLine.of(savedStats);
+        playerAggregateService.statsChanged(input.playerId(), null, line);
+        leaderboardService.statsChanged(input.playerId(), null, line);
+        rowCountCache.added(Stats.class);
+        responseCache.invalidate(Stats.class, savedStats.getId());
+        return savedStats;
+    }
+
+    /**
+     * Records a match's box score in one call: the lines are validated
+     * together, checked for unknown players and existing lines with one query
+     * each and inserted in one JDBC batch; the match is only referenced.
+     * Leaderboard subscribers are notified once for all lines.
+     */
+    @MutationMapping
+    public List<Stats> recordBoxScore(@Argument Long matchId,
+                                      @Argument @NotEmpty(message = "Box score must have at least one line")
+                                      @Size(max = MAX_BOX_SCORE_LINES, message = "Box score cannot have more than " + MAX_BOX_SCORE_LINES + " lines")
+                                      List<@Valid StatLineInput> lines) {
+        Match match = matchRepository.getReferenceById(matchId);
+
+        Map<Long, StatLineInput> linesByPlayer = new LinkedHashMap<>();
+        for (StatLineInput line : lines) {
+            if (linesByPlayer.putIfAbsent(line.playerId(), line) != null) {
+                throw new IllegalArgumentException("Player " + line.playerId() + " appears more than once in the box score");
+            }
+            validateShooting(line.fieldGoalsMade(), line.fieldGoalsAttempted(), line.threePointersMade(),
+                    line.threePointersAttempted(), line.freeThrowsMade(), line.freeThrowsAttempted());
+        }
+
+        Set<Long> existingPlayerIds = new HashSet<>(playerRepository.findExistingIds(linesByPlayer.keySet()));
+        List<Long> missingPlayerIds = linesByPlayer.keySet().stream().filter(id -> !existingPlayerIds.contains(id)).toList();
+        if (!missingPlayerIds.isEmpty()) {
+            throw new IllegalArgumentException("Players not found with ids: " + missingPlayerIds);
+        }
+
+        List<Long> recordedPlayerIds = statsRepository.findRecordedPlayerIds(matchId, linesByPlayer.keySet());
+        if (!recordedPlayerIds.isEmpty()) {
+            throw new IllegalArgumentException("Stats already recorded for players " + recordedPlayerIds + " in match " + matchId);
+        }
+
+        List<Stats> stats = linesByPlayer.values().stream()
+                .map(line -> Stats.builder()
+                        .player(playerRepository.getReferenceById(line.playerId()))
+                        .match(match)
+                        .points(line.points())
+                        .assists(line.assists())
+                        .rebounds(line.rebounds())
+                        .steals(line.steals())
+                        .blocks(line.blocks())
+                        .fieldGoalsMade(line.fieldGoalsMade())
+                        .fieldGoalsAttempted(line.fieldGoalsAttempted())
+                        .threePointersMade(line.threePointersMade())
+                        .threePointersAttempted(line.threePointersAttempted())
+                        .freeThrowsMade(line.freeThrowsMade())
+                        .freeThrowsAttempted(line.freeThrowsAttempted())
+                        .minutesPlayed(line.minutesPlayed())
+                        .build())
+                .toList();
+
+        // Ids come from the sequence, so the inserts wait for the flush and go out as one batch
+        List<Stats> savedStats = constrained(() -> {
+            List<Stats> saved = statsRepository.saveAll(stats);
+            statsRepository.flush();
+            return saved;
+        }, Map.of("fk_stats_match", "Match not found with id: " + matchId));
+        Map<Long, StatLine> statLines = new LinkedHashMap<>();
+        savedStats.forEach(saved -> statLines.put(saved.getPlayer().getId(), StatLine.of(saved)));
+        playerAggregateService.statsRecorded(statLines);
+        leaderboardService.statsRecorded(statLines);
+        rowCountCache.added(Stats.class, savedStats.size());
+        responseCache.invalidate(Stats.class, savedStats.stream().map(Stats::getId).toList());
+
+        log.info("Box score recorded - Match ID: {}, lines: {}", matchId, savedStats.size());
+        return savedStats;
     }
 
     @MutationMapping
     public Stats updateStats(@Argument("input") @Valid RecordStatsInput input) {
-        // Find existing stats record
-        Stats stats = statsRepository.findByPlayerIdAndMatchId(input.playerId(), input.matchId());
+        // Find existing stats record, locked until the aggregates have its change
+        Stats stats = statsRepository.findByPlayerIdAndMatchIdForUpdate(input.playerId(), input.matchId());
         if (stats == null) {
             throw new IllegalArgumentException("Stats not found for player " + input.playerId() + " in match " + input.matchId());
         }
+        StatLine before = StatLine.of(stats);
         
         // Update all fields since they are non-null in schema
         stats.setPoints(input.points());
@@ -316,11 +457,88 @@ public class MutationResolver {
         stats.setFreeThrowsAttempted(input.freeThrowsAttempted());
         Optional.ofNullable(input.minutesPlayed()).ifPresent(stats::setMinutesPlayed);
         
-        return statsRepository.save(stats);
+        Stats savedStats = statsRepository.save(stats);
+        StatLine after = StatLine.of(savedStats);
+        playerAggregateService.statsChanged(input.playerId(), before, after);
+        leaderboardService.statsChanged(input.playerId(), before, after);
+        responseCache.invalidate(Stats.class, savedStats.getId());
+        return savedStats;
+    }
+
+    // ==================== ADMIN MUTATIONS ====================
+
+    @MutationMapping
+    public Integer rebuildPlayerAggregates() {
+        log.info("Rebuilding player aggregates");
+        responseCache.invalidateAll(Stats.class);
+        return playerAggregateService.rebuild();
     }
 
+    // Commits batch by batch, so it must not run in the resolver's transaction
+    @MutationMapping
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importSeason(@Argument String directory, @Argument Integer batchSize) {
+        log.info("Importing season from {}", directory);
+        return seasonImportService.importSeason(directory, batchSize);
+    }
 
 
+    private static Map<String, String> playerConstraintMessages(Long teamId, Integer jerseyNumber) {
+        return Map.of(
+                "uk_players_team_jersey", "Jersey number " + jerseyNumber + " is already taken by another player in this team",
+                "fk_players_team", "Team not found with id: " + teamId);
+    }
+
+    /**
+     * Runs a write whose preconditions are left to the database, turning a
+     * violation of one of the named constraints into the validation error the
+     * lookup it replaces used to raise. Writes that would otherwise wait for
+     * the commit must flush inside {@code write}.
+     */
+    private static <T> T constrained(Supplier<T> write, Map<String, String> messages) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedConstraints(e);
+            if (constraint != null) {
+                for (Map.Entry<String, String> message : messages.entrySet()) {
+                    if (constraint.contains(message.getKey())) {
+                        throw new IllegalArgumentException(message.getValue());
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    // H2 reports the constraint in upper case, and does not always report the one a
+    // missing parent row violates: its name is then read from the driver's message
+    private static String violatedConstraints(Throwable e) {
+        StringBuilder names = new StringBuilder();
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                names.append(violation.getConstraintName()).append(' ');
+            } else if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                names.append(sqlException.getMessage());
+            }
+        }
+        return names.isEmpty() ? null : names.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void validateShooting(int fieldGoalsMade, int fieldGoalsAttempted,
+                                         int threePointersMade, int threePointersAttempted,
+                                         int freeThrowsMade, int freeThrowsAttempted) {
+        if (fieldGoalsMade > fieldGoalsAttempted) {
+            throw new IllegalArgumentException("Field goals made cannot exceed field goals attempted");
+        }
+        if (threePointersMade > threePointersAttempted) {
+            throw new IllegalArgumentException("Three pointers made cannot exceed three pointers attempted");
+        }
+        if (freeThrowsMade > freeThrowsAttempted) {
+            throw new IllegalArgumentException("Free throws made cannot exceed free throws attempted");
+        }
+    }
+
     // ==================== INPUT RECORD CLASSES ====================
 
     public record CreateTeamInput(
@@ -393,4 +611,20 @@ public class MutationResolver {
             @NotNull(message = "Free throws attempted is required") @Min(value = 0, message = "Free throws attempted cannot be negative") Integer freeThrowsAttempted,
             @Min(value = 0, message = "Minutes played cannot be negative") @Max(value = 48, message = "Minutes played cannot exceed 48") Integer minutesPlayed
     ) {}
+
+    public record StatLineInput(
+            @NotNull(message = "Player ID is required") Long playerId,
+            @NotNull(message = "Points is required") @Min(value = 0, message = "Points cannot be negative") Integer points,
+            @NotNull(message = "Assists is required") @Min(value = 0, message = "Assists cannot be negative") Integer assists,
+            @NotNull(message = "Rebounds is required") @Min(value = 0, message = "Rebounds cannot be negative") Integer rebounds,
+            @NotNull(message = "Steals is required") @Min(value = 0, message = "Steals cannot be negative") Integer steals,
+            @NotNull(message = "Blocks is required") @Min(value = 0, message = "Blocks cannot be negative") Integer blocks,
+            @NotNull(message = "Field goals made is required") @Min(value = 0, message = "Field goals made cannot be negative") Integer fieldGoalsMade,
+            @NotNull(message = "Field goals attempted is required") @Min(value = 0, message = "Field goals attempted cannot be negative") Integer fieldGoalsAttempted,
+            @NotNull(message = "Three pointers made is required") @Min(value = 0, message = "Three pointers made cannot be negative") Integer threePointersMade,
+            @NotNull(message = "Three pointers attempted is required") @Min(value = 0, message = "Three pointers attempted cannot be negative") Integer threePointersAttempted,
+            @NotNull(message = "Free throws made is required") @Min(value = 0, message = "Free throws made cannot be negative") Integer freeThrowsMade,
+            @NotNull(message = "Free throws attempted is required") @Min(value = 0, message = "Free throws attempted cannot be negative") Integer freeThrowsAttempted,
+            @Min(value = 0, message = "Minutes played cannot be negative") @Max(value = 48, message = "Minutes played cannot exceed 48") Integer minutesPlayed
+    ) {}
 }
\ No newline at end of file
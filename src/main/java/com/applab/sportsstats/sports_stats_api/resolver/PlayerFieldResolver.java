@@ -1,22 +1,19 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
+import com.applab.sportsstats.sports_stats_api.dto.PlayerStatsSummary;
 import com.applab.sportsstats.sports_stats_api.entity.Player;
-import com.applab.sportsstats.sports_stats_api.entity.Stats;
-import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
-import lombok.RequiredArgsConstructor;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
-@RequiredArgsConstructor
 public class PlayerFieldResolver {
 
-    private final StatsRepository statsRepository;
-
     @SchemaMapping(typeName = "Player", field = "fullName")
     public String fullName(Player player) {
         return player.getFirstName() + " " + player.getLastName();
@@ -28,33 +25,28 @@ public class PlayerFieldResolver {
         return Period.between(player.getDateOfBirth(), LocalDate.now()).getYears();
     }
 
-    private List<Stats> stats(Player player) {
-        return statsRepository.findByPlayerId(player.getId());
+    @SchemaMapping(typeName = "Player", field = "team")
+    public CompletableFuture<Team> team(Player player, DataLoader<Long, Team> teamLoader) {
+        return Associations.fetchedOrLoad(player.getTeam(), Team::getId, teamLoader);
     }
 
     @SchemaMapping(typeName = "Player", field = "averagePoints")
-    public double averagePoints(Player player) {
-        List<Stats> list = stats(player);
-        if (list.isEmpty()) return 0.0;
-        return list.stream().mapToInt(Stats::getPoints).average().orElse(0.0);
+    public CompletableFuture<Double> averagePoints(Player player, DataLoader<Long, PlayerStatsSummary> summaryLoader) {
+        return summaryLoader.load(player.getId()).thenApply(PlayerStatsSummary::averagePoints);
     }
 
     @SchemaMapping(typeName = "Player", field = "averageAssists")
-    public double averageAssists(Player player) {
-        List<Stats> list = stats(player);
-        if (list.isEmpty()) return 0.0;
-        return list.stream().mapToInt(Stats::getAssists).average().orElse(0.0);
+    public CompletableFuture<Double> averageAssists(Player player, DataLoader<Long, PlayerStatsSummary> summaryLoader) {
+        return summaryLoader.load(player.getId()).thenApply(PlayerStatsSummary::averageAssists);
     }
 
     @SchemaMapping(typeName = "Player", field = "averageRebounds")
-    public double averageRebounds(Player player) {
-        List<Stats> list = stats(player);
-        if (list.isEmpty()) return 0.0;
-        return list.stream().mapToInt(Stats::getRebounds).average().orElse(0.0);
+    public CompletableFuture<Double> averageRebounds(Player player, DataLoader<Long, PlayerStatsSummary> summaryLoader) {
+        return summaryLoader.load(player.getId()).thenApply(PlayerStatsSummary::averageRebounds);
     }
 
     @SchemaMapping(typeName = "Player", field = "totalGamesPlayed")
-    public int totalGamesPlayed(Player player) {
-        return stats(player).size();
+    public CompletableFuture<Integer> totalGamesPlayed(Player player, DataLoader<Long, PlayerStatsSummary> summaryLoader) {
+        return summaryLoader.load(player.getId()).thenApply(summary -> (int) summary.statLines());
     }
 }
@@ -1,21 +1,37 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
+import com.applab.sportsstats.sports_stats_api.config.PersistedDocumentProvider;
 import com.applab.sportsstats.sports_stats_api.dto.*;
 import com.applab.sportsstats.sports_stats_api.entity.*;
+import com.applab.sportsstats.sports_stats_api.enums.LeaderboardAggregation;
 import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
 import com.applab.sportsstats.sports_stats_api.repository.*;
+import com.applab.sportsstats.sports_stats_api.repository.specification.MatchSpecifications;
+import com.applab.sportsstats.sports_stats_api.repository.specification.PlayerSpecifications;
+import com.applab.sportsstats.sports_stats_api.repository.specification.StatsSpecifications;
+import com.applab.sportsstats.sports_stats_api.repository.specification.TeamSpecifications;
+import com.applab.sportsstats.sports_stats_api.service.CacheStatisticsService;
+import com.applab.sportsstats.sports_stats_api.service.CursorPaginator;
+import com.applab.sportsstats.sports_stats_api.service.FetchPlan;
+import com.applab.sportsstats.sports_stats_api.service.FetchPlanner;
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardService;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchService;
+import com.applab.sportsstats.sports_stats_api.service.TeamStandingsService;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.List;
 
 @Controller
@@ -27,13 +43,21 @@ public class QueryResolver {
     private final PlayerRepository playerRepository;
     private final MatchRepository matchRepository;
     private final StatsRepository statsRepository;
+    private final LeaderboardService leaderboardService;
+    private final TeamStandingsService teamStandingsService;
+    private final CursorPaginator cursorPaginator;
+    private final FetchPlanner fetchPlanner;
+    private final PlayerSearchService playerSearchService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final PersistedDocumentProvider documentProvider;
 
     // Team Queries
     @QueryMapping
-    public List<Team> teams() {
+    public List<Team> teams(DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching all teams");
         try {
-            List<Team> teams = teamRepository.findAll();
+            List<Team> teams = fetchPlanner.findAll(teamRepository, Specification.unrestricted(), Sort.unsorted(),
+                    fetchPlanner.plan(Team.class, selectionSet));
             log.info("Successfully retrieved {} teams", teams.size());
             return teams;
         } catch (Exception e) {
@@ -43,7 +67,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Team team(@Argument Long id) {
+    public Team team(@Argument Long id, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching team with id: {}", id);
         
         if (id == null) {
@@ -57,7 +81,7 @@ public class QueryResolver {
         }
         
         try {
-            return teamRepository.findById(id)
+            return fetchPlanner.findById(Team.class, id, fetchPlanner.plan(Team.class, selectionSet))
                     .orElseThrow(() -> {
                         log.warn("Team not found with id: {}", id);
                         return new RuntimeException("Team not found with id: " + id);
@@ -69,7 +93,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Team teamByName(@Argument String name) {
+    public Team teamByName(@Argument String name, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching team with name: '{}'", name);
         
         if (name == null || name.trim().isEmpty()) {
@@ -84,11 +108,13 @@ public class QueryResolver {
         }
         
         try {
-            return teamRepository.findByName(teamName)
+            Team team = teamRepository.findByName(teamName)
                     .orElseThrow(() -> {
                         log.warn("Team not found with name: '{}'", teamName);
                         return new RuntimeException("Team not found with name: " + teamName);
                     });
+            fetchPlanner.fetchCollections(fetchPlanner.plan(Team.class, selectionSet), List.of(team));
+            return team;
         } catch (Exception e) {
             log.error("Error fetching team with name: '{}'", teamName, e);
             throw new RuntimeException("Unable to fetch team at this time");
@@ -96,7 +122,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Team> teamsByCity(@Argument String city) {
+    public List<Team> teamsByCity(@Argument String city, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching teams in city: '{}'", city);
         
         if (city == null || city.trim().isEmpty()) {
@@ -112,6 +138,7 @@ public class QueryResolver {
         
         try {
             List<Team> teams = teamRepository.findByCity(cityName);
+            fetchPlanner.fetchCollections(fetchPlanner.plan(Team.class, selectionSet), teams);
             log.info("Successfully retrieved {} teams for city: '{}'", teams.size(), cityName);
             return teams;
         } catch (Exception e) {
@@ -122,20 +149,39 @@ public class QueryResolver {
 
     // Player Queries
     @QueryMapping
-    public List<Player> players() {
-        log.info("Fetching all players");
+    public List<Player> players(@Argument PlayerFilter filter, @Argument PlayerSort sort, @Argument Integer limit,
+            DataFetchingFieldSelectionSet selectionSet) {
+        log.info("Fetching players with filter: {}, sort: {}, limit: {}", filter, sort, limit);
+
+        if (filter != null) filter.validate();
+        if (limit != null && limit <= 0) {
+            log.warn("Invalid player limit: {}", limit);
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+
         try {
-            List<Player> players = playerRepository.findAll();
+            Specification<Player> specification = filter != null && filter.hasFilters()
+                    ? PlayerSpecifications.fromFilter(filter)
+                    : Specification.unrestricted();
+            if (sort != null) {
+                specification = specification.and(PlayerSpecifications.orderedBy(sort));
+            }
+            // A limit without a sort keeps the first players by id
+            Sort order = sort == null && limit != null ? Sort.by("id") : Sort.unsorted();
+            FetchPlan plan = fetchPlanner.plan(Player.class, selectionSet);
+            List<Player> players = limit != null
+                    ? fetchPlanner.findFirst(playerRepository, specification, order, limit, plan)
+                    : fetchPlanner.findAll(playerRepository, specification, order, plan);
             log.info("Successfully retrieved {} players", players.size());
             return players;
         } catch (Exception e) {
-            log.error("Error fetching all players", e);
+            log.error("Error fetching players", e);
             throw new RuntimeException("Unable to fetch players at this time");
         }
     }
 
     @QueryMapping
-    public Player player(@Argument Long id) {
+    public Player player(@Argument Long id, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching player with id: {}", id);
         
         if (id == null) {
@@ -149,7 +195,7 @@ public class QueryResolver {
         }
         
         try {
-            return playerRepository.findById(id)
+            return fetchPlanner.findById(Player.class, id, fetchPlanner.plan(Player.class, selectionSet))
                     .orElseThrow(() -> {
                         log.warn("Player not found with id: {}", id);
                         return new RuntimeException("Player not found with id: " + id);
@@ -161,7 +207,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Player> playersByTeam(@Argument Long teamId) {
+    public List<Player> playersByTeam(@Argument Long teamId, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching players for team id: {}", teamId);
         
         if (teamId == null) {
@@ -176,13 +222,14 @@ public class QueryResolver {
         
         try {
             // Verify team exists
-            boolean teamExists = teamRepository.existsById(teamId);
+            boolean teamExists = teamRepository.findById(teamId).isPresent();
             if (!teamExists) {
                 log.warn("Team not found with id: {} for player lookup", teamId);
                 throw new RuntimeException("Team not found with id: " + teamId);
             }
             
             List<Player> players = playerRepository.findByTeamId(teamId);
+            fetchPlanner.fetchCollections(fetchPlanner.plan(Player.class, selectionSet), players);
             log.info("Successfully retrieved {} players for team id: {}", players.size(), teamId);
             return players;
         } catch (Exception e) {
@@ -192,7 +239,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Player> playersByPosition(@Argument Position position) {
+    public List<Player> playersByPosition(@Argument Position position, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching players with position: {}", position);
         
         if (position == null) {
@@ -202,6 +249,7 @@ public class QueryResolver {
         
         try {
             List<Player> players = playerRepository.findByPosition(position);
+            fetchPlanner.fetchCollections(fetchPlanner.plan(Player.class, selectionSet), players);
             log.info("Successfully retrieved {} players for position: {}", players.size(), position);
             return players;
         } catch (Exception e) {
@@ -212,10 +260,25 @@ public class QueryResolver {
 
     // Match Queries
     @QueryMapping
-    public List<Match> matches() {
-        log.info("Fetching all matches");
+    public List<Match> matches(@Argument MatchFilter filter, @Argument Integer limit,
+            DataFetchingFieldSelectionSet selectionSet) {
+        log.info("Fetching matches with filter: {}, limit: {}", filter, limit);
+
+        if (filter != null) filter.validate();
+        if (limit != null && limit <= 0) {
+            log.warn("Invalid match limit: {}", limit);
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+
         try {
-            List<Match> matches = matchRepository.findAll();
+            Specification<Match> specification = filter != null && filter.hasFilters()
+                    ? MatchSpecifications.fromFilter(filter)
+                    : Specification.unrestricted();
+            FetchPlan plan = fetchPlanner.plan(Match.class, selectionSet);
+            // A limit keeps the most recent matches
+            List<Match> matches = limit != null
+                    ? fetchPlanner.findFirst(matchRepository, specification, Sort.by(Sort.Direction.DESC, "matchDate", "id"), limit, plan)
+                    : fetchPlanner.findAll(matchRepository, specification, Sort.unsorted(), plan);
             log.info("Successfully retrieved {} matches", matches.size());
             return matches;
         } catch (Exception e) {
@@ -225,7 +288,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Match match(@Argument Long id) {
+    public Match match(@Argument Long id, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching match with id: {}", id);
         
         if (id == null) {
@@ -239,7 +302,7 @@ public class QueryResolver {
         }
         
         try {
-            return matchRepository.findById(id)
+            return fetchPlanner.findOne(matchRepository, MatchSpecifications.byId(id), fetchPlanner.plan(Match.class, selectionSet))
                     .orElseThrow(() -> {
                         log.warn("Match not found with id: {}", id);
                         return new RuntimeException("Match not found with id: " + id);
@@ -251,10 +314,11 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Match> liveMatches() {
+    public List<Match> liveMatches(DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching live matches");
         try {
-            List<Match> liveMatches = matchRepository.findLiveMatches();
+            List<Match> liveMatches = fetchPlanner.findAll(matchRepository, MatchSpecifications.byStatus(Match.MatchStatus.LIVE),
+                    Sort.by("matchDate").descending(), fetchPlanner.plan(Match.class, selectionSet));
             log.info("Successfully retrieved {} live matches", liveMatches.size());
             return liveMatches;
         } catch (Exception e) {
@@ -264,7 +328,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Match> matchesByTeam(@Argument Long teamId) {
+    public List<Match> matchesByTeam(@Argument Long teamId, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching matches for team id: {}", teamId);
         
         if (teamId == null) {
@@ -285,7 +349,8 @@ public class QueryResolver {
                 throw new RuntimeException("Team not found with id: " + teamId);
             }
             
-            List<Match> matches = matchRepository.findByTeamId(teamId);
+            List<Match> matches = fetchPlanner.findAll(matchRepository, MatchSpecifications.byTeam(teamId), Sort.unsorted(),
+                    fetchPlanner.plan(Match.class, selectionSet));
             log.info("Successfully retrieved {} matches for team id: {}", matches.size(), teamId);
             return matches;
         } catch (Exception e) {
@@ -296,7 +361,7 @@ public class QueryResolver {
 
     // Stats Queries
     @QueryMapping
-    public List<Stats> playerStats(@Argument Long playerId) {
+    public List<Stats> playerStats(@Argument Long playerId, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching stats for player with id: {}", playerId);
         
         if (playerId == null) {
@@ -317,7 +382,8 @@ public class QueryResolver {
                 throw new RuntimeException("Player not found with id: " + playerId);
             }
             
-            List<Stats> playerStats = statsRepository.findByPlayerId(playerId);
+            List<Stats> playerStats = fetchPlanner.findAll(statsRepository, StatsSpecifications.byPlayer(playerId), Sort.unsorted(),
+                    fetchPlanner.plan(Stats.class, selectionSet));
             log.info("Successfully retrieved {} stats records for player id: {}", playerStats.size(), playerId);
             return playerStats;
         } catch (Exception e) {
@@ -327,7 +393,7 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public List<Stats> matchStats(@Argument Long matchId) {
+    public List<Stats> matchStats(@Argument Long matchId, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching stats for match with id: {}", matchId);
         
         if (matchId == null) {
@@ -348,7 +414,8 @@ public class QueryResolver {
                 throw new RuntimeException("Match not found with id: " + matchId);
             }
             
-            List<Stats> matchStats = statsRepository.findByMatchId(matchId);
+            List<Stats> matchStats = fetchPlanner.findAll(statsRepository, StatsSpecifications.byMatch(matchId), Sort.unsorted(),
+                    fetchPlanner.plan(Stats.class, selectionSet));
             log.info("Successfully retrieved {} stats records for match id: {}", matchStats.size(), matchId);
             return matchStats;
         } catch (Exception e) {
@@ -359,7 +426,7 @@ public class QueryResolver {
 
     // Search functionality
     @QueryMapping
-    public List<Player> searchPlayers(@Argument String name) {
+    public List<Player> searchPlayers(@Argument String name, DataFetchingFieldSelectionSet selectionSet) {
         log.info("Searching players with name: '{}'", name);
         
         if (name == null || name.trim().isEmpty()) {
@@ -380,9 +447,8 @@ public class QueryResolver {
         }
         
         try {
-            // Use the available search method that searches both first and last names
-            List<Player> players = playerRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                    searchTerm, searchTerm);
+            // Ranked by the trigram index, then loaded in one query
+            List<Player> players = playerSearchService.search(searchTerm, fetchPlanner.plan(Player.class, selectionSet));
             
             log.info("Search for '{}' returned {} players", searchTerm, players.size());
             return players;
@@ -395,9 +461,14 @@ public class QueryResolver {
     // ========== PAGINATED QUERIES ==========
 
     @QueryMapping
-    public Connection<Team> teamsPaginated(@Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Team> teamsPaginated(@Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching teams with pagination: {}, sort: {}", pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Apply defaults and validate
             if (pagination == null) pagination = new PaginationInput();
@@ -405,22 +476,8 @@ public class QueryResolver {
             
             if (sort != null) sort.validate("team");
             
-            // Create pageable
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("id").ascending()
-            );
-            
-            Page<Team> teamPage = teamRepository.findAll(pageable);
-            Connection<Team> connection = Connection.from(teamPage);
-            
-            log.info("Successfully retrieved {} teams (page {}/{})", 
-                    teamPage.getContent().size(), 
-                    teamPage.getNumber() + 1, 
-                    teamPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("id").ascending();
+            return page(teamRepository, Team.class, null, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching paginated teams", e);
             throw new RuntimeException("Unable to fetch teams at this time");
@@ -428,30 +485,22 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Connection<Player> playersPaginated(@Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Player> playersPaginated(@Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching players with pagination: {}, sort: {}", pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             if (pagination == null) pagination = new PaginationInput();
             pagination.validate();
             
             if (sort != null) sort.validate("player");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("id").ascending()
-            );
-            
-            Page<Player> playerPage = playerRepository.findAll(pageable);
-            Connection<Player> connection = Connection.from(playerPage);
-            
-            log.info("Successfully retrieved {} players (page {}/{})", 
-                    playerPage.getContent().size(), 
-                    playerPage.getNumber() + 1, 
-                    playerPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("id").ascending();
+            return page(playerRepository, Player.class, null, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching paginated players", e);
             throw new RuntimeException("Unable to fetch players at this time");
@@ -459,30 +508,22 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Connection<Match> matchesPaginated(@Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Match> matchesPaginated(@Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching matches with pagination: {}, sort: {}", pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             if (pagination == null) pagination = new PaginationInput();
             pagination.validate();
             
             if (sort != null) sort.validate("match");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("matchDate").descending()
-            );
-            
-            Page<Match> matchPage = matchRepository.findAll(pageable);
-            Connection<Match> connection = Connection.from(matchPage);
-            
-            log.info("Successfully retrieved {} matches (page {}/{})", 
-                    matchPage.getContent().size(), 
-                    matchPage.getNumber() + 1, 
-                    matchPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("matchDate").descending();
+            return page(matchRepository, Match.class, null, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching paginated matches", e);
             throw new RuntimeException("Unable to fetch matches at this time");
@@ -490,30 +531,22 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Connection<Stats> statsPaginated(@Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Stats> statsPaginated(@Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching stats with pagination: {}, sort: {}", pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             if (pagination == null) pagination = new PaginationInput();
             pagination.validate();
             
             if (sort != null) sort.validate("stats");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("points").descending()
-            );
-            
-            Page<Stats> statsPage = statsRepository.findAll(pageable);
-            Connection<Stats> connection = Connection.from(statsPage);
-            
-            log.info("Successfully retrieved {} stats records (page {}/{})", 
-                    statsPage.getContent().size(), 
-                    statsPage.getNumber() + 1, 
-                    statsPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("points").descending();
+            return page(statsRepository, Stats.class, null, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching paginated stats", e);
             throw new RuntimeException("Unable to fetch stats at this time");
@@ -523,7 +556,10 @@ public class QueryResolver {
     // ========== PAGINATED SEARCH & FILTERING ==========
 
     @QueryMapping
-    public Connection<Player> searchPlayersPaginated(@Argument String name, @Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Player> searchPlayersPaginated(@Argument String name, @Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Searching players with pagination. Name: '{}', pagination: {}, sort: {}", name, pagination, sort);
         
         // Validate search term
@@ -539,29 +575,23 @@ public class QueryResolver {
             throw new IllegalArgumentException("Search term cannot be longer than 50 characters");
         }
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             if (pagination == null) pagination = new PaginationInput();
             pagination.validate();
             
             if (sort != null) sort.validate("player");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("lastName", "firstName").ascending()
-            );
-            
-            Page<Player> playerPage = playerRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                    searchTerm, searchTerm, pageable);
-            Connection<Player> connection = Connection.from(playerPage);
-            
-            log.info("Search for '{}' returned {} players (page {}/{})", 
-                    searchTerm, 
-                    playerPage.getContent().size(), 
-                    playerPage.getNumber() + 1, 
-                    playerPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("lastName", "firstName").ascending();
+            if (!cursor.isPresent() && sort == null && playerSearchService.isReady()) {
+                // Without an explicit sort, pages follow the relevance ranking of the index
+                Pageable pageable = PageRequest.of(pagination.getValidatedPage(), pagination.getValidatedSize());
+                FetchPlan plan = fetchPlanner.connectionPlan(Player.class, selectionSet);
+                return cursorPaginator.connection(playerSearchService.searchPage(searchTerm, pageable, plan));
+            }
+            return page(playerRepository, Player.class, playerSearchService.matching(searchTerm), order,
+                    pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error searching players with pagination. Search term: '{}'", searchTerm, e);
             throw new RuntimeException("Unable to search players at this time");
@@ -569,7 +599,10 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Connection<Player> playersByTeamPaginated(@Argument Long teamId, @Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Player> playersByTeamPaginated(@Argument Long teamId, @Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching players by team with pagination. TeamId: {}, pagination: {}, sort: {}", teamId, pagination, sort);
         
         // Validate team ID
@@ -577,6 +610,8 @@ public class QueryResolver {
             throw new IllegalArgumentException("Team ID must be a positive number");
         }
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Verify team exists
             if (!teamRepository.existsById(teamId)) {
@@ -588,22 +623,8 @@ public class QueryResolver {
             
             if (sort != null) sort.validate("player");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("jerseyNumber").ascending()
-            );
-            
-            Page<Player> playerPage = playerRepository.findByTeamId(teamId, pageable);
-            Connection<Player> connection = Connection.from(playerPage);
-            
-            log.info("Successfully retrieved {} players for team {} (page {}/{})", 
-                    playerPage.getContent().size(), 
-                    teamId,
-                    playerPage.getNumber() + 1, 
-                    playerPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("jerseyNumber").ascending();
+            return page(playerRepository, Player.class, PlayerSpecifications.byTeam(teamId), order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching players by team with pagination. TeamId: {}", teamId, e);
             throw new RuntimeException("Unable to fetch players at this time");
@@ -611,7 +632,10 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public Connection<Match> matchesByTeamPaginated(@Argument Long teamId, @Argument PaginationInput pagination, @Argument SortInput sort) {
+    public Connection<Match> matchesByTeamPaginated(@Argument Long teamId, @Argument PaginationInput pagination, @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching matches by team with pagination. TeamId: {}, pagination: {}, sort: {}", teamId, pagination, sort);
         
         // Validate team ID
@@ -619,6 +643,8 @@ public class QueryResolver {
             throw new IllegalArgumentException("Team ID must be a positive number");
         }
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Verify team exists
             if (!teamRepository.existsById(teamId)) {
@@ -630,22 +656,8 @@ public class QueryResolver {
             
             if (sort != null) sort.validate("match");
             
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("matchDate").descending()
-            );
-            
-            Page<Match> matchPage = matchRepository.findByTeamId(teamId, pageable);
-            Connection<Match> connection = Connection.from(matchPage);
-            
-            log.info("Successfully retrieved {} matches for team {} (page {}/{})", 
-                    matchPage.getContent().size(), 
-                    teamId,
-                    matchPage.getNumber() + 1, 
-                    matchPage.getTotalPages());
-            
-            return connection;
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("matchDate").descending();
+            return page(matchRepository, Match.class, MatchSpecifications.byTeam(teamId), order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching matches by team with pagination. TeamId: {}", teamId, e);
             throw new RuntimeException("Unable to fetch matches at this time");
@@ -658,10 +670,15 @@ public class QueryResolver {
     public Connection<Player> playersFiltered(
             @Argument PlayerFilter filter, 
             @Argument PaginationInput pagination, 
-            @Argument SortInput sort) {
+            @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         
         log.info("Fetching players with filter: {}, pagination: {}, sort: {}", filter, pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Set defaults and validate
             if (pagination == null) pagination = new PaginationInput();
@@ -670,55 +687,12 @@ public class QueryResolver {
             if (sort != null) sort.validate("player");
             if (filter != null) filter.validate();
             
-            // Create pageable
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("id").ascending()
-            );
-            
-            Page<Player> playerPage;
-            
-            if (filter == null || !filter.hasFilters()) {
-                // No filters - use simple findAll
-                log.debug("No filters applied, fetching all players");
-                playerPage = playerRepository.findAll(pageable);
-            } else if (filter.getMinPoints() != null || filter.getMaxPoints() != null) {
-                // Advanced filtering with stats aggregation
-                log.debug("Using advanced filtering with stats: minPoints={}, maxPoints={}", 
-                         filter.getMinPoints(), filter.getMaxPoints());
-                playerPage = playerRepository.findWithAdvancedFilters(
-                    filter.getTeamId(),
-                    filter.getPosition(),
-                    filter.getMinJerseyNumber(),
-                    filter.getMaxJerseyNumber(),
-                    filter.getMinPoints(),
-                    filter.getMaxPoints(),
-                    pageable
-                );
-            } else {
-                // Basic filtering without stats
-                log.debug("Using basic filtering: teamId={}, position={}, jerseyRange={}-{}", 
-                         filter.getTeamId(), filter.getPosition(), 
-                         filter.getMinJerseyNumber(), filter.getMaxJerseyNumber());
-                playerPage = playerRepository.findWithBasicFilters(
-                    filter.getTeamId(),
-                    filter.getPosition(),
-                    filter.getMinJerseyNumber(),
-                    filter.getMaxJerseyNumber(),
-                    pageable
-                );
-            }
-            
-            Connection<Player> connection = Connection.from(playerPage);
-            
-            log.info("Filter returned {} players (page {}/{})", 
-                    playerPage.getContent().size(), 
-                    playerPage.getNumber() + 1, 
-                    playerPage.getTotalPages());
-            
-            return connection;
-            
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("id").ascending();
+            // Only the filters that are present become predicates
+            Specification<Player> specification = filter != null && filter.hasFilters()
+                    ? PlayerSpecifications.fromFilter(filter)
+                    : null;
+            return page(playerRepository, Player.class, specification, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching filtered players", e);
             throw new RuntimeException("Unable to fetch players with the specified filters");
@@ -729,10 +703,15 @@ public class QueryResolver {
     public Connection<Match> matchesFiltered(
             @Argument MatchFilter filter, 
             @Argument PaginationInput pagination, 
-            @Argument SortInput sort) {
+            @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         
         log.info("Fetching matches with filter: {}, pagination: {}, sort: {}", filter, pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Set defaults and validate
             if (pagination == null) pagination = new PaginationInput();
@@ -741,44 +720,12 @@ public class QueryResolver {
             if (sort != null) sort.validate("match");
             if (filter != null) filter.validate();
             
-            // Create pageable
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("matchDate").descending()
-            );
-            
-            Page<Match> matchPage;
-            
-            if (filter == null || !filter.hasFilters()) {
-                // No filters - use simple findAll
-                log.debug("No filters applied, fetching all matches");
-                matchPage = matchRepository.findAll(pageable);
-            } else {
-                // Apply filters
-                log.debug("Using match filtering: teamId={}, status={}, dateRange={} to {}, venue={}, hasScore={}", 
-                         filter.getTeamId(), filter.getStatus(), filter.getDateFrom(), 
-                         filter.getDateTo(), filter.getVenue(), filter.getHasScore());
-                matchPage = matchRepository.findWithFilters(
-                    filter.getTeamId(),
-                    filter.getStatus(),
-                    filter.getDateFrom(),
-                    filter.getDateTo(),
-                    filter.getVenue(),
-                    filter.getHasScore(),
-                    pageable
-                );
-            }
-            
-            Connection<Match> connection = Connection.from(matchPage);
-            
-            log.info("Filter returned {} matches (page {}/{})", 
-                    matchPage.getContent().size(), 
-                    matchPage.getNumber() + 1, 
-                    matchPage.getTotalPages());
-            
-            return connection;
-            
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("matchDate").descending();
+            // Only the filters that are present become predicates
+            Specification<Match> specification = filter != null && filter.hasFilters()
+                    ? MatchSpecifications.fromFilter(filter)
+                    : null;
+            return page(matchRepository, Match.class, specification, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching filtered matches", e);
             throw new RuntimeException("Unable to fetch matches with the specified filters");
@@ -789,10 +736,15 @@ public class QueryResolver {
     public Connection<Team> teamsFiltered(
             @Argument TeamFilter filter, 
             @Argument PaginationInput pagination, 
-            @Argument SortInput sort) {
+            @Argument SortInput sort,
+            @Argument Integer first, @Argument String after,
+            @Argument Integer last, @Argument String before,
+            DataFetchingFieldSelectionSet selectionSet) {
         
         log.info("Fetching teams with filter: {}, pagination: {}, sort: {}", filter, pagination, sort);
         
+        CursorInput cursor = cursorInput(pagination, first, after, last, before);
+
         try {
             // Set defaults and validate
             if (pagination == null) pagination = new PaginationInput();
@@ -801,43 +753,12 @@ public class QueryResolver {
             if (sort != null) sort.validate("team");
             if (filter != null) filter.validate();
             
-            // Create pageable
-            Pageable pageable = PageRequest.of(
-                pagination.getValidatedPage(),
-                pagination.getValidatedSize(),
-                sort != null ? sort.toSpringSort() : org.springframework.data.domain.Sort.by("name").ascending()
-            );
-            
-            Page<Team> teamPage;
-            
-            if (filter == null || !filter.hasFilters()) {
-                // No filters - use simple findAll
-                log.debug("No filters applied, fetching all teams");
-                teamPage = teamRepository.findAll(pageable);
-            } else {
-                // Apply filters  
-                log.debug("Using team filtering: city={}, foundedYearRange={}-{}, nameContains={}, coachName={}", 
-                         filter.getCity(), filter.getMinFoundedYear(), 
-                         filter.getMaxFoundedYear(), filter.getNameContains(), filter.getCoachName());
-                teamPage = teamRepository.findWithFilters(
-                    filter.getCity(),
-                    filter.getMinFoundedYear(),
-                    filter.getMaxFoundedYear(),
-                    filter.getNameContains(),
-                    filter.getCoachName(),
-                    pageable
-                );
-            }
-            
-            Connection<Team> connection = Connection.from(teamPage);
-            
-            log.info("Filter returned {} teams (page {}/{})", 
-                    teamPage.getContent().size(), 
-                    teamPage.getNumber() + 1, 
-                    teamPage.getTotalPages());
-            
-            return connection;
-            
+            Sort order = sort != null ? sort.toSpringSort() : Sort.by("name").ascending();
+            // Only the filters that are present become predicates
+            Specification<Team> specification = filter != null && filter.hasFilters()
+                    ? TeamSpecifications.fromFilter(filter)
+                    : null;
+            return page(teamRepository, Team.class, specification, order, pagination, cursor, selectionSet);
         } catch (Exception e) {
             log.error("Error fetching filtered teams", e);
             throw new RuntimeException("Unable to fetch teams with the specified filters");
@@ -846,107 +767,82 @@ public class QueryResolver {
 
     // Leaderboard Queries
     @QueryMapping
-    public Leaderboard pointsLeaderboard(@Argument Integer limit) {
-        log.info("Fetching points leaderboard with limit: {}", limit);
+    public Leaderboard leaderboard(
+            @Argument StatCategory category,
+            @Argument LeaderboardAggregation aggregation,
+            @Argument Integer limit,
+            @Argument LeaderboardFilter filter) {
+        log.info("Fetching {} {} leaderboard with limit: {}, filter: {}", aggregation, category, limit, filter);
+
+        if (category == null) {
+            log.warn("Leaderboard category cannot be null");
+            throw new IllegalArgumentException("Leaderboard category is required");
+        }
+
         try {
-            List<Object[]> results = statsRepository.findTotalPointsLeaderboard();
-            List<LeaderboardEntry> entries = new ArrayList<>();
-            
-            int maxEntries = limit != null ? Math.min(limit, results.size()) : results.size();
-            int rank = 1;
-            
-            for (int i = 0; i < maxEntries; i++) {
-                Object[] row = results.get(i);
-                Long playerId = (Long) row[0];
-                String firstName = (String) row[1];
-                String lastName = (String) row[2];
-                Double totalPoints = ((Number) row[3]).doubleValue();
-                
-                // Fetch the full player object
-                Player player = playerRepository.findById(playerId).orElse(null);
-                if (player != null) {
-                    entries.add(new LeaderboardEntry(player, totalPoints, rank++));
-                }
-            }
-            
-            return new Leaderboard("Points", entries, OffsetDateTime.now(ZoneOffset.UTC));
-            
+            return leaderboardService.topK(category, aggregation, limit, filter);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid {} leaderboard request: {}", category, e.getMessage());
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching points leaderboard", e);
-            throw new RuntimeException("Unable to fetch points leaderboard");
+            log.error("Error fetching {} leaderboard", category, e);
+            throw new RuntimeException("Unable to fetch " + category.getLabel().toLowerCase() + " leaderboard");
         }
     }
 
+    // Legacy leaderboards: every player without a limit, and a limit past the end is clamped
+    @QueryMapping
+    public Leaderboard pointsLeaderboard(@Argument Integer limit) {
+        return totals(StatCategory.POINTS, limit);
+    }
+
     @QueryMapping
     public Leaderboard assistsLeaderboard(@Argument Integer limit) {
-        log.info("Fetching assists leaderboard with limit: {}", limit);
+        return totals(StatCategory.ASSISTS, limit);
+    }
+
+    @QueryMapping
+    public Leaderboard reboundsLeaderboard(@Argument Integer limit) {
+        return totals(StatCategory.REBOUNDS, limit);
+    }
+
+    private Leaderboard totals(StatCategory category, Integer limit) {
+        log.info("Fetching {} leaderboard with limit: {}", category.getLabel().toLowerCase(), limit);
         try {
-            List<Object[]> results = statsRepository.findTotalAssistsLeaderboard();
-            List<LeaderboardEntry> entries = new ArrayList<>();
-            
-            int maxEntries = limit != null ? Math.min(limit, results.size()) : results.size();
-            int rank = 1;
-            
-            for (int i = 0; i < maxEntries; i++) {
-                Object[] row = results.get(i);
-                Long playerId = (Long) row[0];
-                String firstName = (String) row[1];
-                String lastName = (String) row[2];
-                Double totalAssists = ((Number) row[3]).doubleValue();
-                
-                // Fetch the full player object
-                Player player = playerRepository.findById(playerId).orElse(null);
-                if (player != null) {
-                    entries.add(new LeaderboardEntry(player, totalAssists, rank++));
-                }
-            }
-            
-            return new Leaderboard("Assists", entries, OffsetDateTime.now(ZoneOffset.UTC));
-            
+            return leaderboardService.totals(category, limit);
         } catch (Exception e) {
-            log.error("Error fetching assists leaderboard", e);
-            throw new RuntimeException("Unable to fetch assists leaderboard");
+            log.error("Error fetching {} leaderboard", category, e);
+            throw new RuntimeException("Unable to fetch " + category.getLabel().toLowerCase() + " leaderboard");
         }
     }
 
+    // Standings Queries
     @QueryMapping
-    public Leaderboard reboundsLeaderboard(@Argument Integer limit) {
-        log.info("Fetching rebounds leaderboard with limit: {}", limit);
+    public List<TeamStanding> standings(@Argument StandingsSort sort, @Argument Integer limit) {
+        log.info("Fetching standings with sort: {}, limit: {}", sort, limit);
+
+        if (limit != null && (limit <= 0 || limit > TeamStandingsService.MAX_LIMIT)) {
+            log.warn("Invalid standings limit: {}", limit);
+            throw new IllegalArgumentException("Standings limit must be between 1 and " + TeamStandingsService.MAX_LIMIT);
+        }
+
         try {
-            List<Object[]> results = statsRepository.findTotalReboundsLeaderboard();
-            List<LeaderboardEntry> entries = new ArrayList<>();
-            
-            int maxEntries = limit != null ? Math.min(limit, results.size()) : results.size();
-            int rank = 1;
-            
-            for (int i = 0; i < maxEntries; i++) {
-                Object[] row = results.get(i);
-                Long playerId = (Long) row[0];
-                String firstName = (String) row[1];
-                String lastName = (String) row[2];
-                Double totalRebounds = ((Number) row[3]).doubleValue();
-                
-                // Fetch the full player object
-                Player player = playerRepository.findById(playerId).orElse(null);
-                if (player != null) {
-                    entries.add(new LeaderboardEntry(player, totalRebounds, rank++));
-                }
-            }
-            
-            return new Leaderboard("Rebounds", entries, OffsetDateTime.now(ZoneOffset.UTC));
-            
+            List<TeamStanding> standings = teamStandingsService.standings(sort, limit);
+            log.info("Successfully retrieved {} standings", standings.size());
+            return standings;
         } catch (Exception e) {
-            log.error("Error fetching rebounds leaderboard", e);
-            throw new RuntimeException("Unable to fetch rebounds leaderboard");
+            log.error("Error fetching standings", e);
+            throw new RuntimeException("Unable to fetch standings");
         }
     }
 
     @QueryMapping
-    public List<Match> upcomingMatches() {
+    public List<Match> upcomingMatches(DataFetchingFieldSelectionSet selectionSet) {
         log.info("Fetching upcoming matches");
         try {
             OffsetDateTime currentDate = OffsetDateTime.now(ZoneOffset.UTC);
-            List<Match> upcomingMatches = matchRepository.findUpcomingMatches(currentDate);
+            List<Match> upcomingMatches = fetchPlanner.findAll(matchRepository, MatchSpecifications.startsAfter(currentDate),
+                    Sort.by("matchDate").ascending(), fetchPlanner.plan(Match.class, selectionSet));
             log.info("Successfully retrieved {} upcoming matches", upcomingMatches.size());
             return upcomingMatches;
         } catch (Exception e) {
@@ -954,4 +850,65 @@ public class QueryResolver {
             throw new RuntimeException("Unable to fetch upcoming matches");
         }
     }
+
+    @QueryMapping
+    public CacheStatistics cacheStatistics() {
+        try {
+            return cacheStatisticsService.statistics();
+        } catch (Exception e) {
+            log.error("Error reading cache statistics", e);
+            throw new RuntimeException("Unable to read cache statistics");
+        }
+    }
+
+    @QueryMapping
+    public DocumentCacheStatistics documentCacheStatistics() {
+        try {
+            return documentProvider.statistics();
+        } catch (Exception e) {
+            log.error("Error reading document cache statistics", e);
+            throw new RuntimeException("Unable to read document cache statistics");
+        }
+    }
+
+    /**
+     * One page of a connection. With a cursor, seeks from it (keyset
+     * pagination: no offset and no count); otherwise reads the offset page
+     * of {@code pagination}, counting only when the totals are selected.
+     */
+    private <T> Connection<T> page(JpaSpecificationExecutor<T> repository, Class<T> type, Specification<T> specification,
+                                   Sort order, PaginationInput pagination, CursorInput cursor,
+                                   DataFetchingFieldSelectionSet selectionSet) {
+        FetchPlan plan = fetchPlanner.connectionPlan(type, selectionSet);
+        Connection<T> connection;
+        if (cursor.isPresent()) {
+            connection = cursorPaginator.scroll(repository, type,
+                    specification != null ? specification : Specification.unrestricted(), order, cursor, plan);
+            log.info("Successfully retrieved {} {} rows from cursor", connection.getContent().size(), type.getSimpleName());
+        } else {
+            Pageable pageable = PageRequest.of(pagination.getValidatedPage(), pagination.getValidatedSize(), order);
+            connection = cursorPaginator.page(repository, type, specification, pageable, totalsSelected(selectionSet), plan);
+            log.info("Successfully retrieved {} {} rows (page {})", connection.getContent().size(), type.getSimpleName(),
+                    connection.getPageInfo().getCurrentPage() + 1);
+        }
+        return connection;
+    }
+
+    // Totals need a count query, so they are only computed when asked for
+    private static boolean totalsSelected(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet == null
+                || selectionSet.containsAnyOf("pageInfo/totalElements", "pageInfo/totalPages");
+    }
+
+    private static CursorInput cursorInput(PaginationInput pagination, Integer first, String after,
+                                           Integer last, String before) {
+        CursorInput cursor = CursorInput.of(first, after, last, before);
+        if (cursor.isPresent()) {
+            if (pagination != null) {
+                throw new IllegalArgumentException("Use either pagination or first/after/last/before, not both");
+            }
+            cursor.validate();
+        }
+        return cursor;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,27 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
 import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 public class StatsFieldResolver {
 
+    @SchemaMapping(typeName = "Stats", field = "player")
+    public CompletableFuture<Player> player(Stats stats, DataLoader<Long, Player> playerLoader) {
+        return Associations.fetchedOrLoad(stats.getPlayer(), Player::getId, playerLoader);
+    }
+
+    @SchemaMapping(typeName = "Stats", field = "match")
+    public CompletableFuture<Match> match(Stats stats, DataLoader<Long, Match> matchLoader) {
+        return Associations.fetchedOrLoad(stats.getMatch(), Match::getId, matchLoader);
+    }
+
     @SchemaMapping(typeName = "Stats", field = "fieldGoalPercentage")
     public double fieldGoalPercentage(Stats stats) {
         return stats.getFieldGoalPercentage();
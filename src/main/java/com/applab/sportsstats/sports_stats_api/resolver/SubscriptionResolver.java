@@ -1,6 +1,9 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
+import com.applab.sportsstats.sports_stats_api.dto.Leaderboard;
 import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardEventPublisher;
 import com.applab.sportsstats.sports_stats_api.service.MatchEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +22,7 @@ import reactor.core.publisher.Flux;
 public class SubscriptionResolver {
 
     private final MatchEventPublisher matchEventPublisher;
+    private final LeaderboardEventPublisher leaderboardEventPublisher;
 
     /**
      * Subscription for live match score updates for a specific match.
@@ -147,4 +151,43 @@ public class SubscriptionResolver {
                 "Match ID must be a valid number: " + matchId));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Subscription for changes to the top of a category's leaderboard.
+     * Emits the new top-N (career totals) only when its membership, order or
+     * values actually change.
+     *
+     * Example GraphQL subscription:
+     * subscription {
+     *   leaderboardUpdated(category: "POINTS") {
+     *     category
+     *     entries { rank value player { fullName } }
+     *     lastUpdated
+     *   }
+     * }
+     *
+     * @param category The stat category name or label, e.g. "POINTS" or "Points"
+     * @return Flux stream of leaderboard snapshots for the category
+     */
+    @SubscriptionMapping
+    public Flux<Leaderboard> leaderboardUpdated(@Argument String category) {
+        log.info("Starting leaderboardUpdated subscription for category: {}", category);
+
+        StatCategory statCategory;
+        try {
+            statCategory = StatCategory.fromName(category);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid leaderboard category for subscription: {}", category);
+            return Flux.error(e);
+        }
+
+        return leaderboardEventPublisher.getLeaderboardUpdatesFlux(statCategory)
+                .doOnNext(leaderboard -> log.debug(
+                    "Sending leaderboard update to subscriber - Category: {}, Entries: {}",
+                    statCategory, leaderboard.getEntries().size()))
+                .doOnComplete(() -> log.info(
+                    "Leaderboard subscription completed for category: {}", statCategory))
+                .doOnError(error -> log.error(
+                    "Error in leaderboard subscription for category: {}", statCategory, error));
+    }
+}
@@ -1,58 +1,33 @@
 package com.applab.sportsstats.sports_stats_api.resolver;
 
-import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.dto.TeamRecord;
 import com.applab.sportsstats.sports_stats_api.entity.Team;
-import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
-import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
-@RequiredArgsConstructor
 public class TeamFieldResolver {
 
-    private final MatchRepository matchRepository;
-
     @SchemaMapping(typeName = "Team", field = "totalWins")
-    public int totalWins(Team team) {
-        List<Match> matches = matchRepository.findByTeamId(team.getId());
-        int wins = 0;
-        for (Match m : matches) {
-            if (m.getStatus() == Match.MatchStatus.COMPLETED && m.getHomeTeamScore() != null && m.getAwayTeamScore() != null) {
-                if (m.getHomeTeamScore() > m.getAwayTeamScore() && m.getHomeTeam().getId().equals(team.getId())) {
-                    wins++;
-                } else if (m.getAwayTeamScore() > m.getHomeTeamScore() && m.getAwayTeam().getId().equals(team.getId())) {
-                    wins++;
-                }
-            }
-        }
-        return wins;
+    public CompletableFuture<Integer> totalWins(Team team, DataLoader<Long, TeamRecord> recordLoader) {
+        return recordLoader.load(team.getId()).thenApply(record -> (int) record.wins());
     }
 
     @SchemaMapping(typeName = "Team", field = "totalLosses")
-    public int totalLosses(Team team) {
-        List<Match> matches = matchRepository.findByTeamId(team.getId());
-        int losses = 0;
-        for (Match m : matches) {
-            if (m.getStatus() == Match.MatchStatus.COMPLETED && m.getHomeTeamScore() != null && m.getAwayTeamScore() != null) {
-                if (m.getHomeTeamScore() < m.getAwayTeamScore() && m.getHomeTeam().getId().equals(team.getId())) {
-                    losses++;
-                } else if (m.getAwayTeamScore() < m.getHomeTeamScore() && m.getAwayTeam().getId().equals(team.getId())) {
-                    losses++;
-                }
-            }
-        }
-        return losses;
+    public CompletableFuture<Integer> totalLosses(Team team, DataLoader<Long, TeamRecord> recordLoader) {
+        return recordLoader.load(team.getId()).thenApply(record -> (int) record.losses());
+    }
+
+    @SchemaMapping(typeName = "Team", field = "totalTies")
+    public CompletableFuture<Integer> totalTies(Team team, DataLoader<Long, TeamRecord> recordLoader) {
+        return recordLoader.load(team.getId()).thenApply(record -> (int) record.ties());
     }
 
     @SchemaMapping(typeName = "Team", field = "winPercentage")
-    public double winPercentage(Team team) {
-        int wins = totalWins(team);
-        int losses = totalLosses(team);
-        int total = wins + losses;
-        if (total == 0) return 0.0;
-        return (double) wins / total * 100.0;
+    public CompletableFuture<Double> winPercentage(Team team, DataLoader<Long, TeamRecord> recordLoader) {
+        return recordLoader.load(team.getId()).thenApply(TeamRecord::winPercentage);
     }
 }
@@ -0,0 +1,18 @@
+package com.applab.sportsstats.sports_stats_api.resolver;
+
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.entity.TeamStanding;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+public class TeamStandingFieldResolver {
+
+    @SchemaMapping(typeName = "TeamStanding", field = "team")
+    public CompletableFuture<Team> team(TeamStanding standing, DataLoader<Long, Team> teamLoader) {
+        return teamLoader.load(standing.getTeamId());
+    }
+}
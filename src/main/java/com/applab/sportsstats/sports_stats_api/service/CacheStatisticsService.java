@@ -0,0 +1,47 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.CacheRegion;
+import com.applab.sportsstats.sports_stats_api.dto.CacheStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Reads the second-level and query cache counters that Hibernate collects
+ * ({@code hibernate.generate_statistics}).
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return new CacheStatistics(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                        .sorted()
+                        .map(name -> region(statistics, name))
+                        .toList());
+    }
+
+    // Entity and collection regions hold domain data; the rest cache query results
+    private static CacheRegion region(Statistics statistics, String name) {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+        if (region == null) region = statistics.getQueryRegionStatistics(name);
+        return region == null
+                ? new CacheRegion(name, 0, 0, 0)
+                : new CacheRegion(name, region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+}
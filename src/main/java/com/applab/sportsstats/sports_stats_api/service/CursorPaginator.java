@@ -0,0 +1,207 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.Connection;
+import com.applab.sportsstats.sports_stats_api.dto.CursorInput;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pagination for the Connection queries.
+ *
+ * Offset pages only pay for a count query when the client selects the
+ * totals, and unfiltered listings take those from the {@link RowCountCache}.
+ *
+ * A cursor is the opaque, base64 encoded list of sort key values of a row,
+ * with the id appended as a tie-breaker. Pages after or before a cursor are
+ * fetched with a seek predicate on those keys ({@code sortCol > ? OR sortCol = ? AND id > ?})
+ * and a limit of size + 1, so neither skipped rows nor a count are paid for.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CursorPaginator {
+
+    private static final String ID = "id";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final RowCountCache rowCountCache;
+    private final FetchPlanner fetchPlanner;
+
+    private record CursorPayload(String sort, Map<String, Object> keys) {}
+
+    /**
+     * Fetches one offset page. Without selected totals this is a slice of
+     * size + 1 rows, where the extra row only tells whether a next page exists.
+     *
+     * @param specification the filter, or null for an unfiltered listing
+     * @param totalsSelected whether totalElements or totalPages were requested
+     * @param plan the associations to fetch with the page
+     */
+    public <T> Connection<T> page(JpaSpecificationExecutor<T> repository, Class<T> domainClass,
+                                  Specification<T> specification, Pageable pageable, boolean totalsSelected,
+                                  FetchPlan plan) {
+        if (totalsSelected && specification != null) {
+            Page<T> page = repository.findBy(specification, query -> plan.applyTo(query).page(pageable));
+            fetchPlanner.fetchCollections(plan, page.getContent());
+            return connection(page);
+        }
+
+        Specification<T> where = specification != null ? specification : Specification.unrestricted();
+        Slice<T> slice = repository.findBy(where, query -> plan.applyTo(query).slice(pageable));
+        fetchPlanner.fetchCollections(plan, slice.getContent());
+        if (!totalsSelected) {
+            return connection(slice);
+        }
+
+        // The slice knows the exact total on the last page, the cache everywhere else
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(rowCountCache.count(domainClass), seen + 1);
+        } else if (slice.hasContent() || pageable.getOffset() == 0) {
+            total = seen;
+        } else {
+            total = Math.min(rowCountCache.count(domainClass), pageable.getOffset());
+        }
+        return connection(new PageImpl<>(slice.getContent(), pageable, total));
+    }
+
+    /**
+     * Wraps an offset page, giving every edge a cursor so that clients can
+     * switch to cursor pagination from any page.
+     */
+    public <T> Connection<T> connection(Slice<T> slice) {
+        return Connection.from(slice, cursorFunction(withIdTieBreaker(slice.getSort())));
+    }
+
+    /**
+     * Fetches one page before or after the cursor in {@code input}.
+     */
+    public <T> Connection<T> scroll(JpaSpecificationExecutor<T> repository, Class<T> domainClass,
+                                    Specification<T> specification, Sort sort, CursorInput input,
+                                    FetchPlan plan) {
+        input.validate();
+        Sort keysetSort = withIdTieBreaker(sort);
+        requireNonNullKeys(domainClass, keysetSort);
+
+        int size = input.getValidatedSize();
+        KeysetScrollPosition position = input.getCursor() != null
+                ? ScrollPosition.forward(decode(domainClass, keysetSort, input.getCursor()))
+                : ScrollPosition.keyset();
+        if (input.isBackward()) position = position.backward();
+
+        KeysetScrollPosition scrollPosition = position;
+        Window<T> window = repository.findBy(specification,
+                query -> query.sortBy(keysetSort).limit(size).scroll(scrollPosition));
+        // Scrolling does not apply fetch graphs, so the plan is loaded in batches instead
+        fetchPlanner.fetchAssociations(plan, window.getContent());
+
+        // The window reports whether more rows exist in the scroll direction
+        boolean hasNextPage = input.isBackward() ? input.getBefore() != null : window.hasNext();
+        boolean hasPreviousPage = input.isBackward() ? window.hasNext() : input.getAfter() != null;
+
+        log.debug("Keyset page of {} {} rows, sort: {}, backward: {}",
+                window.size(), domainClass.getSimpleName(), keysetSort, input.isBackward());
+        return Connection.from(window.getContent(), hasNextPage, hasPreviousPage, size, cursorFunction(keysetSort));
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor(ID) != null) return sort;
+        return sort.and(Sort.by(Sort.Direction.ASC, ID));
+    }
+
+    private <T> Function<T, String> cursorFunction(Sort sort) {
+        String sortKey = sortKey(sort);
+        return entity -> {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+            }
+            return encode(new CursorPayload(sortKey, keys));
+        };
+    }
+
+    private String encode(CursorPayload payload) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    private Map<String, Object> decode(Class<?> domainClass, Sort sort, String cursor) {
+        CursorPayload payload;
+        try {
+            payload = objectMapper.readValue(new String(DECODER.decode(cursor), StandardCharsets.UTF_8),
+                    new TypeReference<CursorPayload>() {});
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        // A cursor only makes sense for the ordering it was taken from
+        if (!sortKey(sort).equals(payload.sort()) || payload.keys() == null) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Object value = payload.keys().get(order.getProperty());
+            if (value == null) {
+                throw new IllegalArgumentException("Invalid cursor: missing value for " + order.getProperty());
+            }
+            keys.put(order.getProperty(), objectMapper.convertValue(value, attribute(domainClass, order.getProperty()).getJavaType()));
+        }
+        return keys;
+    }
+
+    // Seek predicates cannot compare against missing values
+    private void requireNonNullKeys(Class<?> domainClass, Sort sort) {
+        for (Sort.Order order : sort) {
+            Attribute<?, ?> attribute = attribute(domainClass, order.getProperty());
+            if (attribute instanceof SingularAttribute<?, ?> singular && singular.isOptional()) {
+                throw new IllegalArgumentException("Cursor pagination is not supported when sorting by optional field '"
+                        + order.getProperty() + "'; use page-based pagination instead");
+            }
+        }
+    }
+
+    private Attribute<?, ?> attribute(Class<?> domainClass, String property) {
+        return entityManager.getMetamodel().entity(domainClass).getAttribute(property);
+    }
+
+    private static String sortKey(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+}
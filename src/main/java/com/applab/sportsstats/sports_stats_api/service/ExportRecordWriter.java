@@ -0,0 +1,117 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export records one at a time, in the formats {@link ImportRecordReader}
+ * reads: CSV with a header row, or NDJSON with one JSON object per line.
+ * CSV fields holding separators, quotes or line breaks are quoted, with
+ * quotes doubled inside.
+ */
+final class ExportRecordWriter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            // The writer buffers; flushing each record must not reach the response
+            .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+            .build();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private final List<String> columns;
+
+    private ExportRecordWriter(Writer writer, JsonGenerator json, List<String> columns) {
+        this.writer = writer;
+        this.json = json;
+        this.columns = columns;
+    }
+
+    /**
+     * Starts writing to the stream, which is left open: call {@link #finish()}
+     * once the last record is written.
+     */
+    static ExportRecordWriter open(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            return new ExportRecordWriter(writer, JSON_FACTORY.createGenerator(writer), columns);
+        }
+        ExportRecordWriter csv = new ExportRecordWriter(writer, null, columns);
+        csv.writeCsv(columns.toArray());
+        return csv;
+    }
+
+    /** Writes the values of one record, in column order. */
+    void write(Object[] values) throws IOException {
+        if (json == null) {
+            writeCsv(values);
+            return;
+        }
+        json.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            json.writeFieldName(columns.get(i));
+            Object value = values[i];
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Integer number) {
+                json.writeNumber(number);
+            } else if (value instanceof Long number) {
+                json.writeNumber(number);
+            } else {
+                json.writeString(text(value));
+            }
+        }
+        json.writeEndObject();
+        json.flush();
+        writer.write('\n');
+    }
+
+    void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsv(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                String value = text(values[i]);
+                if (needsQuotes(value)) {
+                    writer.write('"');
+                    writer.write(value.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(value);
+                }
+            }
+        }
+        writer.write('\n');
+    }
+
+    // Dates and timestamps in ISO-8601, enums by name
+    private static String text(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,176 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.MatchFilter;
+import com.applab.sportsstats.sports_stats_api.dto.PlayerFilter;
+import com.applab.sportsstats.sports_stats_api.dto.StatsFilter;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.enums.ExportFormat;
+import com.applab.sportsstats.sports_stats_api.repository.specification.MatchSpecifications;
+import com.applab.sportsstats.sports_stats_api.repository.specification.PlayerSpecifications;
+import com.applab.sportsstats.sports_stats_api.repository.specification.StatsSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams players, matches and stat lines to an output stream as NDJSON or
+ * CSV, with the columns the season import reads back.
+ *
+ * Rows are selected as scalar columns rather than entities, so nothing
+ * accumulates in the persistence context, and read from a forward-only
+ * result with a fixed fetch size, in one read-only transaction. Memory use
+ * does not depend on the number of rows exported.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    // Export column to entity attribute path, in export order
+    private static final Map<String, String> PLAYER_COLUMNS = columns(
+            "id", "id",
+            "teamId", "team.id",
+            "firstName", "firstName",
+            "lastName", "lastName",
+            "jerseyNumber", "jerseyNumber",
+            "position", "position",
+            "dateOfBirth", "dateOfBirth",
+            "height", "height",
+            "weight", "weight");
+
+    private static final Map<String, String> MATCH_COLUMNS = columns(
+            "id", "id",
+            "homeTeamId", "homeTeam.id",
+            "awayTeamId", "awayTeam.id",
+            "matchDate", "matchDate",
+            "venue", "venue",
+            "status", "status",
+            "homeTeamScore", "homeTeamScore",
+            "awayTeamScore", "awayTeamScore");
+
+    private static final Map<String, String> STATS_COLUMNS = columns(
+            "id", "id",
+            "playerId", "player.id",
+            "matchId", "match.id",
+            "points", "points",
+            "assists", "assists",
+            "rebounds", "rebounds",
+            "steals", "steals",
+            "blocks", "blocks",
+            "fieldGoalsMade", "fieldGoalsMade",
+            "fieldGoalsAttempted", "fieldGoalsAttempted",
+            "threePointersMade", "threePointersMade",
+            "threePointersAttempted", "threePointersAttempted",
+            "freeThrowsMade", "freeThrowsMade",
+            "freeThrowsAttempted", "freeThrowsAttempted",
+            "minutesPlayed", "minutesPlayed");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public ExportService(EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${sports-stats.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /** @return the number of rows written */
+    public long exportPlayers(PlayerFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return export(Player.class, PlayerSpecifications.fromFilter(filter), PLAYER_COLUMNS, format, out);
+    }
+
+    /** @return the number of rows written */
+    public long exportMatches(MatchFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return export(Match.class, MatchSpecifications.fromFilter(filter), MATCH_COLUMNS, format, out);
+    }
+
+    /** @return the number of rows written */
+    public long exportStats(StatsFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return export(Stats.class, StatsSpecifications.fromFilter(filter), STATS_COLUMNS, format, out);
+    }
+
+    private <T> long export(Class<T> entityClass, Specification<T> specification, Map<String, String> columns,
+                            ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                try {
+                    return write(entityClass, specification, columns, format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Typically the client going away mid-stream
+            throw e.getCause();
+        }
+        log.info("Exported {} {} rows as {} in {} ms",
+                rows, entityClass.getSimpleName(), format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private <T> long write(Class<T> entityClass, Specification<T> specification, Map<String, String> columns,
+                           ExportFormat format, OutputStream out) throws IOException {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entityClass);
+        query.multiselect(columns.values().stream().map(path -> attribute(root, path)).toArray(Selection[]::new))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        ExportRecordWriter writer = ExportRecordWriter.open(format, out, List.copyOf(columns.keySet()));
+        long rows = 0;
+        try (Stream<Object[]> results = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (Iterator<Object[]> iterator = results.iterator(); iterator.hasNext(); rows++) {
+                writer.write(iterator.next());
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+
+    // A foreign key path such as team.id reads the column without joining the team
+    private static Path<?> attribute(Root<?> root, String path) {
+        Path<?> attribute = root;
+        for (String name : path.split("\\.")) {
+            attribute = attribute.get(name);
+        }
+        return attribute;
+    }
+
+    private static Map<String, String> columns(String... columnsAndPaths) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndPaths.length; i += 2) {
+            columns.put(columnsAndPaths[i], columnsAndPaths[i + 1]);
+        }
+        return columns;
+    }
+}
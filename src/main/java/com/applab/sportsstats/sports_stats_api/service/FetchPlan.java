@@ -0,0 +1,55 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The associations of an entity that a GraphQL selection will read, built by
+ * the {@link FetchPlanner}. To-one edges are join fetched with their owner;
+ * collections are fetched in one batch per collection after the owners are
+ * loaded. Associations that are not selected are not part of the plan.
+ *
+ * @param type the entity type the plan applies to
+ * @param toOne selected to-one associations, with the plan for their target
+ * @param collections selected collections, with the plan for their elements
+ */
+public record FetchPlan(Class<?> type, Map<String, FetchPlan> toOne, Map<String, FetchPlan> collections) {
+
+    public static FetchPlan none(Class<?> type) {
+        return new FetchPlan(type, Map.of(), Map.of());
+    }
+
+    public boolean isEmpty() {
+        return toOne.isEmpty() && collections.isEmpty();
+    }
+
+    /**
+     * Whether any collection is selected here or below a to-one edge.
+     */
+    public boolean hasCollections() {
+        return !collections.isEmpty() || toOne.values().stream().anyMatch(FetchPlan::hasCollections);
+    }
+
+    /**
+     * Dotted paths of the to-one edges to join, e.g. {@code player.team}.
+     */
+    public Set<String> joinPaths() {
+        Set<String> paths = new LinkedHashSet<>();
+        toOne.forEach((attribute, target) -> {
+            paths.add(attribute);
+            target.joinPaths().forEach(path -> paths.add(attribute + "." + path));
+        });
+        return paths;
+    }
+
+    /**
+     * Applies the to-one joins to a fluent repository query as a fetch graph.
+     */
+    public <T> FetchableFluentQuery<T> applyTo(FetchableFluentQuery<T> query) {
+        Set<String> paths = joinPaths();
+        return paths.isEmpty() ? query : query.project(paths);
+    }
+}
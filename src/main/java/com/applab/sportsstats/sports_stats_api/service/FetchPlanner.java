@@ -0,0 +1,259 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Turns the GraphQL selection of a root query into a {@link FetchPlan} and
+ * loads the root entities accordingly: selected to-one edges are join fetched
+ * in the root statement, and each selected collection is initialized for all
+ * owners with a single query, instead of one lazy load per owner.
+ *
+ * Lookups by id and collections held in the second-level cache are served
+ * from the cache rather than queried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FetchPlanner {
+
+    // Upper bound of owner ids per collection batch, to keep IN lists bounded
+    private static final int BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public FetchPlan plan(Class<?> type, DataFetchingFieldSelectionSet selectionSet) {
+        if (selectionSet == null) return FetchPlan.none(type);
+        return build(entityManager.getMetamodel().entity(type), List.of(selectionSet));
+    }
+
+    /**
+     * Plan for the nodes of a Connection, selected through content or edges.
+     */
+    public FetchPlan connectionPlan(Class<?> nodeType, DataFetchingFieldSelectionSet selectionSet) {
+        if (selectionSet == null) return FetchPlan.none(nodeType);
+        List<DataFetchingFieldSelectionSet> nodes = new ArrayList<>();
+        selectionSet.getFields("content").forEach(field -> nodes.add(field.getSelectionSet()));
+        selectionSet.getFields("edges/node").forEach(field -> nodes.add(field.getSelectionSet()));
+        return build(entityManager.getMetamodel().entity(nodeType), nodes);
+    }
+
+    public <T> List<T> findAll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                               Sort sort, FetchPlan plan) {
+        List<T> entities = repository.findBy(specification, query -> plan.applyTo(query.sortBy(sort)).all());
+        fetchCollections(plan, entities);
+        return entities;
+    }
+
+    /**
+     * The first {@code limit} entities in the given order.
+     */
+    public <T> List<T> findFirst(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                 Sort sort, int limit, FetchPlan plan) {
+        List<T> entities = repository.findBy(specification, query -> plan.applyTo(query.sortBy(sort).limit(limit)).all());
+        fetchCollections(plan, entities);
+        return entities;
+    }
+
+    public <T> Optional<T> findOne(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                   FetchPlan plan) {
+        Optional<T> entity = repository.findBy(specification, query -> plan.applyTo(query).first());
+        entity.ifPresent(found -> fetchCollections(plan, List.of(found)));
+        return entity;
+    }
+
+    /**
+     * Loads one entity by id through the second-level cache. Selected to-one
+     * edges are left to their DataLoaders, which read the cache as well.
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> findById(Class<T> type, Long id, FetchPlan plan) {
+        Optional<T> entity = Optional.ofNullable(entityManager.find(type, id));
+        entity.ifPresent(found -> fetchCollections(plan, List.of(found)));
+        return entity;
+    }
+
+    /**
+     * Entities by id, read from the second-level cache where present; only
+     * the ids it misses are queried. Ids without an entity are left out.
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> findAllById(Class<T> type, Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .with(CacheMode.NORMAL)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Initializes the selected collections of already loaded entities, one
+     * query per collection and nesting level.
+     */
+    public void fetchCollections(FetchPlan plan, Collection<?> entities) {
+        if (entities.isEmpty() || !plan.hasCollections()) return;
+
+        plan.toOne().forEach((attribute, target) -> {
+            if (target.hasCollections()) {
+                fetchCollections(target, values(entities, attribute));
+            }
+        });
+        plan.collections().forEach((attribute, elements) -> {
+            batchFetch(plan.type(), attribute, elements, entities);
+            fetchCollections(elements, values(entities, attribute));
+        });
+    }
+
+    /**
+     * Loads the whole plan for entities that were fetched without it, such as
+     * keyset scroll windows, where no fetch graph can be applied. Every
+     * selected association is then fetched for all owners in one query.
+     */
+    public void fetchAssociations(FetchPlan plan, Collection<?> entities) {
+        if (entities.isEmpty() || plan.isEmpty()) return;
+
+        plan.toOne().forEach((attribute, target) -> {
+            batchFetch(plan.type(), attribute, target, entities);
+            fetchCollections(target, values(entities, attribute));
+        });
+        plan.collections().forEach((attribute, elements) -> {
+            batchFetch(plan.type(), attribute, elements, entities);
+            fetchCollections(elements, values(entities, attribute));
+        });
+    }
+
+    private FetchPlan build(ManagedType<?> type, List<DataFetchingFieldSelectionSet> selections) {
+        Map<String, List<DataFetchingFieldSelectionSet>> selectedFields = new LinkedHashMap<>();
+        for (DataFetchingFieldSelectionSet selection : selections) {
+            for (SelectedField field : selection.getImmediateFields()) {
+                selectedFields.computeIfAbsent(field.getName(), name -> new ArrayList<>()).add(field.getSelectionSet());
+            }
+        }
+
+        Map<String, FetchPlan> toOne = new LinkedHashMap<>();
+        Map<String, FetchPlan> collections = new LinkedHashMap<>();
+        selectedFields.forEach((name, nested) -> {
+            // Computed fields have no attribute and are left to their resolvers
+            Attribute<?, ?> attribute = attribute(type, name);
+            if (attribute instanceof SingularAttribute<?, ?> singular && singular.isAssociation()) {
+                toOne.put(name, build(entityType(singular.getJavaType()), nested));
+            } else if (attribute instanceof PluralAttribute<?, ?, ?> plural) {
+                collections.put(name, build(entityType(plural.getElementType().getJavaType()), nested));
+            }
+        });
+        return new FetchPlan(type.getJavaType(), toOne, collections);
+    }
+
+    private void batchFetch(Class<?> ownerType, String attribute, FetchPlan target, Collection<?> owners) {
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        String role = ownerType.getName() + "." + attribute;
+        Cache cache = collectionCache(role);
+
+        Set<Object> uncached = new LinkedHashSet<>();
+        for (Object owner : owners) {
+            if (util.isLoaded(owner, attribute)) continue;
+            Object id = util.getIdentifier(owner);
+            if (cache != null && cache.containsCollection(role, id)) {
+                // Initialized from the collection cache, without a query
+                Hibernate.initialize(PropertyAccessorFactory.forBeanPropertyAccess(owner).getPropertyValue(attribute));
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (uncached.isEmpty()) return;
+        List<Object> ids = new ArrayList<>(uncached);
+
+        String entityName = entityManager.getMetamodel().entity(ownerType).getName();
+        StringBuilder jpql = new StringBuilder("SELECT o FROM ").append(entityName)
+                .append(" o LEFT JOIN FETCH o.").append(attribute).append(" e");
+        appendJoinFetches(jpql, "e", target);
+        jpql.append(" WHERE o.id IN :ids");
+
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            entityManager.createQuery(jpql.toString(), ownerType)
+                    .setParameter("ids", ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())))
+                    .getResultList();
+        }
+        log.debug("Batch fetched {}.{} for {} owners", entityName, attribute, ids.size());
+    }
+
+    // The second-level cache, if the association is a collection cached there
+    private Cache collectionCache(String role) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        CollectionPersister collection = sessionFactory.getMappingMetamodel().findCollectionDescriptor(role);
+        return collection != null && collection.hasCache() ? sessionFactory.getCache() : null;
+    }
+
+    // Attribute names come from the metamodel, never from client input
+    private static void appendJoinFetches(StringBuilder jpql, String alias, FetchPlan plan) {
+        int index = 0;
+        for (Map.Entry<String, FetchPlan> edge : plan.toOne().entrySet()) {
+            String joined = alias + "_" + index++;
+            jpql.append(" LEFT JOIN FETCH ").append(alias).append('.').append(edge.getKey()).append(' ').append(joined);
+            appendJoinFetches(jpql, joined, edge.getValue());
+        }
+    }
+
+    private static List<Object> values(Collection<?> entities, String attribute) {
+        // Identity, not equals: the entities' equals/hashCode walk their associations
+        Set<Object> values = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object entity : entities) {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            Object value = wrapper.getPropertyValue(attribute);
+            if (value instanceof Collection<?> elements) {
+                values.addAll(elements);
+            } else if (value != null) {
+                values.add(value);
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    private EntityType<?> entityType(Class<?> type) {
+        return entityManager.getMetamodel().entity(type);
+    }
+
+    private static Attribute<?, ?> attribute(ManagedType<?> type, String name) {
+        return type.getAttributes().stream()
+                .filter(attribute -> attribute.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one record at a time: CSV with a header row, or
+ * NDJSON with one JSON object per line. Values are returned as text, keyed
+ * by column or property name, and empty values as null. A CSV record is one
+ * line; fields may be quoted to contain commas, with doubled quotes inside.
+ */
+final class ImportRecordReader implements Closeable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** A record, or the reason its line could not be read. */
+    record ImportRecord(long line, Map<String, String> fields, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private List<String> header;
+    private long line;
+
+    private ImportRecordReader(BufferedReader reader, boolean csv) {
+        this.reader = reader;
+        this.csv = csv;
+    }
+
+    static boolean isSupported(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".csv") || name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    static ImportRecordReader open(Path file) throws IOException {
+        if (!isSupported(file)) {
+            throw new IllegalArgumentException("Unsupported import file: " + file.getFileName());
+        }
+        return new ImportRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                file.getFileName().toString().endsWith(".csv"));
+    }
+
+    /**
+     * @return the next record, or null at the end of the file
+     */
+    ImportRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        if (!csv) {
+            return parseJson(text);
+        }
+        if (header == null) {
+            header = splitCsv(text);
+            if (header == null) {
+                throw new IOException("Unterminated quoted field in the header row");
+            }
+            return next();
+        }
+        return parseCsv(text);
+    }
+
+    private ImportRecord parseJson(String text) {
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(text);
+            if (!node.isObject()) {
+                return new ImportRecord(line, null, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.properties().forEach(property -> fields.put(property.getKey(),
+                    property.getValue().isNull() ? null : property.getValue().asText()));
+            return new ImportRecord(line, fields, null);
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRecord parseCsv(String text) {
+        List<String> values = splitCsv(text);
+        if (values == null) {
+            return new ImportRecord(line, null, "Unterminated quoted field");
+        }
+        if (values.size() != header.size()) {
+            return new ImportRecord(line, null,
+                    "Expected " + header.size() + " columns, found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i);
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return new ImportRecord(line, fields, null);
+    }
+
+    // Null when a quoted field is not closed on the same line
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
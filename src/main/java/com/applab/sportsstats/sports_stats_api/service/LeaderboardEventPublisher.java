@@ -0,0 +1,84 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.Leaderboard;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service for publishing leaderboard change events to GraphQL subscriptions.
+ * One sink per stat category, created on first subscription.
+ */
+@Slf4j
+@Service
+public class LeaderboardEventPublisher {
+
+    /**
+     * Map of category-specific sinks.
+     * Key: category, Value: Sink for that category's leaderboard
+     */
+    private final ConcurrentMap<StatCategory, Sinks.Many<Leaderboard>> categorySinks = new ConcurrentHashMap<>();
+
+    /**
+     * Publishes a new leaderboard snapshot to subscribers of its category.
+     *
+     * @param category The category whose top-N changed
+     * @param leaderboard The new leaderboard snapshot
+     */
+    public void publishLeaderboardUpdate(StatCategory category, Leaderboard leaderboard) {
+        Sinks.Many<Leaderboard> sink = categorySinks.get(category);
+        if (sink == null) {
+            return;
+        }
+
+        log.info("Publishing leaderboard update for category: {}", category);
+        try {
+            sink.tryEmitNext(leaderboard);
+        } catch (Exception e) {
+            log.error("Failed to publish leaderboard update for category: {}", category, e);
+        }
+    }
+
+    /**
+     * Creates or gets a Flux stream of leaderboard updates for a category.
+     *
+     * @param category The category to subscribe to
+     * @return Flux stream of leaderboard snapshots
+     */
+    public Flux<Leaderboard> getLeaderboardUpdatesFlux(StatCategory category) {
+        log.info("Creating subscription flux for {} leaderboard", category);
+
+        Sinks.Many<Leaderboard> sink = categorySinks.computeIfAbsent(category, key -> Sinks.many()
+                .multicast()
+                .onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false));
+
+        return sink.asFlux()
+                .doOnSubscribe(subscription ->
+                    log.info("New subscription created for {} leaderboard", category))
+                .doOnCancel(() -> {
+                    log.info("Subscription cancelled for {} leaderboard", category);
+                    if (sink.currentSubscriberCount() == 0) {
+                        categorySinks.remove(category);
+                    }
+                })
+                .doOnError(error ->
+                    log.error("Error in leaderboard subscription for category: {}", category, error));
+    }
+
+    /**
+     * Whether anyone is currently subscribed to a category.
+     *
+     * @param category The category to check
+     * @return true if at least one subscriber is listening
+     */
+    public boolean hasSubscribers(StatCategory category) {
+        Sinks.Many<Leaderboard> sink = categorySinks.get(category);
+        return sink != null && sink.currentSubscriberCount() > 0;
+    }
+}
@@ -0,0 +1,223 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.Leaderboard;
+import com.applab.sportsstats.sports_stats_api.dto.LeaderboardEntry;
+import com.applab.sportsstats.sports_stats_api.dto.LeaderboardFilter;
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.enums.LeaderboardAggregation;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Top-K leaderboard engine.
+ * Unfiltered leaderboards are served from the in-memory {@link LeaderboardStore};
+ * filtered ones push the aggregate, ordering and LIMIT into a single grouped
+ * query. Either way the players of the entries are fetched in one batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private final EntityManager entityManager;
+    private final PlayerRepository playerRepository;
+    private final LeaderboardStore leaderboardStore;
+    private final LeaderboardEventPublisher leaderboardEventPublisher;
+
+    @Transactional(readOnly = true)
+    public Leaderboard topK(StatCategory category, LeaderboardAggregation aggregation,
+                            Integer limit, LeaderboardFilter filter) {
+        int k = validatedLimit(limit);
+        if (aggregation == null) aggregation = LeaderboardAggregation.SUM;
+        if (filter != null) filter.validate();
+        return top(category, aggregation, k, filter);
+    }
+
+    /**
+     * Career totals of every player with stats, or of the first {@code limit}
+     * of them. Backs the legacy per-category leaderboards, which clamp the
+     * limit to the number of players rather than rejecting it.
+     */
+    @Transactional(readOnly = true)
+    public Leaderboard totals(StatCategory category, Integer limit) {
+        int k = limit == null ? Integer.MAX_VALUE : Math.max(limit, 0);
+        return top(category, LeaderboardAggregation.SUM, k, null);
+    }
+
+    private Leaderboard top(StatCategory category, LeaderboardAggregation aggregation,
+                            int k, LeaderboardFilter filter) {
+        if ((filter == null || !filter.hasFilters()) && leaderboardStore.isReady()) {
+            List<LeaderboardStore.RankedPlayer> ranked = leaderboardStore.top(category, aggregation, k);
+            log.debug("Top-{} {} {} leaderboard served from memory", k, aggregation, category);
+            return toLeaderboard(category, ranked);
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(buildQuery(category, aggregation, filter), Object[].class);
+        if (filter != null && filter.getTeamId() != null) query.setParameter("teamId", filter.getTeamId());
+        if (filter != null && filter.getPosition() != null) query.setParameter("position", filter.getPosition());
+        if (filter != null && filter.getMinGames() != null) query.setParameter("minGames", (long) filter.getMinGames());
+
+        List<LeaderboardStore.RankedPlayer> ranked = query.setMaxResults(k).getResultList().stream()
+                .map(row -> new LeaderboardStore.RankedPlayer((Long) row[0], ((Number) row[1]).doubleValue()))
+                .toList();
+        log.debug("Top-{} {} {} leaderboard returned {} rows", k, aggregation, category, ranked.size());
+
+        return toLeaderboard(category, ranked);
+    }
+
+    // ========== STORE MAINTENANCE ==========
+
+    /**
+     * Records a stat line change. The in-memory store is updated once the
+     * surrounding transaction commits, and subscribers are notified of every
+     * category whose top-N changed.
+     */
+    public void statsChanged(Long playerId, StatLine before, StatLine after) {
+        afterCommit(generation -> leaderboardStore.apply(generation, playerId, before, after));
+    }
+
+    /**
+     * Records new stat lines of several players at once, with a single
+     * notification per changed category for all of them.
+     */
+    public void statsRecorded(Map<Long, StatLine> lines) {
+        afterCommit(generation -> leaderboardStore.addAll(generation, lines));
+    }
+
+    public void playerRemoved(Long playerId) {
+        afterCommit(generation -> leaderboardStore.removePlayer(generation, playerId));
+    }
+
+    /**
+     * Applies a change to the store once the surrounding transaction commits.
+     * The commit holds off rebuilds, and the change is tagged with the
+     * generation of the board it committed against, so a rebuild whose
+     * snapshot already contains it drops it.
+     */
+    private void afterCommit(LongFunction<Set<StatCategory>> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishChanges(change.apply(leaderboardStore.generation()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                leaderboardStore.commitStarted();
+                committing = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                committing = false;
+                publishChanges(change.apply(leaderboardStore.commitFinished()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) leaderboardStore.commitAborted();
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the store from the database, for changes that cannot be applied
+     * incrementally (e.g. a team delete cascading to its players).
+     */
+    public void reload() {
+        Transactions.afterCommit(leaderboardStore::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        leaderboardStore.rebuild();
+    }
+
+    private void publishChanges(Set<StatCategory> changedCategories) {
+        for (StatCategory category : changedCategories) {
+            if (leaderboardEventPublisher.hasSubscribers(category)) {
+                List<LeaderboardStore.RankedPlayer> ranked =
+                        leaderboardStore.top(category, LeaderboardAggregation.SUM, LeaderboardStore.TOP_N);
+                leaderboardEventPublisher.publishLeaderboardUpdate(category, toLeaderboard(category, ranked));
+            }
+        }
+    }
+
+    private String buildQuery(StatCategory category, LeaderboardAggregation aggregation, LeaderboardFilter filter) {
+        // The column name comes from the StatCategory enum, never from client input
+        String column = "s." + category.getProperty();
+        String gamesPlayed = StatLine.GAMES_PLAYED_JPQL;
+
+        String value = switch (aggregation) {
+            case SUM -> "COALESCE(SUM(" + column + "), 0)";
+            case AVG -> "COALESCE(AVG(" + column + "), 0)";
+            // Lines without minutes count in neither the total nor the games
+            case PER_GAME -> StatLine.sumOverGamesPlayedJpql(category.getProperty()) + " * 1.0 / " + gamesPlayed;
+        };
+
+        StringBuilder jpql = new StringBuilder("SELECT s.player.id, ").append(value).append(" AS value FROM Stats s");
+
+        List<String> where = new ArrayList<>();
+        if (filter != null && filter.getTeamId() != null) where.add("s.player.team.id = :teamId");
+        if (filter != null && filter.getPosition() != null) where.add("s.player.position = :position");
+        if (!where.isEmpty()) jpql.append(" WHERE ").append(String.join(" AND ", where));
+
+        jpql.append(" GROUP BY s.player.id");
+
+        List<String> having = new ArrayList<>();
+        if (filter != null && filter.getMinGames() != null) having.add(gamesPlayed + " >= :minGames");
+        if (aggregation == LeaderboardAggregation.PER_GAME) having.add(gamesPlayed + " > 0");
+        if (!having.isEmpty()) jpql.append(" HAVING ").append(String.join(" AND ", having));
+
+        // Player id breaks ties so that ranks are stable between requests
+        return jpql.append(" ORDER BY value DESC, s.player.id ASC").toString();
+    }
+
+    private Leaderboard toLeaderboard(StatCategory category, List<LeaderboardStore.RankedPlayer> ranked) {
+        List<Long> playerIds = ranked.stream().map(LeaderboardStore.RankedPlayer::playerId).toList();
+        Map<Long, Player> players = new HashMap<>();
+        playerRepository.findAllById(playerIds).forEach(player -> players.put(player.getId(), player));
+
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        int rank = 1;
+        for (LeaderboardStore.RankedPlayer rankedPlayer : ranked) {
+            Player player = players.get(rankedPlayer.playerId());
+            if (player != null) {
+                entries.add(new LeaderboardEntry(player, rankedPlayer.value(), rank++));
+            }
+        }
+        return new Leaderboard(category.getLabel(), entries, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    private int validatedLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Leaderboard limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,358 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.enums.LeaderboardAggregation;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, incrementally maintained leaderboards.
+ *
+ * Keeps running totals per player and one skip list per category and
+ * aggregation ordered by value (descending) and player id. A stat line write
+ * re-positions the player in every list in O(log n); reads walk the head of
+ * the list without touching the database.
+ *
+ * Writes are serialized on the store; reads are lock-free and weakly
+ * consistent. A rebuild fills a new board and publishes it in one volatile
+ * write, so readers see either the old leaderboards or the new ones, never a
+ * partly filled board. A repositioned player is added at the new value before
+ * the old entry is removed, and reads skip the second entry of a player.
+ *
+ * Stat writes are applied after they commit, and tagged with the generation
+ * of the board at their commit. A rebuild reads its snapshot while no stat
+ * write commits and starts a new generation, so the changes of older
+ * generations it already contains are dropped rather than counted twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardStore {
+
+    /** Size of the top-N tracked for change notifications. */
+    public static final int TOP_N = 10;
+
+    private static final StatCategory[] CATEGORIES = StatCategory.values();
+
+    private static final Comparator<RankedPlayer> RANKING =
+            Comparator.comparingDouble(RankedPlayer::value).reversed()
+                    .thenComparingLong(RankedPlayer::playerId);
+
+    private final EntityManager entityManager;
+
+    private final Map<StatCategory, List<RankedPlayer>> lastTopN = new EnumMap<>(StatCategory.class);
+
+    // Shared by the commits of stat writes, exclusive to the snapshot of a rebuild
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+
+    // Null until the first rebuild
+    private volatile Board board;
+
+    public record RankedPlayer(long playerId, double value) {}
+
+    /**
+     * Running totals and rankings of every player. The totals are only read
+     * and written under the store's lock; the rankings are read lock-free.
+     */
+    private record Board(long generation, Map<Long, PlayerTotals> totals,
+                         Map<StatCategory, Map<LeaderboardAggregation, NavigableSet<RankedPlayer>>> rankings) {
+
+        private static Board empty(long generation) {
+            Map<StatCategory, Map<LeaderboardAggregation, NavigableSet<RankedPlayer>>> rankings =
+                    new EnumMap<>(StatCategory.class);
+            for (StatCategory category : CATEGORIES) {
+                Map<LeaderboardAggregation, NavigableSet<RankedPlayer>> byAggregation =
+                        new EnumMap<>(LeaderboardAggregation.class);
+                for (LeaderboardAggregation aggregation : LeaderboardAggregation.values()) {
+                    byAggregation.put(aggregation, new ConcurrentSkipListSet<>(RANKING));
+                }
+                rankings.put(category, byAggregation);
+            }
+            return new Board(generation, new HashMap<>(), rankings);
+        }
+
+        private NavigableSet<RankedPlayer> ranking(StatCategory category, LeaderboardAggregation aggregation) {
+            return rankings.get(category).get(aggregation);
+        }
+    }
+
+    /**
+     * Rebuilds every leaderboard from a single grouped scan of the stats table.
+     * Waits for the stat writes being committed, and holds off new ones until
+     * the new board is published.
+     */
+    public void rebuild() {
+        commits.writeLock().lock();
+        try {
+            synchronized (this) {
+                rebuildBoard();
+            }
+        } finally {
+            commits.writeLock().unlock();
+        }
+    }
+
+    private void rebuildBoard() {
+        long start = System.currentTimeMillis();
+
+        Board fresh = Board.empty(board == null ? 0 : board.generation() + 1);
+        for (Object[] row : entityManager.createQuery(totalsQuery(), Object[].class).getResultList()) {
+            PlayerTotals playerTotals = PlayerTotals.fromRow(row);
+            fresh.totals().put(playerTotals.playerId, playerTotals);
+            for (StatCategory category : CATEGORIES) {
+                for (LeaderboardAggregation aggregation : LeaderboardAggregation.values()) {
+                    Double value = playerTotals.value(category, aggregation);
+                    if (value != null) {
+                        fresh.ranking(category, aggregation).add(new RankedPlayer(playerTotals.playerId, value));
+                    }
+                }
+            }
+        }
+        board = fresh;
+
+        for (StatCategory category : CATEGORIES) {
+            lastTopN.put(category, top(category, LeaderboardAggregation.SUM, TOP_N));
+        }
+
+        log.info("Built in-memory leaderboards for {} players in {} ms",
+                fresh.totals().size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return board != null;
+    }
+
+    /** The generation that changes committed now are tagged with. */
+    public long generation() {
+        Board current = board;
+        return current == null ? 0 : current.generation();
+    }
+
+    /**
+     * Holds off rebuilds while a stat write commits: call before the commit,
+     * then {@link #commitFinished()} or {@link #commitAborted()} on the same
+     * thread.
+     */
+    public void commitStarted() {
+        commits.readLock().lock();
+    }
+
+    /**
+     * @return the generation to tag the committed change with
+     */
+    public long commitFinished() {
+        long generation = generation();
+        commits.readLock().unlock();
+        return generation;
+    }
+
+    public void commitAborted() {
+        commits.readLock().unlock();
+    }
+
+    /**
+     * Applies a stat line change for one player: {@code before} is null for a
+     * new line and {@code after} is null for a removed one.
+     *
+     * @return the categories whose SUM top-N changed as a result
+     */
+    public synchronized Set<StatCategory> apply(long generation, Long playerId, StatLine before, StatLine after) {
+        if (!isCurrent(generation)) return EnumSet.noneOf(StatCategory.class);
+
+        reposition(playerId, before, after);
+        return detectTopNChanges();
+    }
+
+    /**
+     * Adds new stat lines of several players, such as a match's box score,
+     * and compares the top-N once for all of them.
+     *
+     * @return the categories whose SUM top-N changed as a result
+     */
+    public synchronized Set<StatCategory> addAll(long generation, Map<Long, StatLine> lines) {
+        if (!isCurrent(generation)) return EnumSet.noneOf(StatCategory.class);
+
+        lines.forEach((playerId, line) -> reposition(playerId, null, line));
+        return detectTopNChanges();
+    }
+
+    // Changes of an older generation are in the snapshot of the current board already
+    private boolean isCurrent(long generation) {
+        return isReady() && generation >= board.generation();
+    }
+
+    // The new entries go in before the old ones come out, so that a concurrent read never misses the player
+    private void reposition(Long playerId, StatLine before, StatLine after) {
+        Board current = board;
+        PlayerTotals playerTotals = current.totals().computeIfAbsent(playerId, PlayerTotals::new);
+        Double[] oldValues = values(playerTotals);
+        if (before != null) playerTotals.add(before, -1);
+        if (after != null) playerTotals.add(after, 1);
+        boolean remains = playerTotals.lines > 0;
+        if (!remains) {
+            current.totals().remove(playerId);
+        }
+
+        Double[] newValues = remains ? values(playerTotals) : new Double[oldValues.length];
+        int slot = 0;
+        for (StatCategory category : CATEGORIES) {
+            for (LeaderboardAggregation aggregation : LeaderboardAggregation.values()) {
+                Double oldValue = oldValues[slot];
+                Double newValue = newValues[slot++];
+                if (Objects.equals(oldValue, newValue)) continue;
+                NavigableSet<RankedPlayer> ranking = current.ranking(category, aggregation);
+                if (newValue != null) ranking.add(new RankedPlayer(playerId, newValue));
+                if (oldValue != null) ranking.remove(new RankedPlayer(playerId, oldValue));
+            }
+        }
+    }
+
+    /**
+     * Drops a player and all of their lines, e.g. after the player was deleted.
+     */
+    public synchronized Set<StatCategory> removePlayer(long generation, Long playerId) {
+        if (!isCurrent(generation)) return EnumSet.noneOf(StatCategory.class);
+
+        Board current = board;
+        PlayerTotals playerTotals = current.totals().remove(playerId);
+        if (playerTotals == null) return EnumSet.noneOf(StatCategory.class);
+        Double[] oldValues = values(playerTotals);
+        int slot = 0;
+        for (StatCategory category : CATEGORIES) {
+            for (LeaderboardAggregation aggregation : LeaderboardAggregation.values()) {
+                Double oldValue = oldValues[slot++];
+                if (oldValue != null) {
+                    current.ranking(category, aggregation).remove(new RankedPlayer(playerId, oldValue));
+                }
+            }
+        }
+        return detectTopNChanges();
+    }
+
+    public List<RankedPlayer> top(StatCategory category, LeaderboardAggregation aggregation, int limit) {
+        List<RankedPlayer> result = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        // A player being repositioned can briefly be listed at both values; the first one counts
+        Iterator<RankedPlayer> iterator = board.ranking(category, aggregation).iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            RankedPlayer next = iterator.next();
+            if (seen.add(next.playerId())) {
+                result.add(next);
+            }
+        }
+        return result;
+    }
+
+    private Set<StatCategory> detectTopNChanges() {
+        Set<StatCategory> changed = EnumSet.noneOf(StatCategory.class);
+        for (StatCategory category : CATEGORIES) {
+            List<RankedPlayer> current = top(category, LeaderboardAggregation.SUM, TOP_N);
+            if (!current.equals(lastTopN.get(category))) {
+                lastTopN.put(category, current);
+                changed.add(category);
+            }
+        }
+        return changed;
+    }
+
+    // Ranked values of a player, by category and then aggregation
+    private static Double[] values(PlayerTotals playerTotals) {
+        LeaderboardAggregation[] aggregations = LeaderboardAggregation.values();
+        Double[] values = new Double[CATEGORIES.length * aggregations.length];
+        int slot = 0;
+        for (StatCategory category : CATEGORIES) {
+            for (LeaderboardAggregation aggregation : aggregations) {
+                values[slot++] = playerTotals.value(category, aggregation);
+            }
+        }
+        return values;
+    }
+
+    private static String totalsQuery() {
+        StringBuilder jpql = new StringBuilder("SELECT s.player.id, COUNT(s), ")
+                .append(StatLine.GAMES_PLAYED_JPQL);
+        for (StatCategory category : CATEGORIES) {
+            jpql.append(", COALESCE(SUM(s.").append(category.getProperty()).append("), 0)")
+                .append(", COUNT(s.").append(category.getProperty()).append(")")
+                .append(", ").append(StatLine.sumOverGamesPlayedJpql(category.getProperty()));
+        }
+        return jpql.append(" FROM Stats s GROUP BY s.player.id").toString();
+    }
+
+    /**
+     * Running totals of one player. Counts are kept per category because
+     * nullable columns (minutes played) are excluded from averages, as in SQL.
+     * Per-game values divide the sums over the games played only.
+     */
+    private static final class PlayerTotals {
+        private final long playerId;
+        private long lines;
+        private long gamesPlayed;
+        private final long[] sums = new long[CATEGORIES.length];
+        private final long[] counts = new long[CATEGORIES.length];
+        private final long[] gameSums = new long[CATEGORIES.length];
+
+        private PlayerTotals(long playerId) {
+            this.playerId = playerId;
+        }
+
+        private static PlayerTotals fromRow(Object[] row) {
+            PlayerTotals playerTotals = new PlayerTotals((Long) row[0]);
+            playerTotals.lines = ((Number) row[1]).longValue();
+            playerTotals.gamesPlayed = ((Number) row[2]).longValue();
+            for (StatCategory category : CATEGORIES) {
+                int column = 3 + category.ordinal() * 3;
+                playerTotals.sums[category.ordinal()] = ((Number) row[column]).longValue();
+                playerTotals.counts[category.ordinal()] = ((Number) row[column + 1]).longValue();
+                playerTotals.gameSums[category.ordinal()] = ((Number) row[column + 2]).longValue();
+            }
+            return playerTotals;
+        }
+
+        private void add(StatLine line, int sign) {
+            lines += sign;
+            boolean gamePlayed = line.isGamePlayed();
+            if (gamePlayed) gamesPlayed += sign;
+            for (StatCategory category : CATEGORIES) {
+                Integer value = line.get(category);
+                if (value != null) {
+                    sums[category.ordinal()] += (long) sign * value;
+                    counts[category.ordinal()] += sign;
+                    if (gamePlayed) gameSums[category.ordinal()] += (long) sign * value;
+                }
+            }
+        }
+
+        /** Ranked value, or null when the player does not qualify for the list. */
+        private Double value(StatCategory category, LeaderboardAggregation aggregation) {
+            long sum = sums[category.ordinal()];
+            return switch (aggregation) {
+                case SUM -> (double) sum;
+                case AVG -> {
+                    long count = counts[category.ordinal()];
+                    yield count == 0 ? 0.0 : (double) sum / count;
+                }
+                case PER_GAME -> gamesPlayed == 0 ? null : (double) gameSums[category.ordinal()] / gamesPlayed;
+            };
+        }
+    }
+}
@@ -119,6 +119,24 @@ public class MatchEventPublisher {
         return matchSink != null ? matchSink.currentSubscriberCount() : 0;
     }
 
+    /**
+     * Gets the total number of active match-specific subscriptions, over all matches.
+     *
+     * @return Number of active match-specific subscriptions
+     */
+    public int getMatchSubscriberCount() {
+        return matchSinks.keySet().stream().mapToInt(this::getSubscriberCount).sum();
+    }
+
+    /**
+     * Gets the number of matches that have at least one subscription.
+     *
+     * @return Number of subscribed matches
+     */
+    public int getSubscribedMatchCount() {
+        return matchSinks.size();
+    }
+
     /**
      * Gets the total number of active global subscriptions.
      *
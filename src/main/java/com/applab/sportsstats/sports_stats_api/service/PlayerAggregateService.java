@@ -0,0 +1,113 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.entity.PlayerAggregate;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the {@code player_aggregates} table in step with the stats table.
+ * Every method joins the caller's transaction, so an aggregate row never
+ * commits without the stat line change it reflects.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class PlayerAggregateService {
+
+    private final PlayerAggregateRepository playerAggregateRepository;
+    private final PlayerRepository playerRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Applies a stat line change: {@code before} is null for a new line and
+     * {@code after} is null for a removed one.
+     */
+    public void statsChanged(Long playerId, StatLine before, StatLine after) {
+        PlayerAggregate aggregate = playerAggregateRepository.findByIdForUpdate(playerId)
+                .orElseGet(() -> createLocked(Set.of(playerId)).get(playerId));
+
+        if (before != null) aggregate.apply(before, -1);
+        if (after != null) aggregate.apply(after, 1);
+        log.debug("Player aggregate updated - Player ID: {}, games: {}, average points: {}",
+                playerId, aggregate.getGamesPlayed(), aggregate.getAveragePoints());
+    }
+
+    /**
+     * Adds new stat lines of several players, such as a match's box score:
+     * the aggregates are locked with one query and written in one batch.
+     */
+    public void statsRecorded(Map<Long, StatLine> lines) {
+        Map<Long, PlayerAggregate> aggregates = new HashMap<>();
+        playerAggregateRepository.findAllByIdForUpdate(lines.keySet())
+                .forEach(aggregate -> aggregates.put(aggregate.getPlayerId(), aggregate));
+
+        Set<Long> missing = new HashSet<>(lines.keySet());
+        missing.removeAll(aggregates.keySet());
+        if (!missing.isEmpty()) {
+            aggregates.putAll(createLocked(missing));
+        }
+
+        lines.forEach((playerId, line) -> aggregates.get(playerId).apply(line, 1));
+        log.debug("Player aggregates updated for {} players", lines.size());
+    }
+
+    /**
+     * Locks the aggregates of players that had none, inserting those still
+     * missing. The players' rows are locked first, so a concurrent first line
+     * waits here and then finds the row the other write inserted.
+     */
+    private Map<Long, PlayerAggregate> createLocked(Set<Long> playerIds) {
+        playerRepository.lockAllById(playerIds);
+        Map<Long, PlayerAggregate> aggregates = new HashMap<>();
+        playerAggregateRepository.findAllByIdForUpdate(playerIds)
+                .forEach(aggregate -> aggregates.put(aggregate.getPlayerId(), aggregate));
+        for (Long playerId : playerIds) {
+            // Persisted rather than saved, which would first select the row it knows is missing
+            aggregates.computeIfAbsent(playerId, id -> {
+                PlayerAggregate aggregate = PlayerAggregate.builder().playerId(id).build();
+                entityManager.persist(aggregate);
+                return aggregate;
+            });
+        }
+        return aggregates;
+    }
+
+    public void playerRemoved(Long playerId) {
+        playerAggregateRepository.deleteByPlayerId(playerId);
+    }
+
+    /**
+     * Drops the aggregates of a team's players; call before the team delete
+     * cascades to them.
+     */
+    public void teamRemoved(Long teamId) {
+        playerAggregateRepository.deleteByTeamId(teamId);
+    }
+
+    /**
+     * Recomputes every aggregate from the stats table.
+     *
+     * @return number of players with aggregates
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        playerAggregateRepository.deleteAllAggregates();
+        int rows = playerAggregateRepository.insertFromStats();
+        log.info("Rebuilt player aggregates for {} players in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
@@ -0,0 +1,494 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over player names, so that name searches do not
+ * scan the players table with {@code LIKE '%term%'}.
+ *
+ * Each player has a slot holding the first and last name, lower-cased and
+ * stripped of accents. Both names are indexed by their trigrams, padded with
+ * two leading blanks and one trailing blank as in pg_trgm, and every trigram
+ * maps to the ascending list of names containing it.
+ *
+ * A query is first answered as a substring search: the postings of the
+ * query's trigrams are intersected and the few remaining candidates are
+ * checked against the names, the full name included. Only when nothing
+ * contains the term are names ranked by trigram similarity instead, which
+ * tolerates typos.
+ *
+ * Writes are serialized and replace a player by freeing its slot and
+ * appending a new one; freed slots are compacted away once they make up
+ * half of the index.
+ */
+@Slf4j
+@Component
+public class PlayerSearchIndex {
+
+    // Minimum trigram similarity of a typo-tolerant match, as in pg_trgm
+    static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+    private static final long FREE = -1;
+
+    // A hit is ranked by one long: tier, dissimilarity and name length above the player id
+    private static final int PLAYER_ID_BITS = 43;
+    private static final long PLAYER_ID_MASK = (1L << PLAYER_ID_BITS) - 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Slot arrays; names are documents 2 * slot (first) and 2 * slot + 1 (last)
+    private long[] playerIds = new long[0];
+    private String[] firstNames = new String[0];
+    private String[] lastNames = new String[0];
+    private byte[] trigramCounts = new byte[0];
+    private int slots;
+
+    private final Map<Long, Integer> slotsByPlayer = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    // Trigrams by their first two characters, for two-letter queries
+    private final Map<Integer, List<Long>> trigramsByBigram = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public record Name(long playerId, String firstName, String lastName) {}
+
+    /**
+     * Player ids of a search, best match first.
+     *
+     * @param playerIds the best matches, at most the requested limit
+     * @param totalHits the number of matching players
+     * @param fuzzy whether no name contained the term and the hits are similar names
+     */
+    public record Result(List<Long> playerIds, int totalHits, boolean fuzzy) {
+        static final Result EMPTY = new Result(List.of(), 0, false);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByPlayer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<Name> names) {
+        long start = System.nanoTime();
+        int trigrams;
+        lock.writeLock().lock();
+        try {
+            reset(names.size());
+            for (Name name : names) {
+                append(name.playerId(), normalize(name.firstName()), normalize(name.lastName()));
+            }
+            trigrams = postings.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built player search index of {} players and {} trigrams in {} ms",
+                names.size(), trigrams, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void put(long playerId, String firstName, String lastName) {
+        if (!ready) return;
+        String first = normalize(firstName);
+        String last = normalize(lastName);
+        lock.writeLock().lock();
+        try {
+            free(playerId);
+            append(playerId, first, last);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long playerId) {
+        if (!ready) return;
+        lock.writeLock().lock();
+        try {
+            free(playerId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked ids of the players whose first, last or full name contains the
+     * term, or of those with a similar name if there are none. Substring hits
+     * rank exact names before name prefixes before other matches; similar
+     * names rank by similarity. Ties go to the shorter full name, then the
+     * lower id.
+     */
+    public Result search(String term, int limit) {
+        String query = normalize(term);
+        if (query.isEmpty() || limit <= 0) return Result.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            LongList hits = substringHits(query);
+            boolean fuzzy = hits.size == 0;
+            if (fuzzy) hits = similarHits(query);
+
+            long[] best = smallest(hits, limit);
+            List<Long> ids = new ArrayList<>(best.length);
+            for (long key : best) {
+                ids.add(key & PLAYER_ID_MASK);
+            }
+            return new Result(ids, hits.size, fuzzy && hits.size > 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        if (name == null) return "";
+        String folded = isAscii(name)
+                ? name
+                : MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    // ==================== QUERIES ====================
+
+    private LongList substringHits(String query) {
+        BitSet candidates = null;
+        for (String word : query.split(" ")) {
+            // Single letters have no trigrams; the check below covers them
+            if (word.length() < 2) continue;
+            BitSet containing = slotsContaining(word);
+            if (candidates == null) {
+                candidates = containing;
+            } else {
+                candidates.and(containing);
+            }
+            if (candidates.isEmpty()) return new LongList();
+        }
+        if (candidates == null) {
+            candidates = new BitSet(slots);
+            candidates.set(0, slots);
+        }
+
+        boolean fullName = query.indexOf(' ') >= 0;
+        LongList hits = new LongList();
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if (playerIds[slot] == FREE) continue;
+            String first = firstNames[slot];
+            String last = lastNames[slot];
+            int tier = fullName ? tier(first + " " + last, query) : best(tier(first, query), tier(last, query));
+            if (tier >= 0) {
+                hits.add(rank(tier, 1, first.length() + last.length(), playerIds[slot]));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Slots with a name that may contain the word: those having all of its
+     * trigrams, or for two letters any trigram starting with them.
+     */
+    private BitSet slotsContaining(String word) {
+        BitSet containing = new BitSet(slots);
+        if (word.length() == 2) {
+            for (long trigram : trigramsByBigram.getOrDefault(bigram(word.charAt(0), word.charAt(1)), List.of())) {
+                IntList documents = postings.get(trigram);
+                for (int i = 0; i < documents.size; i++) {
+                    containing.set(documents.values[i] >> 1);
+                }
+            }
+            return containing;
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (long trigram : trigrams(word)) {
+            IntList documents = postings.get(trigram);
+            if (documents == null) return containing;
+            lists.add(documents);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        // Intersect from the rarest trigram, probing the longer lists
+        int[] documents = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int count = documents.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = retainAll(documents, count, lists.get(i));
+        }
+        for (int i = 0; i < count; i++) {
+            containing.set(documents[i] >> 1);
+        }
+        return containing;
+    }
+
+    /**
+     * Counts the trigrams each name shares with the query, then keeps the
+     * players with a first, last or full name similar enough. A name can only
+     * reach the threshold when it shares at least threshold * query trigrams.
+     */
+    private LongList similarHits(String query) {
+        long[] queryTrigrams = trigrams(pad(query));
+        byte[] sharedFirst = new byte[slots];
+        byte[] sharedLast = new byte[slots];
+        IntList touched = new IntList();
+        for (long trigram : queryTrigrams) {
+            IntList documents = postings.get(trigram);
+            if (documents == null) continue;
+            for (int i = 0; i < documents.size; i++) {
+                int document = documents.values[i];
+                int slot = document >> 1;
+                if (sharedFirst[slot] == 0 && sharedLast[slot] == 0) touched.add(slot);
+                if ((document & 1) == 0) {
+                    sharedFirst[slot]++;
+                } else {
+                    sharedLast[slot]++;
+                }
+            }
+        }
+
+        int minShared = (int) Math.ceil(SIMILARITY_THRESHOLD * queryTrigrams.length);
+        LongList hits = new LongList();
+        for (int i = 0; i < touched.size; i++) {
+            int slot = touched.values[i];
+            int first = sharedFirst[slot];
+            int last = sharedLast[slot];
+            if (first + last < minShared || playerIds[slot] == FREE) continue;
+
+            int firstTrigrams = trigramCounts[2 * slot];
+            int lastTrigrams = trigramCounts[2 * slot + 1];
+            double similarity = Math.max(
+                    Math.max(similarity(first, queryTrigrams.length, firstTrigrams),
+                            similarity(last, queryTrigrams.length, lastTrigrams)),
+                    similarity(first + last, queryTrigrams.length, firstTrigrams + lastTrigrams));
+            if (similarity >= SIMILARITY_THRESHOLD) {
+                hits.add(rank(0, similarity, firstNames[slot].length() + lastNames[slot].length(), playerIds[slot]));
+            }
+        }
+        return hits;
+    }
+
+    // Shared trigrams over all distinct trigrams of both strings
+    private static double similarity(int shared, int queryTrigrams, int nameTrigrams) {
+        return shared == 0 ? 0 : (double) shared / (queryTrigrams + nameTrigrams - shared);
+    }
+
+    private static int tier(String name, String query) {
+        if (name.equals(query)) return 0;
+        if (name.startsWith(query)) return 1;
+        return name.contains(query) ? 2 : -1;
+    }
+
+    private static int best(int tier, int other) {
+        if (tier < 0) return other;
+        return other < 0 ? tier : Math.min(tier, other);
+    }
+
+    // Lower is better: 2 bits of tier, 10 of dissimilarity and 8 of length, then the id
+    private static long rank(int tier, double similarity, int length, long playerId) {
+        long dissimilarity = Math.round((1 - similarity) * 1023);
+        long rank = (long) tier << 18 | dissimilarity << 8 | Math.min(length, 255);
+        return rank << PLAYER_ID_BITS | playerId;
+    }
+
+    /**
+     * The lowest {@code limit} keys in ascending order, selected with a
+     * bounded max-heap so that broad queries do not sort every hit.
+     */
+    private static long[] smallest(LongList keys, int limit) {
+        if (keys.size <= limit) {
+            long[] all = Arrays.copyOf(keys.values, keys.size);
+            Arrays.sort(all);
+            return all;
+        }
+        long[] heap = new long[limit];
+        int size = 0;
+        for (int i = 0; i < keys.size; i++) {
+            long key = keys.values[i];
+            if (size < limit) {
+                int child = size++;
+                while (child > 0 && heap[(child - 1) / 2] < key) {
+                    heap[child] = heap[(child - 1) / 2];
+                    child = (child - 1) / 2;
+                }
+                heap[child] = key;
+            } else if (key < heap[0]) {
+                int parent = 0;
+                while (2 * parent + 1 < size) {
+                    int child = 2 * parent + 1;
+                    if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+                    if (heap[child] <= key) break;
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = key;
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    // Keeps the documents that also occur in the (longer) sorted list
+    private static int retainAll(int[] documents, int count, IntList other) {
+        int retained = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int found = Arrays.binarySearch(other.values, from, other.size, documents[i]);
+            if (found >= 0) {
+                documents[retained++] = documents[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return retained;
+    }
+
+    // ==================== WRITES ====================
+
+    private void reset(int capacity) {
+        int size = Math.max(capacity, 16);
+        playerIds = new long[size];
+        firstNames = new String[size];
+        lastNames = new String[size];
+        trigramCounts = new byte[2 * size];
+        slots = 0;
+        slotsByPlayer.clear();
+        postings.clear();
+        trigramsByBigram.clear();
+    }
+
+    private void append(long playerId, String firstName, String lastName) {
+        if (slots == playerIds.length) {
+            int size = slots * 2;
+            playerIds = Arrays.copyOf(playerIds, size);
+            firstNames = Arrays.copyOf(firstNames, size);
+            lastNames = Arrays.copyOf(lastNames, size);
+            trigramCounts = Arrays.copyOf(trigramCounts, 2 * size);
+        }
+        int slot = slots++;
+        playerIds[slot] = playerId;
+        firstNames[slot] = firstName;
+        lastNames[slot] = lastName;
+        trigramCounts[2 * slot] = index(2 * slot, firstName);
+        trigramCounts[2 * slot + 1] = index(2 * slot + 1, lastName);
+        slotsByPlayer.put(playerId, slot);
+    }
+
+    // Documents are appended in increasing order, which keeps every posting sorted
+    private byte index(int document, String name) {
+        long[] trigrams = trigrams(pad(name));
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, this::newPosting).add(document);
+        }
+        return (byte) Math.min(trigrams.length, Byte.MAX_VALUE);
+    }
+
+    private IntList newPosting(long trigram) {
+        int bigram = bigram((char) (trigram >>> 42), (char) (trigram >>> 21 & 0x1FFFFF));
+        trigramsByBigram.computeIfAbsent(bigram, key -> new ArrayList<>()).add(trigram);
+        return new IntList();
+    }
+
+    private void free(long playerId) {
+        Integer slot = slotsByPlayer.remove(playerId);
+        if (slot == null) return;
+        playerIds[slot] = FREE;
+        firstNames[slot] = null;
+        lastNames[slot] = null;
+    }
+
+    private void compactIfSparse() {
+        int free = slots - slotsByPlayer.size();
+        if (slots < MIN_COMPACTION_SLOTS || free * 2 < slots) return;
+
+        long[] ids = Arrays.copyOf(playerIds, slots);
+        String[] firsts = Arrays.copyOf(firstNames, slots);
+        String[] lasts = Arrays.copyOf(lastNames, slots);
+        reset(slotsByPlayer.size());
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (ids[slot] != FREE) append(ids[slot], firsts[slot], lasts[slot]);
+        }
+        log.debug("Compacted player search index, freed {} slots", free);
+    }
+
+    // ==================== TRIGRAMS ====================
+
+    private static String pad(String name) {
+        return "  " + name + " ";
+    }
+
+    /**
+     * Distinct trigrams of the string, three chars packed 21 bits apart into
+     * a long (which also spreads the keys well over hash buckets).
+     */
+    private static long[] trigrams(String value) {
+        if (value.length() < 3) return new long[0];
+        long[] trigrams = new long[value.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) value.charAt(i) << 42 | (long) value.charAt(i + 1) << 21 | value.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) trigrams[distinct++] = trigrams[i];
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static int bigram(char first, char second) {
+        return first << 16 | second;
+    }
+
+    /**
+     * Growable list of ints: ascending document numbers of a posting, or slots.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.specification.PlayerSpecifications;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Player name search on top of the {@link PlayerSearchIndex}. The index ranks
+ * the matching players; only the ids that are returned are then loaded, in
+ * one query that follows the selection's {@link FetchPlan}. Until the index
+ * is built, searches fall back to a {@code LIKE} query on both names.
+ *
+ * The index is built once the application is ready and kept current by the
+ * player mutations, applied once their transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlayerSearchService {
+
+    // Above this many hits the index is no more selective than a LIKE scan
+    static final int MAX_ID_FILTER = 1000;
+
+    private final PlayerSearchIndex playerSearchIndex;
+    private final PlayerRepository playerRepository;
+    private final FetchPlanner fetchPlanner;
+    private final EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        List<PlayerSearchIndex.Name> names = entityManager
+                .createQuery("SELECT p.id, p.firstName, p.lastName FROM Player p", Object[].class)
+                .getResultList().stream()
+                .map(row -> new PlayerSearchIndex.Name((Long) row[0], (String) row[1], (String) row[2]))
+                .toList();
+        playerSearchIndex.rebuild(names);
+    }
+
+    public boolean isReady() {
+        return playerSearchIndex.isReady();
+    }
+
+    /**
+     * All players matching the term, best match first.
+     */
+    public List<Player> search(String term, FetchPlan plan) {
+        if (!playerSearchIndex.isReady()) {
+            return fetchPlanner.findAll(playerRepository, PlayerSpecifications.nameContains(term), Sort.unsorted(), plan);
+        }
+        PlayerSearchIndex.Result result = playerSearchIndex.search(term, Integer.MAX_VALUE);
+        log.debug("Player search for '{}' matched {} players (fuzzy: {})", term, result.totalHits(), result.fuzzy());
+        return load(result.playerIds(), plan);
+    }
+
+    /**
+     * One page of the players matching the term, best match first. The total
+     * comes from the index, so no count query is needed.
+     */
+    public Page<Player> searchPage(String term, Pageable pageable, FetchPlan plan) {
+        long end = pageable.getOffset() + pageable.getPageSize();
+        PlayerSearchIndex.Result result = playerSearchIndex.search(term, (int) Math.min(end, Integer.MAX_VALUE));
+        List<Long> ids = result.playerIds();
+        List<Long> pageIds = ids.subList((int) Math.min(pageable.getOffset(), ids.size()), ids.size());
+        return new PageImpl<>(load(pageIds, plan), pageable, result.totalHits());
+    }
+
+    /**
+     * The players matching the term as a predicate, for searches that are
+     * sorted and paged by the database. Past {@link #MAX_ID_FILTER} hits a
+     * substring search is left to a {@code LIKE} query; typo-tolerant hits
+     * have no such equivalent, so every one of them is listed.
+     */
+    public Specification<Player> matching(String term) {
+        if (!playerSearchIndex.isReady()) return PlayerSpecifications.nameContains(term);
+
+        PlayerSearchIndex.Result result = playerSearchIndex.search(term, MAX_ID_FILTER);
+        if (result.totalHits() > MAX_ID_FILTER) {
+            if (!result.fuzzy()) return PlayerSpecifications.nameContains(term);
+            log.debug("Player search for '{}' lists all {} typo-tolerant hits", term, result.totalHits());
+            result = playerSearchIndex.search(term, result.totalHits());
+        }
+        return PlayerSpecifications.byIds(result.playerIds());
+    }
+
+    public void playerSaved(Player player) {
+        Long playerId = player.getId();
+        String firstName = player.getFirstName();
+        String lastName = player.getLastName();
+        Transactions.afterCommit(() -> playerSearchIndex.put(playerId, firstName, lastName));
+    }
+
+    public void playerRemoved(Long playerId) {
+        Transactions.afterCommit(() -> playerSearchIndex.remove(playerId));
+    }
+
+    /**
+     * Deleting a team cascades to its players, so their ids are read before
+     * the delete and dropped from the index after the commit.
+     */
+    public void teamRemoved(Long teamId) {
+        List<Long> playerIds = entityManager
+                .createQuery("SELECT p.id FROM Player p WHERE p.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getResultList();
+        Transactions.afterCommit(() -> playerIds.forEach(playerSearchIndex::remove));
+    }
+
+    // Loads the players in one query and restores the ranking of the ids
+    private List<Player> load(List<Long> ids, FetchPlan plan) {
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Player> playersById = new HashMap<>();
+        for (Player player : fetchPlanner.findAll(playerRepository, PlayerSpecifications.byIds(ids), Sort.unsorted(), plan)) {
+            playersById.put(player.getId(), player);
+        }
+        List<Player> players = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Player player = playersById.get(id);
+            if (player != null) players.add(player);
+        }
+        return players;
+    }
+}
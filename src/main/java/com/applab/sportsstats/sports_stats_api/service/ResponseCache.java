@@ -0,0 +1,146 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Results of GraphQL queries, keyed by the normalized document, operation
+ * name and variables. Each result is stored with the dependency tags that
+ * were recorded while it was executed:
+ * <ul>
+ *   <li>{@code Team:1} for every entity the result was read from, and</li>
+ *   <li>{@code Team} for lists, pages and figures that are computed over all
+ *       entities of a type, and so change whenever any of them does.</li>
+ * </ul>
+ * The mutations invalidate the tags of the entities they write, once their
+ * transaction commits. Results also expire after a short time, for queries
+ * such as {@code upcomingMatches} that change with the clock.
+ */
+@Slf4j
+@Service
+public class ResponseCache {
+
+    private static final int MAXIMUM_SIZE = 1000;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private final Cache<Key, Entry> entries = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(TIME_TO_LIVE)
+            .build();
+
+    // Bumped by every invalidation, so that results computed before it are not stored
+    private long generation;
+
+    public ExecutionResult get(Key key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry != null ? entry.result() : null;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores a result unless it was tagged uncacheable, or an invalidation
+     * happened since its execution started at the given generation.
+     */
+    public synchronized void put(Key key, ExecutionResult result, Dependencies dependencies, long startedAt) {
+        if (dependencies.isCacheable() && startedAt == generation) {
+            entries.put(key, new Entry(result, dependencies.tags()));
+        }
+    }
+
+    /**
+     * Drops the results that read the entity, and those computed over its type.
+     */
+    public void invalidate(Class<?> entityClass, Object id) {
+        String type = entityClass.getSimpleName();
+        String entity = type + ":" + id;
+        Transactions.afterCommit(() -> evict(tag -> tag.equals(type) || tag.equals(entity)));
+    }
+
+    /**
+     * Drops the results that read any of the entities, and those computed
+     * over their type, in one pass.
+     */
+    public void invalidate(Class<?> entityClass, Collection<?> ids) {
+        String type = entityClass.getSimpleName();
+        Set<String> entities = ids.stream().map(id -> type + ":" + id).collect(Collectors.toSet());
+        Transactions.afterCommit(() -> evict(tag -> tag.equals(type) || entities.contains(tag)));
+    }
+
+    /**
+     * Drops every result that depends on any entity of the given types.
+     */
+    public void invalidateAll(Class<?>... entityClasses) {
+        Set<String> types = Arrays.stream(entityClasses).map(Class::getSimpleName).collect(Collectors.toSet());
+        Transactions.afterCommit(() -> evict(tag -> types.contains(typeOf(tag))));
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    // Invalidations are rare next to reads, so a scan of the bounded cache beats keeping a tag index
+    private synchronized void evict(Predicate<String> tagMatches) {
+        generation++;
+        int before = entries.asMap().size();
+        entries.asMap().values().removeIf(entry -> entry.tags().stream().anyMatch(tagMatches));
+        log.debug("Evicted {} cached responses", before - entries.asMap().size());
+    }
+
+    private static String typeOf(String tag) {
+        int separator = tag.indexOf(':');
+        return separator < 0 ? tag : tag.substring(0, separator);
+    }
+
+    public record Key(String document, String operationName, Map<String, Object> variables) {
+    }
+
+    private record Entry(ExecutionResult result, Set<String> tags) {
+    }
+
+    /**
+     * The tags recorded while one query executes. Fields resolve concurrently,
+     * so the set is thread-safe.
+     */
+    public static final class Dependencies {
+
+        private final Set<String> tags = ConcurrentHashMap.newKeySet();
+        private volatile boolean cacheable = true;
+
+        public void add(String tag) {
+            tags.add(tag);
+        }
+
+        public void uncacheable() {
+            cacheable = false;
+        }
+
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+        public Set<String> tags() {
+            return Set.copyOf(tags);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Row counts of the entity tables, for the totals of unfiltered listings.
+ * A count is loaded on first use and then kept current by the mutations
+ * (applied once their transaction commits). Changes that cannot be applied
+ * as a delta, such as cascading deletes, drop the count so that the next
+ * read recounts. The counts are approximate: a write that commits while a
+ * count is being loaded may be counted twice until the next recount.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RowCountCache {
+
+    private final EntityManager entityManager;
+
+    private final ConcurrentMap<Class<?>, Long> counts = new ConcurrentHashMap<>();
+
+    public long count(Class<?> entityClass) {
+        return counts.computeIfAbsent(entityClass, this::load);
+    }
+
+    public void added(Class<?> entityClass) {
+        added(entityClass, 1);
+    }
+
+    public void added(Class<?> entityClass, int rows) {
+        Transactions.afterCommit(() -> counts.computeIfPresent(entityClass, (key, count) -> count + rows));
+    }
+
+    public void removed(Class<?> entityClass) {
+        Transactions.afterCommit(() -> counts.computeIfPresent(entityClass, (key, count) -> Math.max(0, count - 1)));
+    }
+
+    public void invalidate(Class<?>... entityClasses) {
+        Transactions.afterCommit(() -> {
+            for (Class<?> entityClass : entityClasses) {
+                counts.remove(entityClass);
+            }
+        });
+    }
+
+    private Long load(Class<?> entityClass) {
+        String entityName = entityManager.getMetamodel().entity(entityClass).getName();
+        Long count = entityManager.createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class)
+                .getSingleResult();
+        log.debug("Loaded row count of {}: {}", entityName, count);
+        return count;
+    }
+}
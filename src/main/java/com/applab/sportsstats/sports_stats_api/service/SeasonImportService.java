@@ -0,0 +1,589 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.ImportRejection;
+import com.applab.sportsstats.sports_stats_api.dto.ImportReport;
+import com.applab.sportsstats.sports_stats_api.dto.ImportTableReport;
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk import of whole seasons from CSV or NDJSON files, written with JDBC
+ * batches rather than through the entities.
+ *
+ * The files of a directory are imported in dependency order: teams, players,
+ * matches, then stats. Rows refer to each other by the ids used in the files,
+ * which are resolved to the generated ids through in-memory maps. For each
+ * file, one thread reads and validates the rows while writer threads insert
+ * them in batches, each in its own transaction. The queue between the two is
+ * bounded, so reading waits for the writers instead of buffering the file;
+ * the first stage to fail stops the others and fails the import. A batch
+ * the database refuses is retried row by row, so that only the offending
+ * rows are rejected; of two conflicting rows in different batches,
+ * the one committed first is kept. The read models and caches are rebuilt once,
+ * after the last file.
+ */
+@Slf4j
+@Service
+public class SeasonImportService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final String[] FILE_EXTENSIONS = {".csv", ".ndjson", ".jsonl"};
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    // The allocation size of the stats id sequence, as in Stats
+    private static final int STATS_ID_BLOCK = 50;
+    private static final List<Row> END_OF_FILE = new ArrayList<>(0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionFactory sessionFactory;
+    private final PlayerAggregateService playerAggregateService;
+    private final TeamStandingsService teamStandingsService;
+    private final LeaderboardService leaderboardService;
+    private final PlayerSearchService playerSearchService;
+    private final RowCountCache rowCountCache;
+    private final ResponseCache responseCache;
+    private final Path importRoot;
+    private final int defaultBatchSize;
+    private final int writers;
+    private final String nextStatsIdQuery;
+
+    private long nextStatsId;
+    private long lastStatsId = -1;
+
+    public SeasonImportService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               EntityManagerFactory entityManagerFactory,
+                               PlayerAggregateService playerAggregateService,
+                               TeamStandingsService teamStandingsService,
+                               LeaderboardService leaderboardService,
+                               PlayerSearchService playerSearchService,
+                               RowCountCache rowCountCache,
+                               ResponseCache responseCache,
+                               @Value("${sports-stats.import.directory:imports}") String importRoot,
+                               @Value("${sports-stats.import.batch-size:1000}") int defaultBatchSize,
+                               @Value("${sports-stats.import.writers:2}") int writers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.playerAggregateService = playerAggregateService;
+        this.teamStandingsService = teamStandingsService;
+        this.leaderboardService = leaderboardService;
+        this.playerSearchService = playerSearchService;
+        this.rowCountCache = rowCountCache;
+        this.responseCache = responseCache;
+        this.importRoot = Path.of(importRoot).toAbsolutePath().normalize();
+        this.defaultBatchSize = defaultBatchSize;
+        this.writers = writers;
+        this.nextStatsIdQuery = sessionFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString("stats_id_seq");
+    }
+
+    /**
+     * Imports a directory named by an API client, which must be within the
+     * configured import directory.
+     */
+    public ImportReport importSeason(String directory, Integer batchSize) {
+        Path resolved = importRoot.resolve(directory).normalize();
+        if (!resolved.startsWith(importRoot)) {
+            throw new IllegalArgumentException("Import directory must be within " + importRoot);
+        }
+        return importSeason(resolved, batchSize);
+    }
+
+    /**
+     * Imports the {@code teams}, {@code players}, {@code matches} and
+     * {@code stats} files found in the directory, each as {@code .csv},
+     * {@code .ndjson} or {@code .jsonl}. Any of them may be missing, as long
+     * as the rows of the others only refer to rows of the same import.
+     *
+     * @param batchSize rows per batch and transaction, or null for the configured size
+     */
+    public ImportReport importSeason(Path directory, Integer batchSize) {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Import directory not found: " + directory);
+        }
+
+        long start = System.currentTimeMillis();
+        TeamTable teams = new TeamTable();
+        PlayerTable players = new PlayerTable(teams);
+        MatchTable matches = new MatchTable(teams);
+        StatsTable stats = new StatsTable(players, matches);
+
+        List<ImportTableReport> reports = new ArrayList<>();
+        for (Table table : List.of(teams, players, matches, stats)) {
+            Path file = find(directory, table.name);
+            if (file != null) {
+                reports.add(importTable(table, file, size));
+            }
+        }
+        if (reports.isEmpty()) {
+            throw new IllegalArgumentException("No teams, players, matches or stats files found in " + directory);
+        }
+
+        refreshDerivedState();
+        ImportReport report = new ImportReport(reports, System.currentTimeMillis() - start);
+        log.info("Imported {} rows from {} in {} ms, {} rejected",
+                report.rowsImported(), directory, report.durationMillis(), report.rowsRejected());
+        return report;
+    }
+
+    private static Path find(Path directory, String name) {
+        for (String extension : FILE_EXTENSIONS) {
+            Path file = directory.resolve(name + extension);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private ImportTableReport importTable(Table table, Path file, int batchSize) {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress();
+        // A couple of batches per writer, so that neither stage waits for the other on every batch
+        BlockingQueue<List<Row>> queue = new ArrayBlockingQueue<>(2 * writers);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            List<Future<Void>> stages = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                stages.add(completion.submit(() -> write(table, queue, progress)));
+            }
+            stages.add(completion.submit(() -> read(table, file, batchSize, queue, progress)));
+            try {
+                // In the order they end, so that the first failure is the one reported
+                for (int i = 0; i < stages.size(); i++) {
+                    completion.take().get();
+                }
+            } finally {
+                // After a failure, the other stages would wait on the queue forever: interrupt them
+                stages.forEach(stage -> stage.cancel(true));
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw new UncheckedIOException("Unable to read " + file, ioException);
+            }
+            throw new IllegalStateException("Import of " + file + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import of " + file + " was interrupted", e);
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        List<ImportRejection> rejections = progress.rejections.stream()
+                .sorted(Comparator.comparingLong(ImportRejection::line))
+                .toList();
+        ImportTableReport report = new ImportTableReport(table.name, file.getFileName().toString(),
+                progress.read.get(), progress.imported.get(), progress.rejected.get(), duration, rejections);
+        log.info("Imported {} {} rows from {} in {} ms ({} rows/s), {} rejected", report.rowsImported(), table.name,
+                report.file(), duration, Math.round(report.rowsPerSecond()), report.rowsRejected());
+        return report;
+    }
+
+    private Void read(Table table, Path file, int batchSize, BlockingQueue<List<Row>> queue,
+                      Progress progress) throws IOException, InterruptedException {
+        try (ImportRecordReader reader = ImportRecordReader.open(file)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            ImportRecordReader.ImportRecord record;
+            while ((record = reader.next()) != null) {
+                progress.read.incrementAndGet();
+                try {
+                    if (record.error() != null) {
+                        throw new IllegalArgumentException(record.error());
+                    }
+                    batch.add(new Row(record.line(), table.key(record.fields()), table.parse(record.fields())));
+                } catch (RuntimeException e) {
+                    // Unknown references, missing values and malformed numbers, dates or enums
+                    progress.reject(record.line(), e.getMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+            }
+        }
+        // Only at the end of the file: after a failure the writers are interrupted instead
+        for (int i = 0; i < writers; i++) {
+            queue.put(END_OF_FILE);
+        }
+        return null;
+    }
+
+    private Void write(Table table, BlockingQueue<List<Row>> queue, Progress progress) throws InterruptedException {
+        List<Row> batch;
+        while ((batch = queue.take()) != END_OF_FILE) {
+            try {
+                insert(table, batch);
+                progress.imported.addAndGet(batch.size());
+            } catch (DataAccessException e) {
+                // One refused row fails the whole batch: retry the rows one by one to find it
+                for (Row row : batch) {
+                    try {
+                        insert(table, List.of(row));
+                        progress.imported.incrementAndGet();
+                    } catch (DataAccessException rowFailure) {
+                        progress.reject(row.line(), NestedExceptionUtils.getMostSpecificCause(rowFailure)
+                                .getMessage().lines().findFirst().orElse("Rejected by the database"));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void insert(Table table, List<Row> rows) {
+        Map<String, Long> generatedIds = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Map<String, Long>>) connection -> table.insert(connection, rows)));
+        // Only once committed, so that no later row refers to a rolled back one
+        table.ids.putAll(generatedIds);
+    }
+
+    /**
+     * The aggregates, standings, leaderboards and search index are derived
+     * from the tables, and the caches hold results from before the import.
+     */
+    private void refreshDerivedState() {
+        playerAggregateService.rebuild();
+        teamStandingsService.rebuild();
+        leaderboardService.reload();
+        playerSearchService.rebuild();
+        sessionFactory.getCache().evictAllRegions();
+        responseCache.clear();
+        rowCountCache.invalidate(Team.class, Player.class, Match.class, Stats.class);
+    }
+
+    private synchronized long nextStatsId() {
+        if (nextStatsId > lastStatsId) {
+            // As Hibernate's pooled optimizer: each value read ends a block of ids
+            lastStatsId = jdbcTemplate.queryForObject(nextStatsIdQuery, Long.class);
+            nextStatsId = lastStatsId - STATS_ID_BLOCK + 1;
+        }
+        return nextStatsId++;
+    }
+
+    // ==================== TABLES ====================
+
+    private record Row(long line, String key, Object[] values) {
+    }
+
+    private abstract static class Table {
+
+        final String name;
+        final String insertSql;
+        // Ids in the file to generated ids
+        final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+        Table(String name, String insertSql) {
+            this.name = name;
+            this.insertSql = insertSql;
+        }
+
+        String key(Map<String, String> fields) {
+            return required(fields, "id");
+        }
+
+        abstract Object[] parse(Map<String, String> fields);
+
+        Map<String, Long> insert(Connection connection, List<Row> rows) throws SQLException {
+            Map<String, Long> generatedIds = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(insertSql, new String[] {"id"})) {
+                for (Row row : rows) {
+                    bind(statement, 1, row.values());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Row row : rows) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated id for line " + row.line());
+                        }
+                        generatedIds.put(row.key(), keys.getLong(1));
+                    }
+                }
+            }
+            return generatedIds;
+        }
+
+        Long reference(Map<String, String> fields, String field) {
+            String key = required(fields, field);
+            Long id = ids.get(key);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown " + field + ": " + key);
+            }
+            return id;
+        }
+    }
+
+    private static final class TeamTable extends Table {
+
+        TeamTable() {
+            super("teams", "INSERT INTO teams (name, city, founded_year, coach_name, home_stadium, " +
+                    "championships_won, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        @Override
+        Object[] parse(Map<String, String> fields) {
+            return new Object[] {
+                    required(fields, "name"),
+                    required(fields, "city"),
+                    integer(fields, "foundedYear", false),
+                    fields.get("coachName"),
+                    fields.get("homeStadium"),
+                    integer(fields, "championshipsWon", false),
+                    LocalDate.now()
+            };
+        }
+    }
+
+    private static final class PlayerTable extends Table {
+
+        private final TeamTable teams;
+
+        PlayerTable(TeamTable teams) {
+            super("players", "INSERT INTO players (first_name, last_name, jersey_number, position, " +
+                    "date_of_birth, height, weight, team_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            this.teams = teams;
+        }
+
+        @Override
+        Object[] parse(Map<String, String> fields) {
+            String dateOfBirth = fields.get("dateOfBirth");
+            int jerseyNumber = integer(fields, "jerseyNumber", true);
+            if (jerseyNumber < 0 || jerseyNumber > 99) {
+                throw new IllegalArgumentException("jerseyNumber must be between 0 and 99");
+            }
+            return new Object[] {
+                    required(fields, "firstName"),
+                    required(fields, "lastName"),
+                    jerseyNumber,
+                    constant(Position.class, fields, "position", null).name(),
+                    dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null,
+                    integer(fields, "height", false),
+                    integer(fields, "weight", false),
+                    teams.reference(fields, "teamId"),
+                    LocalDate.now()
+            };
+        }
+    }
+
+    private static final class MatchTable extends Table {
+
+        private static final int HOME_TEAM = 5;
+        private static final int AWAY_TEAM = 6;
+
+        private final TeamTable teams;
+
+        MatchTable(TeamTable teams) {
+            super("matches", "INSERT INTO matches (match_date, venue, status, home_team_score, away_team_score, " +
+                    "home_team_id, away_team_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+            this.teams = teams;
+        }
+
+        @Override
+        Object[] parse(Map<String, String> fields) {
+            Long homeTeamId = teams.reference(fields, "homeTeamId");
+            Long awayTeamId = teams.reference(fields, "awayTeamId");
+            if (homeTeamId.equals(awayTeamId)) {
+                throw new IllegalArgumentException("Home and away teams must be different");
+            }
+            return new Object[] {
+                    OffsetDateTime.parse(required(fields, "matchDate")),
+                    required(fields, "venue"),
+                    constant(Match.MatchStatus.class, fields, "status", Match.MatchStatus.SCHEDULED).name(),
+                    integer(fields, "homeTeamScore", false),
+                    integer(fields, "awayTeamScore", false),
+                    homeTeamId,
+                    awayTeamId,
+                    OffsetDateTime.now(ZoneOffset.UTC)
+            };
+        }
+
+        @Override
+        Map<String, Long> insert(Connection connection, List<Row> rows) throws SQLException {
+            Map<String, Long> generatedIds = super.insert(connection, rows);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO match_teams (match_id, team_id) VALUES (?, ?)")) {
+                for (Row row : rows) {
+                    for (int team : new int[] {HOME_TEAM, AWAY_TEAM}) {
+                        bind(statement, 1, new Object[] {generatedIds.get(row.key()), row.values()[team]});
+                        statement.addBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            return generatedIds;
+        }
+    }
+
+    private final class StatsTable extends Table {
+
+        private static final String[] COUNTS = {"points", "assists", "rebounds", "steals", "blocks",
+                "fieldGoalsMade", "fieldGoalsAttempted", "threePointersMade", "threePointersAttempted",
+                "freeThrowsMade", "freeThrowsAttempted"};
+
+        private final PlayerTable players;
+        private final MatchTable matches;
+
+        StatsTable(PlayerTable players, MatchTable matches) {
+            super("stats", "INSERT INTO stats (id, player_id, match_id, points, assists, rebounds, steals, blocks, " +
+                    "field_goals_made, field_goals_attempted, three_pointers_made, three_pointers_attempted, " +
+                    "free_throws_made, free_throws_attempted, minutes_played, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            this.players = players;
+            this.matches = matches;
+        }
+
+        // Nothing refers to stat lines
+        @Override
+        String key(Map<String, String> fields) {
+            return null;
+        }
+
+        @Override
+        Object[] parse(Map<String, String> fields) {
+            Object[] values = new Object[COUNTS.length + 4];
+            values[0] = players.reference(fields, "playerId");
+            values[1] = matches.reference(fields, "matchId");
+            for (int i = 0; i < COUNTS.length; i++) {
+                int count = integer(fields, COUNTS[i], true);
+                if (count < 0) {
+                    throw new IllegalArgumentException(COUNTS[i] + " cannot be negative");
+                }
+                values[i + 2] = count;
+            }
+            for (int made = 7; made <= 11; made += 2) {
+                if ((int) values[made] > (int) values[made + 1]) {
+                    throw new IllegalArgumentException(COUNTS[made - 2] + " cannot exceed " + COUNTS[made - 1]);
+                }
+            }
+            Integer minutesPlayed = integer(fields, "minutesPlayed", false);
+            if (minutesPlayed != null && (minutesPlayed < 0 || minutesPlayed > 48)) {
+                throw new IllegalArgumentException("minutesPlayed must be between 0 and 48");
+            }
+            values[COUNTS.length + 2] = minutesPlayed;
+            values[COUNTS.length + 3] = OffsetDateTime.now(ZoneOffset.UTC);
+            return values;
+        }
+
+        @Override
+        Map<String, Long> insert(Connection connection, List<Row> rows) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                for (Row row : rows) {
+                    statement.setLong(1, nextStatsId());
+                    bind(statement, 2, row.values());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return Map.of();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int firstIndex, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            StatementCreatorUtils.setParameterValue(statement, firstIndex + i, SqlTypeValue.TYPE_UNKNOWN, values[i]);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String field) {
+        String value = fields.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static Integer integer(Map<String, String> fields, String field, boolean required) {
+        String value = required ? required(fields, field) : fields.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a whole number: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, Map<String, String> fields, String field,
+                                                  E defaultValue) {
+        String value = defaultValue != null ? fields.get(field) : required(fields, field);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " must be one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    private static final class Progress {
+
+        final AtomicLong read = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final List<ImportRejection> rejections = new ArrayList<>();
+
+        synchronized void reject(long line, String reason) {
+            rejected.incrementAndGet();
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new ImportRejection(line, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import com.applab.sportsstats.sports_stats_api.dto.MatchResult;
+import com.applab.sportsstats.sports_stats_api.dto.StandingsSort;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.entity.TeamStanding;
+import com.applab.sportsstats.sports_stats_api.enums.MatchOutcome;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamStandingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Keeps the {@code team_standings} table in step with match results and
+ * serves the league table from it.
+ *
+ * Result changes are applied as a reversal of the previous result followed
+ * by the new one, so corrections to a completed score need no rescan. Only
+ * the current streak is re-derived, from the team's most recent completed
+ * results: they are read page by page, newest first, until the first
+ * result that breaks the streak.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamStandingsService {
+
+    public static final int MAX_LIMIT = 100;
+
+    // Results read per page for a streak, on top of the length of the stored one
+    private static final int STREAK_PAGE_MARGIN = 2;
+
+    private final TeamStandingRepository teamStandingRepository;
+    private final TeamRepository teamRepository;
+    private final MatchRepository matchRepository;
+
+    @Transactional(readOnly = true)
+    public List<TeamStanding> standings(StandingsSort sort, Integer limit) {
+        if (sort == null) sort = new StandingsSort();
+        if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("Standings limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Pageable pageable = limit != null
+                ? PageRequest.of(0, limit, sort.toSpringSort())
+                : Pageable.unpaged(sort.toSpringSort());
+        return teamStandingRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Applies a match result change: {@code before} and {@code after} are the
+     * {@link MatchResult} snapshots around the write, null when the match did
+     * not (or no longer does) count.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchChanged(MatchResult before, MatchResult after) {
+        if (Objects.equals(before, after)) return;
+
+        // Lock in id order so that two matches between the same teams cannot deadlock
+        TreeSet<Long> teamIds = new TreeSet<>();
+        if (before != null) teamIds.addAll(List.of(before.homeTeamId(), before.awayTeamId()));
+        if (after != null) teamIds.addAll(List.of(after.homeTeamId(), after.awayTeamId()));
+
+        for (Long teamId : teamIds) {
+            TeamStanding standing = teamStandingRepository.findByIdForUpdate(teamId)
+                    .orElseGet(() -> TeamStanding.builder().teamId(teamId).build());
+
+            if (before != null && isParticipant(before, teamId)) standing.apply(before, -1);
+            if (after != null && isParticipant(after, teamId)) standing.apply(after, 1);
+            refreshStreak(standing);
+
+            teamStandingRepository.save(standing);
+            log.debug("Standing updated - Team ID: {}, W-L-T: {}-{}-{}, streak: {}", teamId,
+                    standing.getWins(), standing.getLosses(), standing.getTies(), standing.getStreak());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teamCreated(Long teamId) {
+        teamStandingRepository.save(TeamStanding.builder().teamId(teamId).build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teamRemoved(Long teamId) {
+        teamStandingRepository.deleteByTeamId(teamId);
+    }
+
+    /**
+     * Recomputes every standing from the completed matches, in play order.
+     *
+     * @return number of teams in the standings
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, TeamStanding> standings = new HashMap<>();
+        for (Team team : teamRepository.findAll()) {
+            standings.put(team.getId(), TeamStanding.builder().teamId(team.getId()).build());
+        }
+        for (MatchResult result : matchRepository.findCompletedResults()) {
+            for (Long teamId : List.of(result.homeTeamId(), result.awayTeamId())) {
+                TeamStanding standing = standings.get(teamId);
+                standing.apply(result, 1);
+                standing.extendStreak(result.outcomeFor(teamId));
+            }
+        }
+
+        teamStandingRepository.deleteAllStandings();
+        teamStandingRepository.saveAll(standings.values());
+
+        log.info("Rebuilt standings for {} teams in {} ms", standings.size(), System.currentTimeMillis() - start);
+        return standings.size();
+    }
+
+    /**
+     * One result more than the stored streak usually settles it: a new result
+     * either extends the streak or breaks it. A corrected score can join two
+     * streaks, in which case the following pages are read as well.
+     */
+    private void refreshStreak(TeamStanding standing) {
+        Long teamId = standing.getTeamId();
+        int pageSize = standing.getStreakLength() + STREAK_PAGE_MARGIN;
+        MatchOutcome current = null;
+        int length = 0;
+        for (int page = 0; ; page++) {
+            List<MatchResult> results = matchRepository.findCompletedResultsByTeamIdMostRecentFirst(
+                    teamId, PageRequest.of(page, pageSize));
+            for (MatchResult result : results) {
+                MatchOutcome outcome = result.outcomeFor(teamId);
+                if (current != null && outcome != current) {
+                    setStreak(standing, current, length);
+                    return;
+                }
+                current = outcome;
+                length++;
+            }
+            if (results.size() < pageSize) break;
+        }
+        setStreak(standing, current, length);
+    }
+
+    private static void setStreak(TeamStanding standing, MatchOutcome outcome, int length) {
+        standing.setStreakOutcome(outcome);
+        standing.setStreakLength(length);
+    }
+
+    private static boolean isParticipant(MatchResult result, Long teamId) {
+        return result.homeTeamId().equals(teamId) || result.awayTeamId().equals(teamId);
+    }
+}
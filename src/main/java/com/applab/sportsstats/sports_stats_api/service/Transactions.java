@@ -0,0 +1,28 @@
+package com.applab.sportsstats.sports_stats_api.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Deferral of in-memory updates (indexes, caches, counters) to the commit of
+ * the surrounding transaction, so that a rolled back write never shows in
+ * them. Without a transaction the update runs at once.
+ */
+final class Transactions {
+
+    private Transactions() {
+    }
+
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+-- Baseline: the schema as previously generated by Hibernate from the entities
+
+CREATE TABLE teams (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              VARCHAR(255) NOT NULL,
+    city              VARCHAR(255) NOT NULL,
+    founded_year      INTEGER,
+    coach_name        VARCHAR(255),
+    home_stadium      VARCHAR(255),
+    championships_won INTEGER,
+    created_at        DATE NOT NULL,
+    CONSTRAINT uk_teams_name UNIQUE (name)
+);
+
+CREATE TABLE players (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    jersey_number INTEGER NOT NULL,
+    position      VARCHAR(255) NOT NULL,
+    date_of_birth DATE,
+    height        INTEGER,
+    weight        INTEGER,
+    team_id       BIGINT NOT NULL,
+    created_at    DATE NOT NULL,
+    CONSTRAINT uk_players_jersey_number UNIQUE (jersey_number),
+    CONSTRAINT fk_players_team FOREIGN KEY (team_id) REFERENCES teams (id),
+    CONSTRAINT ck_players_position CHECK (position IN
+        ('POINT_GUARD', 'SHOOTING_GUARD', 'SMALL_FORWARD', 'POWER_FORWARD', 'CENTER'))
+);
+
+CREATE TABLE matches (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    match_date      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    venue           VARCHAR(255) NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    home_team_score INTEGER,
+    away_team_score INTEGER,
+    home_team_id    BIGINT,
+    away_team_id    BIGINT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_matches_home_team FOREIGN KEY (home_team_id) REFERENCES teams (id),
+    CONSTRAINT fk_matches_away_team FOREIGN KEY (away_team_id) REFERENCES teams (id),
+    CONSTRAINT ck_matches_status CHECK (status IN
+        ('SCHEDULED', 'LIVE', 'COMPLETED', 'CANCELLED', 'POSTPONED'))
+);
+
+CREATE TABLE match_teams (
+    match_id BIGINT NOT NULL,
+    team_id  BIGINT NOT NULL,
+    CONSTRAINT fk_match_teams_match FOREIGN KEY (match_id) REFERENCES matches (id),
+    CONSTRAINT fk_match_teams_team FOREIGN KEY (team_id) REFERENCES teams (id)
+);
+
+CREATE TABLE stats (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    player_id                BIGINT NOT NULL,
+    match_id                 BIGINT NOT NULL,
+    points                   INTEGER NOT NULL,
+    assists                  INTEGER NOT NULL,
+    rebounds                 INTEGER NOT NULL,
+    steals                   INTEGER NOT NULL,
+    blocks                   INTEGER NOT NULL,
+    field_goals_made         INTEGER NOT NULL,
+    field_goals_attempted    INTEGER NOT NULL,
+    three_pointers_made      INTEGER NOT NULL,
+    three_pointers_attempted INTEGER NOT NULL,
+    free_throws_made         INTEGER NOT NULL,
+    free_throws_attempted    INTEGER NOT NULL,
+    minutes_played           INTEGER,
+    created_at               TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_stats_player FOREIGN KEY (player_id) REFERENCES players (id),
+    CONSTRAINT fk_stats_match FOREIGN KEY (match_id) REFERENCES matches (id)
+);
+
+CREATE TABLE player_aggregates (
+    player_id                        BIGINT NOT NULL PRIMARY KEY,
+    games_played                     BIGINT NOT NULL,
+    minutes_recorded                 BIGINT NOT NULL,
+    total_points                     BIGINT NOT NULL,
+    total_assists                    BIGINT NOT NULL,
+    total_rebounds                   BIGINT NOT NULL,
+    total_steals                     BIGINT NOT NULL,
+    total_blocks                     BIGINT NOT NULL,
+    total_field_goals_made           BIGINT NOT NULL,
+    total_field_goals_attempted      BIGINT NOT NULL,
+    total_three_pointers_made        BIGINT NOT NULL,
+    total_three_pointers_attempted   BIGINT NOT NULL,
+    total_free_throws_made           BIGINT NOT NULL,
+    total_free_throws_attempted      BIGINT NOT NULL,
+    total_minutes_played             BIGINT NOT NULL,
+    average_points                   DOUBLE PRECISION NOT NULL,
+    average_assists                  DOUBLE PRECISION NOT NULL,
+    average_rebounds                 DOUBLE PRECISION NOT NULL,
+    average_steals                   DOUBLE PRECISION NOT NULL,
+    average_blocks                   DOUBLE PRECISION NOT NULL,
+    average_field_goals_made         DOUBLE PRECISION NOT NULL,
+    average_field_goals_attempted    DOUBLE PRECISION NOT NULL,
+    average_three_pointers_made      DOUBLE PRECISION NOT NULL,
+    average_three_pointers_attempted DOUBLE PRECISION NOT NULL,
+    average_free_throws_made         DOUBLE PRECISION NOT NULL,
+    average_free_throws_attempted    DOUBLE PRECISION NOT NULL,
+    average_minutes_played           DOUBLE PRECISION NOT NULL,
+    updated_at                       TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_player_aggregates_average_points ON player_aggregates (average_points);
+
+CREATE TABLE team_standings (
+    team_id            BIGINT NOT NULL PRIMARY KEY,
+    games_played       INTEGER NOT NULL,
+    wins               INTEGER NOT NULL,
+    losses             INTEGER NOT NULL,
+    ties               INTEGER NOT NULL,
+    home_wins          INTEGER NOT NULL,
+    home_losses        INTEGER NOT NULL,
+    home_ties          INTEGER NOT NULL,
+    away_wins          INTEGER NOT NULL,
+    away_losses        INTEGER NOT NULL,
+    away_ties          INTEGER NOT NULL,
+    points_for         INTEGER NOT NULL,
+    points_against     INTEGER NOT NULL,
+    point_differential INTEGER NOT NULL,
+    win_percentage     DOUBLE PRECISION NOT NULL,
+    streak_outcome     VARCHAR(255),
+    streak_length      INTEGER NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT ck_team_standings_streak_outcome CHECK (streak_outcome IN ('WIN', 'LOSS', 'TIE'))
+);
+
+CREATE INDEX idx_team_standings_win_percentage ON team_standings (win_percentage);
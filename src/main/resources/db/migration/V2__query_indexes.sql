@@ -0,0 +1,24 @@
+-- Indexes for the lookups, joins and orderings of the repository queries
+
+-- One stat line per player and match; also serves the lookups by player
+ALTER TABLE stats ADD CONSTRAINT uk_stats_player_match UNIQUE (player_id, match_id);
+CREATE INDEX idx_stats_match ON stats (match_id);
+
+-- A team's matches, most recent first
+CREATE INDEX idx_matches_home_team ON matches (home_team_id, match_date);
+CREATE INDEX idx_matches_away_team ON matches (away_team_id, match_date);
+
+-- Matches by status in date order, and upcoming or date-ranged matches
+CREATE INDEX idx_matches_status_date ON matches (status, match_date);
+CREATE INDEX idx_matches_date ON matches (match_date);
+
+CREATE INDEX idx_match_teams_match ON match_teams (match_id);
+CREATE INDEX idx_match_teams_team ON match_teams (team_id);
+
+-- A team's roster, optionally by position, and players by position
+CREATE INDEX idx_players_team_position ON players (team_id, position);
+CREATE INDEX idx_players_position ON players (position);
+
+-- Teams by city or coach
+CREATE INDEX idx_teams_city ON teams (city);
+CREATE INDEX idx_teams_coach_name ON teams (coach_name);
@@ -0,0 +1,7 @@
+-- Stat line ids are allocated in blocks of 50 from a sequence rather than by the identity column,
+-- so that Hibernate knows the ids before the insert and can send a box score in one JDBC batch
+
+CREATE SEQUENCE stats_id_seq START WITH 50 INCREMENT BY 50;
+
+-- The pooled optimizer hands out the 50 ids up to each value it reads: start past the existing lines
+ALTER SEQUENCE stats_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM stats);
@@ -0,0 +1,4 @@
+-- Jersey numbers are unique within a team, not across the league; the constraint replaces the
+-- roster check of createPlayer, and its index serves the lookups of a team's players
+ALTER TABLE players DROP CONSTRAINT uk_players_jersey_number;
+ALTER TABLE players ADD CONSTRAINT uk_players_team_jersey UNIQUE (team_id, jersey_number);
@@ -0,0 +1,6 @@
+-- A game played is a stat line with minutes played, as in the leaderboards; the averages stay
+-- over every recorded line, which now has a count of its own
+ALTER TABLE player_aggregates ADD COLUMN stat_lines BIGINT DEFAULT 0 NOT NULL;
+UPDATE player_aggregates a SET
+    stat_lines = games_played,
+    games_played = (SELECT COUNT(*) FROM stats s WHERE s.player_id = a.player_id AND s.minutes_played > 0);
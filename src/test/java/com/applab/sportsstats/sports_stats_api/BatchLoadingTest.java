@@ -0,0 +1,126 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.Stats;
+import com.applab.sportsstats.sports_stats_api.entity.Team;
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@Transactional
+class BatchLoadingTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Top the sample data up to 100 stat lines spread over many players and matches
+        List<Team> teams = teamRepository.findAll();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            players.add(playerRepository.save(Player.builder()
+                    .firstName("Batch")
+                    .lastName("Player" + i)
+                    .jerseyNumber(40 + i)
+                    .position(Position.CENTER)
+                    .team(teams.get(i % teams.size()))
+                    .build()));
+        }
+        for (int m = 0; m < 9; m++) {
+            Match match = matchRepository.save(Match.builder()
+                    .matchDate(OffsetDateTime.of(2024, 2, 1 + m, 20, 0, 0, 0, ZoneOffset.UTC))
+                    .venue("Batch Arena " + m)
+                    .status(Match.MatchStatus.COMPLETED)
+                    .homeTeam(teams.get(m % teams.size()))
+                    .awayTeam(teams.get((m + 1) % teams.size()))
+                    .homeTeamScore(100)
+                    .awayTeamScore(90)
+                    .build());
+            for (Player player : players) {
+                statsRepository.save(Stats.builder().player(player).match(match).points(m).build());
+            }
+        }
+        assertThat(statsRepository.count()).isEqualTo(100);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void statsPageResolvesNestedAssociationsWithFixedStatementCount() {
+        graphQlTester.document("""
+                {
+                  statsPaginated(pagination: { page: 0, size: 100 }) {
+                    content {
+                      points
+                      player { team { name } }
+                      match { homeTeam { name } }
+                    }
+                  }
+                }
+                """)
+                .execute()
+                .path("statsPaginated.content").entityList(Object.class).hasSize(100)
+                .path("statsPaginated.content[*].player.team.name").entityList(String.class)
+                .satisfies(names -> assertThat(names).doesNotContainNull())
+                .path("statsPaginated.content[*].match.homeTeam.name").entityList(String.class)
+                .satisfies(names -> assertThat(names).doesNotContainNull());
+
+        // page + count, then one IN query each for players, matches and (shared) teams
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void teamRecordsAreLoadedWithSingleQuery() {
+        graphQlTester.document("{ teams { name totalWins totalLosses totalTies winPercentage } }")
+                .execute()
+                .path("teams").entityList(Object.class).hasSize(4);
+
+        // teams + one conditional aggregate for all records
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,138 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A box score is validated as a whole and written with a fixed number of
+ * statements, whatever the number of lines.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Transactional
+class BoxScoreTest {
+
+    private static final String RECORD_BOX_SCORE = """
+            mutation RecordBoxScore($matchId: ID!, $lines: [StatLineInput!]!) {
+              recordBoxScore(matchId: $matchId, lines: $lines) { id points player { lastName } }
+            }
+            """;
+
+    // Match 3, Warriors at Celtics, is live and has no stats yet
+    private static final long LIVE_MATCH = 3;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Autowired
+    private PlayerAggregateRepository playerAggregateRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void boxScoreIsWrittenInBatches() {
+        List<Player> players = playerRepository.findAll().stream()
+                .filter(player -> List.of("Curry", "Thompson", "Green", "Tatum", "Brown").contains(player.getLastName()))
+                .toList();
+        long curryGames = playerAggregateRepository.findById(idOf(players, "Curry")).orElseThrow().getGamesPlayed();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        graphQlTester.document(RECORD_BOX_SCORE)
+                .variable("matchId", LIVE_MATCH)
+                .variable("lines", players.stream().map(player -> line(player.getId(), 20)).toList())
+                .execute()
+                .path("recordBoxScore[*].id").entityList(Long.class).hasSize(5)
+                .path("recordBoxScore[*].points").entityList(Integer.class).containsExactly(20, 20, 20, 20, 20);
+        entityManager.flush();
+
+        // players, existing lines, id block, aggregates; then one insert batch and one update batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+        assertThat(statsRepository.findByMatchId(LIVE_MATCH)).hasSize(5);
+        assertThat(playerAggregateRepository.findById(idOf(players, "Curry")).orElseThrow().getGamesPlayed())
+                .isEqualTo(curryGames + 1);
+    }
+
+    @Test
+    void boxScoreIsRejectedAsAWhole() {
+        Player tatum = playerRepository.findAll().stream()
+                .filter(player -> player.getLastName().equals("Tatum")).findFirst().orElseThrow();
+        Player curry = playerRepository.findAll().stream()
+                .filter(player -> player.getLastName().equals("Curry")).findFirst().orElseThrow();
+
+        // Jayson Tatum already has a line in match 2, Stephen Curry does not
+        graphQlTester.document(RECORD_BOX_SCORE)
+                .variable("matchId", 2)
+                .variable("lines", List.of(line(curry.getId(), 10), line(tatum.getId(), 30)))
+                .execute()
+                .errors().expect(error -> error.getMessage().equals(
+                        "Stats already recorded for players [" + tatum.getId() + "] in match 2"))
+                .verify();
+
+        graphQlTester.document(RECORD_BOX_SCORE)
+                .variable("matchId", LIVE_MATCH)
+                .variable("lines", List.of(line(curry.getId(), 10), line(curry.getId(), 12)))
+                .execute()
+                .errors().expect(error -> error.getMessage().equals(
+                        "Player " + curry.getId() + " appears more than once in the box score"))
+                .verify();
+
+        entityManager.flush();
+        assertThat(statsRepository.findByMatchId(2L)).hasSize(4);
+        assertThat(statsRepository.findByMatchId(LIVE_MATCH)).isEmpty();
+    }
+
+    private static Long idOf(List<Player> players, String lastName) {
+        return players.stream().filter(player -> player.getLastName().equals(lastName))
+                .findFirst().orElseThrow().getId();
+    }
+
+    private static Map<String, Object> line(Long playerId, int points) {
+        return Map.ofEntries(
+                Map.entry("playerId", playerId),
+                Map.entry("points", points),
+                Map.entry("assists", 3),
+                Map.entry("rebounds", 4),
+                Map.entry("steals", 1),
+                Map.entry("blocks", 0),
+                Map.entry("fieldGoalsMade", 8),
+                Map.entry("fieldGoalsAttempted", 15),
+                Map.entry("threePointersMade", 2),
+                Map.entry("threePointersAttempted", 5),
+                Map.entry("freeThrowsMade", 2),
+                Map.entry("freeThrowsAttempted", 2),
+                Map.entry("minutesPlayed", 30));
+    }
+}
@@ -0,0 +1,25 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL sent by Hibernate, for tests that check the statements
+ * themselves. Installed with {@link #PROPERTY}; the tests clear
+ * {@link #STATEMENTS} before the calls they look at.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.applab.sportsstats.sports_stats_api.CapturingStatementInspector";
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
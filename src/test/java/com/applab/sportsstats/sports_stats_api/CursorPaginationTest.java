@@ -0,0 +1,95 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Transactional
+class CursorPaginationTest {
+
+    private static final String PLAYERS_FORWARD = """
+            query($after: String) {
+              playersPaginated(first: 3, after: $after, sort: { field: "lastName", direction: DESC }) {
+                content { id }
+                pageInfo { hasNextPage hasPreviousPage endCursor totalElements }
+              }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Test
+    void forwardCursorsVisitEveryRowOnceInSortOrder() {
+        List<String> offsetOrder = graphQlTester.document("""
+                { playersPaginated(pagination: { page: 0, size: 100 }, sort: { field: "lastName", direction: DESC }) {
+                    content { id } } }
+                """)
+                .execute()
+                .path("playersPaginated.content[*].id").entityList(String.class).get();
+
+        List<String> cursorOrder = new ArrayList<>();
+        String after = null;
+        boolean hasNextPage = true;
+        while (hasNextPage) {
+            GraphQlTester.Response response = graphQlTester.document(PLAYERS_FORWARD)
+                    .variable("after", after)
+                    .execute();
+            cursorOrder.addAll(response.path("playersPaginated.content[*].id").entityList(String.class).get());
+            assertThat(response.path("playersPaginated.pageInfo.hasPreviousPage").entity(Boolean.class).get())
+                    .isEqualTo(after != null);
+            response.path("playersPaginated.pageInfo.totalElements").valueIsNull();
+
+            hasNextPage = response.path("playersPaginated.pageInfo.hasNextPage").entity(Boolean.class).get();
+            after = response.path("playersPaginated.pageInfo.endCursor").entity(String.class).get();
+        }
+
+        assertThat(cursorOrder).isEqualTo(offsetOrder);
+    }
+
+    @Test
+    void backwardCursorReturnsThePrecedingRowsInSortOrder() {
+        GraphQlTester.Response firstPage = graphQlTester.document(PLAYERS_FORWARD).execute();
+        List<String> firstIds = firstPage.path("playersPaginated.content[*].id").entityList(String.class).get();
+        String endCursor = firstPage.path("playersPaginated.pageInfo.endCursor").entity(String.class).get();
+
+        graphQlTester.document("""
+                query($before: String) {
+                  playersPaginated(last: 2, before: $before, sort: { field: "lastName", direction: DESC }) {
+                    content { id }
+                    pageInfo { hasNextPage hasPreviousPage }
+                  }
+                }
+                """)
+                .variable("before", endCursor)
+                .execute()
+                .path("playersPaginated.content[*].id").entityList(String.class).isEqualTo(firstIds.subList(0, 2))
+                .path("playersPaginated.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true)
+                .path("playersPaginated.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(false);
+    }
+
+    @Test
+    void cursorFromAnotherSortOrderIsRejected() {
+        String endCursor = graphQlTester.document(PLAYERS_FORWARD).execute()
+                .path("playersPaginated.pageInfo.endCursor").entity(String.class).get();
+
+        graphQlTester.document("""
+                query($after: String) {
+                  playersPaginated(first: 3, after: $after) { content { id } }
+                }
+                """)
+                .variable("after", endCursor)
+                .execute()
+                .errors().expect(error -> true).verify();
+    }
+}
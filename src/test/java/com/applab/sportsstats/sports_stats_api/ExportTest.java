@@ -0,0 +1,94 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports stream the filtered rows of a table, in the columns the season
+ * import reads back.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExportTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void statsAreFilteredByPlayerAndMatch() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/export/stats?player.teamId=1&match.status=COMPLETED", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        Integer expected = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM stats s
+                JOIN players p ON p.id = s.player_id
+                JOIN matches m ON m.id = s.match_id
+                WHERE p.team_id = 1 AND m.status = 'COMPLETED'
+                """, Integer.class);
+        assertThat(lines).hasSize(expected).isNotEmpty();
+        assertThat(lines.get(0).get("points").isInt()).isTrue();
+        assertThat(lines).allSatisfy(line -> assertThat(jdbcTemplate.queryForObject(
+                "SELECT team_id FROM players WHERE id = ?", Long.class, line.get("playerId").asLong())).isEqualTo(1));
+    }
+
+    @Test
+    void csvIsGzippedForClientsThatAcceptIt() throws IOException {
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                RequestEntity.get(URI.create("/export/matches?format=csv&status=COMPLETED"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .build(),
+                byte[].class);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        String csv;
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            csv = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = csv.lines().toList();
+        assertThat(lines.get(0)).isEqualTo(
+                "id,homeTeamId,awayTeamId,matchDate,venue,status,homeTeamScore,awayTeamScore");
+        assertThat(lines).hasSize(1 + jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM matches WHERE status = 'COMPLETED'", Integer.class));
+        assertThat(lines.subList(1, lines.size())).allMatch(line -> line.contains(",COMPLETED,"));
+    }
+
+    @Test
+    void invalidFiltersAreRejected() {
+        assertThat(restTemplate.getForEntity("/export/matches?status=FINISHED", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("/export/players?minAge=10", String.class).getBody())
+                .isEqualTo("Minimum age must be between 16 and 50");
+        assertThat(restTemplate.getForEntity("/export/coaches", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
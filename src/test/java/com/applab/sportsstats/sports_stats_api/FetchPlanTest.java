@@ -0,0 +1,74 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@Transactional
+class FetchPlanTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void selectedToOneEdgesAreJoinedAndCollectionsBatched() {
+        long matches = execute("{ matches { id } }", "matches");
+
+        long statements = execute("""
+                { matches { homeTeam { name } awayTeam { name } stats { points player { lastName } } } }
+                """, "matches");
+
+        // One statement for the matches with both teams, one for all their stats with the players
+        assertThat(matches).isEqualTo(1);
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void nestedCollectionsAreFetchedOncePerLevel() {
+        long statements = execute("{ teams { name players { lastName stats { points } } } }", "teams");
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @Test
+    void connectionNodesFollowTheSelection() {
+        long offsetPage = execute("""
+                { playersPaginated(pagination: { page: 0, size: 5 }) { content { team { name } } } }
+                """, "playersPaginated");
+        long cursorPage = execute("""
+                { playersPaginated(first: 5) { edges { node { team { name } stats { points } } } } }
+                """, "playersPaginated");
+
+        assertThat(offsetPage).isEqualTo(1);
+        // Keyset windows load the page, then each selected association in one batch
+        assertThat(cursorPage).isEqualTo(3);
+    }
+
+    private long execute(String document, String path) {
+        entityManager.clear();
+        statistics.clear();
+        graphQlTester.document(document).execute().path(path).hasValue();
+        return statistics.getPrepareStatementCount();
+    }
+}
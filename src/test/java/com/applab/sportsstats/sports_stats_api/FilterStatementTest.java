@@ -0,0 +1,131 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The filtered queries should send one statement per filter combination,
+ * with only the predicates of the filters that are set.
+ */
+@SpringBootTest(properties = CapturingStatementInspector.PROPERTY)
+@AutoConfigureGraphQlTester
+@Transactional
+class FilterStatementTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void playerFiltersOnlyEmitTheGivenPredicates() {
+        String byPosition = where("""
+                { playersFiltered(filter: { position: POINT_GUARD }, pagination: { page: 0, size: 2 }) { content { id } } }
+                """, "players");
+        String byTeamAndPoints = where("""
+                { playersFiltered(filter: { teamId: 1, minPoints: 10 }, pagination: { page: 0, size: 2 }) { content { id } } }
+                """, "players");
+
+        assertThat(byPosition).isEqualTo("p1_0.position=?");
+        assertThat(byTeamAndPoints).isEqualTo("p1_0.team_id=? and p1_0.id in "
+                + "((select pa1_0.player_id from player_aggregates pa1_0 where pa1_0.average_points>=?))");
+    }
+
+    @Test
+    void playersQueryAppliesItsFilterSortAndLimit() {
+        String limited = where("""
+                { players(filter: { teamId: 1 }, sort: { field: POINTS, order: DESC }, limit: 2) { id } }
+                """, "players");
+        List<Long> ids = graphQlTester.document("""
+                        { players(filter: { teamId: 1 }, sort: { field: POINTS, order: DESC }, limit: 2) { id } }
+                        """)
+                .execute()
+                .path("players[*].id").entityList(Long.class).get();
+
+        assertThat(limited).isEqualTo("p1_0.team_id=?");
+        assertThat(CapturingStatementInspector.STATEMENTS.getLast()).contains("fetch first ? rows only");
+        // The two best scorers of the Lakers by points per game
+        assertThat(ids).isEqualTo(jdbcTemplate.queryForList("""
+                SELECT p.id FROM players p LEFT JOIN player_aggregates a ON a.player_id = p.id
+                WHERE p.team_id = 1 ORDER BY COALESCE(a.average_points, 0) DESC, p.id LIMIT 2
+                """, Long.class));
+    }
+
+    @Test
+    void matchFiltersOnlyEmitTheGivenPredicates() {
+        String byStatusWithScore = where("""
+                { matchesFiltered(filter: { status: COMPLETED, hasScore: true }, pagination: { page: 0, size: 2 }) { content { id } } }
+                """, "matches");
+        String byDate = where("""
+                { matchesFiltered(filter: { dateFrom: "2024-01-01T00:00:00Z" }, pagination: { page: 0, size: 2 }) { content { id } } }
+                """, "matches");
+        String limited = where("""
+                { matches(filter: { status: COMPLETED }, limit: 1) { id } }
+                """, "matches");
+
+        assertThat(byStatusWithScore).isEqualTo(
+                "m1_0.status=? and m1_0.home_team_score is not null and m1_0.away_team_score is not null");
+        assertThat(byDate).isEqualTo("m1_0.match_date>=?");
+        assertThat(limited).isEqualTo("m1_0.status=?");
+        assertThat(CapturingStatementInspector.STATEMENTS.getLast()).contains("fetch first ? rows only");
+    }
+
+    @Test
+    void emptyFiltersHaveNoWhereClause() {
+        String none = where("""
+                { teamsFiltered(filter: {}, pagination: { page: 0, size: 2 }) { content { id } } }
+                """, "teams");
+
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    void substringFiltersMatchWildcardsLiterally() {
+        graphQlTester.document("""
+                { matchesFiltered(filter: { venue: "%%" }, pagination: { page: 0, size: 5 }) { content { id } } }
+                """)
+                .execute()
+                .path("matchesFiltered.content").entityList(Object.class).hasSize(0);
+
+        assertThat(CapturingStatementInspector.STATEMENTS.getFirst()).contains("like ? escape '\\'");
+    }
+
+    /**
+     * Runs the document and returns the WHERE clause of the statement on the
+     * given table, or an empty string if it has none.
+     */
+    private String where(String document, String table) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        graphQlTester.document(document).execute().errors().verify();
+
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow();
+        // Catch-all filters would show up as "? is null or ..." in every statement
+        assertThat(sql).doesNotContain("? is null");
+
+        int from = sql.indexOf(" where ");
+        if (from < 0) return "";
+        int to = sql.lastIndexOf(" order by ");
+        if (to < from) to = sql.lastIndexOf(" offset ");
+        if (to < from) to = sql.lastIndexOf(" fetch ");
+        return sql.substring(from + " where ".length(), to < from ? sql.length() : to);
+    }
+}
@@ -0,0 +1,104 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.enums.LeaderboardAggregation;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lock-free reads of the in-memory leaderboards see every ranked player
+ * while the store is rebuilt or players are repositioned, and changes a
+ * rebuild already contains are applied once.
+ */
+@SpringBootTest
+class LeaderboardStoreTest {
+
+    private static final int ALL = 1000;
+
+    @Autowired
+    private LeaderboardStore leaderboardStore;
+
+    @AfterEach
+    void tearDown() {
+        leaderboardStore.rebuild();
+    }
+
+    @Test
+    void readersNeverSeeAPartialBoard() {
+        List<LeaderboardStore.RankedPlayer> ranked = top();
+        Set<Long> players = playerIds(ranked);
+        long moving = ranked.getLast().playerId();
+        StatLine line = line(40);
+
+        CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 200; i++) {
+                leaderboardStore.rebuild();
+                // Up to the top and back down again
+                leaderboardStore.apply(leaderboardStore.generation(), moving, null, line);
+                leaderboardStore.apply(leaderboardStore.generation(), moving, line, null);
+            }
+        });
+        while (!writes.isDone()) {
+            assertThat(playerIds(top())).isEqualTo(players);
+        }
+        writes.join();
+
+        assertThat(top()).isEqualTo(ranked);
+    }
+
+    @Test
+    void linesWithoutMinutesLeavePerGameValuesAlone() {
+        LeaderboardStore.RankedPlayer ranked = leaderboardStore.top(StatCategory.POINTS, LeaderboardAggregation.PER_GAME, 1)
+                .getFirst();
+
+        // Points, but no minutes played
+        leaderboardStore.apply(leaderboardStore.generation(), ranked.playerId(), null, line(40));
+
+        assertThat(leaderboardStore.top(StatCategory.POINTS, LeaderboardAggregation.PER_GAME, ALL))
+                .filteredOn(player -> player.playerId() == ranked.playerId())
+                .extracting(LeaderboardStore.RankedPlayer::value)
+                .containsExactly(ranked.value());
+    }
+
+    @Test
+    void changesCommittedBeforeARebuildAreNotCountedTwice() {
+        List<LeaderboardStore.RankedPlayer> ranked = top();
+        long moving = ranked.getLast().playerId();
+        long committed = leaderboardStore.generation();
+
+        // The rebuild's snapshot already has a change committed before it, applied after it
+        leaderboardStore.rebuild();
+        leaderboardStore.apply(committed, moving, null, line(100));
+        assertThat(top()).isEqualTo(ranked);
+
+        leaderboardStore.apply(leaderboardStore.generation(), moving, null, line(100));
+        assertThat(top().getFirst().playerId()).isEqualTo(moving);
+    }
+
+    private List<LeaderboardStore.RankedPlayer> top() {
+        return leaderboardStore.top(StatCategory.POINTS, LeaderboardAggregation.SUM, ALL);
+    }
+
+    private static Set<Long> playerIds(List<LeaderboardStore.RankedPlayer> ranked) {
+        return ranked.stream().map(LeaderboardStore.RankedPlayer::playerId).collect(Collectors.toSet());
+    }
+
+    private static StatLine line(int points) {
+        Integer[] values = new Integer[StatCategory.values().length];
+        for (StatCategory category : StatCategory.values()) {
+            values[category.ordinal()] = category == StatCategory.POINTS ? points : 0;
+        }
+        return new StatLine(values);
+    }
+}
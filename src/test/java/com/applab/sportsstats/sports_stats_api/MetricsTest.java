@@ -0,0 +1,47 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolver latencies, statements per operation, DataLoader batches, errors
+ * and subscriptions are recorded as Micrometer meters.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void executionsAreRecorded() {
+        // Aliased, so that it is not served by the response cache of an earlier test
+        restTemplate.postForObject("/graphql",
+                Map.of("query", "{ metricsTeams: teams { name players { lastName averagePoints team { name } } } }"), Map.class);
+        restTemplate.postForObject("/graphql", Map.of("query", "{ team(id: 1) { unknownField } }"), Map.class);
+
+        assertThat(meterRegistry.get("graphql.field").tag("field", "Query.teams").tag("outcome", "success")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("graphql.field").tag("field", "Player.team").timer().count()).isPositive();
+        assertThat(meterRegistry.find("graphql.field").tag("field", "Team.name").timer()).isNull();
+        // Run one at a time, so not overlapped
+        assertThat(meterRegistry.get("graphql.operation.statements.approximate").tag("operation", "query")
+                .tag("overlapped", "false").summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("graphql.operation.rows.approximate").tag("operation", "query")
+                .tag("overlapped", "false").summary().count()).isPositive();
+        assertThat(meterRegistry.get("graphql.dataloader.batch.size").tag("loader", "PlayerStatsSummary")
+                .summary().max()).isGreaterThan(1);
+        assertThat(meterRegistry.get("graphql.errors").tag("type", "ValidationError").counter().count()).isPositive();
+        assertThat(meterRegistry.get("graphql.subscriptions").tag("stream", "all").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,143 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The write mutations leave existence and uniqueness checks to the database
+ * constraints and delete in bulk, so each runs a fixed number of statements.
+ * A rejected write ends its test, as it leaves the transaction rollback-only.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Transactional
+class MutationStatementBudgetTest {
+
+    // Seeded: LeBron James wears 6 for the Lakers (1); the Warriors (2) have no 6
+    private static final long LAKERS = 1;
+    private static final long WARRIORS = 2;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createsInOneStatement() {
+        long playerStatements = statementsOf("""
+                mutation { createPlayer(input: { firstName: "Budget", lastName: "Rookie", jerseyNumber: 6,
+                                                 position: CENTER, teamId: %d }) { id } }
+                """.formatted(WARRIORS));
+        long matchStatements = statementsOf("""
+                mutation { createMatch(input: { matchDate: "2099-01-01T19:30:00Z", venue: "Chase Center",
+                                                homeTeamId: %d, awayTeamId: %d }) { id } }
+                """.formatted(WARRIORS, LAKERS));
+
+        // The inserts alone: neither the team nor the roster is read
+        assertThat(playerStatements).isEqualTo(1);
+        assertThat(matchStatements).isEqualTo(1);
+        assertThat(playerRepository.findByTeamIdAndJerseyNumber(WARRIORS, 6)).isPresent();
+    }
+
+    @Test
+    void deletesInBulk() {
+        Long teamId = graphQlTester.document("""
+                        mutation { createTeam(input: { name: "Budget Bisons", city: "Fargo" }) { id } }
+                        """)
+                .execute().path("createTeam.id").entity(Long.class).get();
+        for (int jersey = 1; jersey <= 3; jersey++) {
+            graphQlTester.document("""
+                            mutation { createPlayer(input: { firstName: "Budget", lastName: "Bison", jerseyNumber: %d,
+                                                             position: CENTER, teamId: %d }) { id } }
+                            """.formatted(jersey, teamId))
+                    .execute().errors().verify();
+        }
+        Long playerId = playerRepository.findByTeamIdAndJerseyNumber(teamId, 1).orElseThrow().getId();
+
+        long playerStatements = statementsOf("mutation { deletePlayer(id: %d) }".formatted(playerId));
+        long teamStatements = statementsOf("mutation { deleteTeam(id: %d) }".formatted(teamId));
+        long missingStatements = statementsOf("mutation { deletePlayer(id: 999999) }");
+
+        // Aggregate, stat lines and player; a missing player costs the same
+        assertThat(playerStatements).isEqualTo(3);
+        assertThat(missingStatements).isEqualTo(3);
+        // Aggregates, standing, search entries, stat lines, players and team, whatever the roster size
+        assertThat(teamStatements).isLessThanOrEqualTo(7);
+        assertThat(teamRepository.existsById(teamId)).isFalse();
+        assertThat(playerRepository.findByTeamId(teamId)).isEmpty();
+    }
+
+    @Test
+    void takenJerseyIsRejectedByTheConstraint() {
+        graphQlTester.document("""
+                        mutation { createPlayer(input: { firstName: "Second", lastName: "Six", jerseyNumber: 6,
+                                                         position: CENTER, teamId: %d }) { id } }
+                        """.formatted(LAKERS))
+                .execute()
+                .errors().expect(error -> error.getMessage().equals(
+                        "Jersey number 6 is already taken by another player in this team"))
+                .verify();
+    }
+
+    @Test
+    void unknownTeamIsRejectedByTheConstraint() {
+        graphQlTester.document("""
+                        mutation { createPlayer(input: { firstName: "No", lastName: "Team", jerseyNumber: 5,
+                                                         position: CENTER, teamId: 999999 }) { id } }
+                        """)
+                .execute()
+                .errors().expect(error -> error.getMessage().equals("Team not found with id: 999999"))
+                .verify();
+    }
+
+    @Test
+    void recordedStatsAreRejectedByTheConstraint() {
+        // Stephen Curry has a line in match 1
+        Long curryId = playerRepository.findByTeamIdAndJerseyNumber(WARRIORS, 30).orElseThrow().getId();
+        graphQlTester.document("""
+                        mutation { recordStats(input: { playerId: %d, matchId: 1, points: 10, assists: 1, rebounds: 1,
+                                                        steals: 0, blocks: 0, fieldGoalsMade: 4, fieldGoalsAttempted: 8,
+                                                        threePointersMade: 0, threePointersAttempted: 1,
+                                                        freeThrowsMade: 2, freeThrowsAttempted: 2 }) { id } }
+                        """.formatted(curryId))
+                .execute()
+                .errors().expect(error -> error.getMessage().equals(
+                        "Stats already recorded for player " + curryId + " in match 1"))
+                .verify();
+    }
+
+    private long statementsOf(String mutation) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        graphQlTester.document(mutation).execute().errors().verify();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,90 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@Transactional
+class PageTotalsTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void pageWithoutTotalsSkipsTheCountQuery() {
+        statistics.clear();
+
+        graphQlTester.document("""
+                { playersPaginated(pagination: { page: 0, size: 3 }) {
+                    content { id }
+                    pageInfo { hasNextPage currentPage } } }
+                """)
+                .execute()
+                .path("playersPaginated.content").entityList(Object.class).hasSize(3)
+                .path("playersPaginated.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true)
+                .path("playersPaginated.pageInfo.currentPage").entity(Integer.class).isEqualTo(0);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unfilteredTotalsComeFromTheRowCountCache() {
+        String query = """
+                { playersPaginated(pagination: { page: 1, size: 3 }) {
+                    content { id }
+                    pageInfo { totalElements totalPages } } }
+                """;
+        long players = playerRepository.count();
+        graphQlTester.document(query).execute();
+        statistics.clear();
+
+        graphQlTester.document(query)
+                .execute()
+                .path("playersPaginated.pageInfo.totalElements").entity(Long.class).isEqualTo(players)
+                .path("playersPaginated.pageInfo.totalPages").entity(Integer.class).isEqualTo((int) ((players + 2) / 3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filteredTotalsAreCounted() {
+        long guards = playerRepository.findByPosition(Position.POINT_GUARD).size();
+        statistics.clear();
+
+        graphQlTester.document("""
+                { playersFiltered(filter: { position: POINT_GUARD }, pagination: { page: 0, size: 1 }) {
+                    pageInfo { totalElements } } }
+                """)
+                .execute()
+                .path("playersFiltered.pageInfo.totalElements").entity(Long.class).isEqualTo(guards);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
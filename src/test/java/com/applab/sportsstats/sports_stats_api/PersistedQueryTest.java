@@ -0,0 +1,130 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.config.PersistedDocumentProvider;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Documents are parsed and validated once, and can then be sent by their
+ * SHA-256 hash alone: after registering them with the automatic persisted
+ * query protocol, or up front from {@code persisted-queries/}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PersistedQueryTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void registersDocumentsSentWithTheirHash() throws Exception {
+        String query = "query PersistedTeam { team(id: 3) { name } }";
+        String hash = sha256(query);
+
+        assertThat(errorMessages(post(null, hash))).containsExactly("PersistedQueryNotFound");
+        assertThat(post(query, hash).get("data")).isEqualTo(Map.of("team", Map.of("name", "Boston Celtics")));
+        assertThat(post(null, hash).get("data")).isEqualTo(Map.of("team", Map.of("name", "Boston Celtics")));
+
+        assertThat(errorMessages(post(query, sha256("{ teams { id } }")))).containsExactly("PersistedQueryIdInvalid");
+    }
+
+    @Test
+    void registeredOperationsCanBeSentByHashOverGet() throws Exception {
+        String hash = sha256(new ClassPathResource("persisted-queries/LiveMatches.graphql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        URI uri = UriComponentsBuilder.fromPath("/graphql")
+                .queryParam("extensions", "{extensions}")
+                .encode()
+                .buildAndExpand("{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}")
+                .toUri();
+
+        ResponseEntity<Map> response = restTemplate.exchange(RequestEntity.get(uri).build(), Map.class);
+
+        assertThat(response.getBody()).containsKey("data").doesNotContainKey("errors");
+        assertThat(response.getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void repeatedDocumentsSkipParsingAndValidation() {
+        Map<?, ?> before = documentCacheStatistics();
+        // Different variables, so that every request executes rather than hitting the response cache
+        for (String city : List.of("Boston", "Chicago", "Miami")) {
+            Map<String, Object> response = restTemplate.postForObject("/graphql", Map.of(
+                    "query", "query TeamsIn($city: String!) { teamsByCity(city: $city) { name } }",
+                    "variables", Map.of("city", city)), Map.class);
+            assertThat(response).doesNotContainKey("errors");
+        }
+        Map<?, ?> after = documentCacheStatistics();
+
+        assertThat(((Number) after.get("hits")).longValue() - ((Number) before.get("hits")).longValue())
+                .isGreaterThanOrEqualTo(2);
+        assertThat(((Number) after.get("registeredOperations")).intValue()).isEqualTo(5);
+        assertThat(((Number) after.get("hitRatio")).doubleValue()).isPositive();
+    }
+
+    @Test
+    void allowlistModeOnlyExecutesRegisteredOperations() throws Exception {
+        PersistedDocumentProvider provider = new PersistedDocumentProvider(true);
+        String registered = new ClassPathResource("persisted-queries/UpcomingMatches.graphql")
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        PreparsedDocumentEntry allowed = provider.getDocumentAsync(
+                ExecutionInput.newExecutionInput(registered).build(), PersistedQueryTest::parse).get();
+        PreparsedDocumentEntry refused = provider.getDocumentAsync(
+                ExecutionInput.newExecutionInput("{ teams { id } }").build(), PersistedQueryTest::parse).get();
+
+        assertThat(allowed.hasErrors()).isFalse();
+        assertThat(refused.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("Only registered operations can be executed"));
+        assertThat(provider.statistics().rejectedOperations()).isEqualTo(1);
+    }
+
+    private static PreparsedDocumentEntry parse(ExecutionInput executionInput) {
+        return new PreparsedDocumentEntry(Parser.parse(executionInput.getQuery()));
+    }
+
+    private Map<?, ?> documentCacheStatistics() {
+        Map<?, ?> data = (Map<?, ?>) post("{ documentCacheStatistics { hits misses hitRatio registeredOperations } }", null)
+                .get("data");
+        return (Map<?, ?>) data.get("documentCacheStatistics");
+    }
+
+    private Map<?, ?> post(String query, String hash) {
+        Map<String, Object> body = new HashMap<>();
+        if (query != null) {
+            body.put("query", query);
+        }
+        if (hash != null) {
+            body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        }
+        return restTemplate.postForObject("/graphql", body, Map.class);
+    }
+
+    private static List<String> errorMessages(Map<?, ?> response) {
+        return ((List<?>) response.get("errors")).stream()
+                .map(error -> (String) ((Map<?, ?>) error).get("message"))
+                .toList();
+    }
+
+    private static String sha256(String text) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.dto.StatLine;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.entity.PlayerAggregate;
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.enums.StatCategory;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.service.PlayerAggregateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent first lines of a player, each in its own transaction, both end
+ * up in the one aggregate row rather than in a duplicate key.
+ */
+@SpringBootTest
+class PlayerAggregateConcurrencyTest {
+
+    private static final long LAKERS = 1;
+
+    @Autowired
+    private PlayerAggregateService playerAggregateService;
+
+    @Autowired
+    private PlayerAggregateRepository playerAggregateRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long playerId;
+
+    // A player without stats, and so without an aggregate
+    @BeforeEach
+    void setUp() {
+        playerId = transactionTemplate.execute(status -> playerRepository.save(Player.builder()
+                .firstName("Bronny").lastName("James").jerseyNumber(9).position(Position.SHOOTING_GUARD)
+                .team(teamRepository.getReferenceById(LAKERS))
+                .build()).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            playerAggregateRepository.deleteByPlayerId(playerId);
+            playerRepository.deletePlayer(playerId);
+        });
+    }
+
+    @Test
+    void concurrentFirstLinesShareTheInsertedAggregate() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+
+        // The second write starts while the first one, which inserts the row, is still uncommitted
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            playerAggregateService.statsChanged(playerId, null, line(10));
+            inserted.countDown();
+            sleep(500);
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> playerAggregateService.statsChanged(playerId, null, line(20))));
+
+        CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+
+        PlayerAggregate aggregate = playerAggregateRepository.findById(playerId).orElseThrow();
+        assertThat(aggregate.getStatLines()).isEqualTo(2);
+        assertThat(aggregate.getTotalPoints()).isEqualTo(30);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static StatLine line(int points) {
+        Integer[] values = new Integer[StatCategory.values().length];
+        for (StatCategory category : StatCategory.values()) {
+            values[category.ordinal()] = category == StatCategory.POINTS ? points : 0;
+        }
+        return new StatLine(values);
+    }
+}
@@ -0,0 +1,140 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.entity.PlayerAggregate;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.service.PlayerAggregateService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A game played is a stat line with minutes played, for the aggregates as
+ * for the leaderboards, whether they are updated line by line or rebuilt.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Transactional
+class PlayerAggregateTest {
+
+    // Seeded: LeBron James (6) and D'Angelo Russell (1) have one line each, with minutes
+    private static final long LAKERS = 1;
+    private static final long HEAT = 4;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerAggregateRepository playerAggregateRepository;
+
+    @Autowired
+    private PlayerAggregateService playerAggregateService;
+
+    @Test
+    void onlyLinesWithMinutesAreGamesPlayed() {
+        Long matchId = createMatch();
+        Long lebron = playerRepository.findByTeamIdAndJerseyNumber(LAKERS, 6).orElseThrow().getId();
+        Long russell = playerRepository.findByTeamIdAndJerseyNumber(LAKERS, 1).orElseThrow().getId();
+
+        writeStats("recordStats", lebron, matchId, 0, 0);
+        writeStats("recordStats", russell, matchId, 20, 30);
+
+        // LeBron did not play: his line counts in the averages, not in the games
+        PlayerAggregate lebronAggregate = playerAggregateRepository.findById(lebron).orElseThrow();
+        assertThat(lebronAggregate.getStatLines()).isEqualTo(2);
+        assertThat(lebronAggregate.getGamesPlayed()).isEqualTo(1);
+        assertThat(lebronAggregate.getAveragePoints()).isEqualTo(14.0);
+        assertThat(playerAggregateRepository.findById(russell).orElseThrow().getGamesPlayed()).isEqualTo(2);
+        assertThat(gamesPlayedLeaders(2)).contains(russell).doesNotContain(lebron);
+        assertMatchesRebuild();
+
+        writeStats("updateStats", lebron, matchId, 6, 12);
+
+        assertThat(playerAggregateRepository.findById(lebron).orElseThrow().getGamesPlayed()).isEqualTo(2);
+        assertThat(gamesPlayedLeaders(2)).contains(russell, lebron);
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void linesWithoutMinutesCountInNeitherTermOfAPerGameValue() {
+        Long matchId = createMatch();
+        Long lebron = playerRepository.findByTeamIdAndJerseyNumber(LAKERS, 6).orElseThrow().getId();
+
+        // Points without minutes played: a line of its own, but no game
+        writeStats("recordStats", lebron, matchId, 30, null);
+
+        // Aliased, so that it is not served by the response cache of an earlier test
+        assertThat(graphQlTester.document("{ aggregateLeBron: player(id: %d) { totalGamesPlayed } }"
+                        .formatted(lebron))
+                .execute().path("aggregateLeBron.totalGamesPlayed").entity(Integer.class).get()).isEqualTo(2);
+        // Seeded: 28 points in his one game
+        assertThat(graphQlTester.document("""
+                        { leaderboard(category: POINTS, aggregation: PER_GAME, filter: { teamId: %d }, limit: 100) {
+                            entries { player { id } value } } }
+                        """.formatted(LAKERS))
+                .execute().path("leaderboard.entries[?(@.player.id == '%d')].value".formatted(lebron))
+                .entityList(Double.class).get()).containsExactly(28.0);
+        assertMatchesRebuild();
+    }
+
+    private Long createMatch() {
+        return graphQlTester.document("""
+                        mutation { createMatch(input: { matchDate: "2099-01-01T19:30:00Z", venue: "Crypto.com Arena",
+                                                        homeTeamId: %d, awayTeamId: %d }) { id } }
+                        """.formatted(LAKERS, HEAT))
+                .execute().path("createMatch.id").entity(Long.class).get();
+    }
+
+    private void writeStats(String mutation, Long playerId, Long matchId, int points, Integer minutes) {
+        graphQlTester.document("""
+                        mutation { %s(input: { playerId: %d, matchId: %d, points: %d, assists: 0, rebounds: 0,
+                                               steals: 0, blocks: 0, fieldGoalsMade: 0, fieldGoalsAttempted: 0,
+                                               threePointersMade: 0, threePointersAttempted: 0,
+                                               freeThrowsMade: 0, freeThrowsAttempted: 0, minutesPlayed: %s }) { id } }
+                        """.formatted(mutation, playerId, matchId, points, minutes))
+                .execute().errors().verify();
+    }
+
+    private List<Long> gamesPlayedLeaders(int minGames) {
+        return graphQlTester.document("""
+                        { leaderboard(category: POINTS, filter: { teamId: %d, minGames: %d }) {
+                            entries { player { id } } } }
+                        """.formatted(LAKERS, minGames))
+                .execute().path("leaderboard.entries[*].player.id").entityList(Long.class).get();
+    }
+
+    private void assertMatchesRebuild() {
+        List<String> incremental = aggregates();
+        playerAggregateService.rebuild();
+        assertThat(aggregates()).isEqualTo(incremental);
+    }
+
+    // Detached snapshots without the write time, as the rebuild replaces the rows
+    private List<String> aggregates() {
+        entityManager.flush();
+        entityManager.clear();
+        List<String> snapshots = playerAggregateRepository.findAll(Sort.by("playerId")).stream()
+                .map(aggregate -> {
+                    aggregate.setUpdatedAt(null);
+                    return aggregate.toString();
+                })
+                .toList();
+        entityManager.clear();
+        return snapshots;
+    }
+}
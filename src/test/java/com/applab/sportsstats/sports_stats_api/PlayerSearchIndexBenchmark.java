@@ -0,0 +1,90 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex.Name;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build time and query latency of the {@link PlayerSearchIndex} over
+ * synthetic players (500,000 by default). Not a test; run it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.applab.sportsstats.sports_stats_api.PlayerSearchIndexBenchmark}
+ * or from the IDE, optionally passing the number of players.
+ */
+public final class PlayerSearchIndexBenchmark {
+
+    // Real players, each seeded a few times among the generated ones
+    private static final String[][] KNOWN_NAMES = {
+            {"LeBron", "James"}, {"Stephen", "Curry"}, {"Giannis", "Antetokounmpo"}, {"Luka", "Dončić"},
+            {"Nikola", "Jokić"}, {"Shai", "Gilgeous-Alexander"}, {"Russell", "Westbrook"}, {"Damian", "Lillard"}};
+    private static final String[] SYLLABLES = {
+            "an", "ar", "ba", "bel", "bo", "car", "da", "del", "den", "do", "el", "er", "fa", "gan", "gi", "ha",
+            "is", "ja", "jo", "ka", "ken", "la", "len", "li", "lo", "ma", "mar", "mi", "mo", "na", "ni", "no",
+            "ol", "on", "ra", "ri", "ro", "sa", "sen", "son", "ta", "ter", "ti", "to", "va", "vin", "wa", "wil"};
+    private static final String[] QUERIES = {
+            "ja", "mar", "kenson", "lebron", "stephen curry", "giannis ante", "doncic", "gilgeous",
+            "jokc", "wesbrook", "lilard dam"};
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 1000;
+    private static final int LIMIT = 20;
+
+    private PlayerSearchIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Random random = new Random(42);
+
+        // Names of two to four random syllables, so that most are distinct
+        List<Name> names = new ArrayList<>(players);
+        for (int id = 1; id <= players; id++) {
+            String[] known = KNOWN_NAMES[id % KNOWN_NAMES.length];
+            names.add(id % 10_000 < KNOWN_NAMES.length
+                    ? new Name(id, known[0], known[1])
+                    : new Name(id, syllables(random, 2, 3), syllables(random, 2, 4)));
+        }
+
+        PlayerSearchIndex index = new PlayerSearchIndex();
+        long start = System.nanoTime();
+        index.rebuild(names);
+        System.out.printf("Indexed %,d players in %d ms%n", players, (System.nanoTime() - start) / 1_000_000);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String query : QUERIES) index.search(query, LIMIT);
+        }
+
+        System.out.printf("%-16s %10s %8s %10s %10s%n", "query", "hits", "fuzzy", "p50 (us)", "p99 (us)");
+        for (String query : QUERIES) {
+            long[] latencies = new long[ROUNDS];
+            PlayerSearchIndex.Result result = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                long began = System.nanoTime();
+                result = index.search(query, LIMIT);
+                latencies[round] = System.nanoTime() - began;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-16s %,10d %8s %10.1f %10.1f%n", query, result.totalHits(), result.fuzzy(),
+                    latencies[ROUNDS / 2] / 1_000.0, latencies[ROUNDS * 99 / 100] / 1_000.0);
+        }
+
+        start = System.nanoTime();
+        for (int id = 1; id <= 10_000; id++) {
+            index.put(id, "Renamed" + id, "Player");
+        }
+        System.out.printf("10,000 renames in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String syllables(Random random, int min, int max) {
+        StringBuilder name = new StringBuilder();
+        int count = min + random.nextInt(max - min + 1);
+        for (int i = 0; i < count; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
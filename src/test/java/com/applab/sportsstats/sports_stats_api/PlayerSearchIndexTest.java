@@ -0,0 +1,69 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex.Name;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerSearchIndexTest {
+
+    private PlayerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlayerSearchIndex();
+        index.rebuild(List.of(
+                new Name(1, "LeBron", "James"),
+                new Name(2, "Stephen", "Curry"),
+                new Name(3, "Seth", "Curry"),
+                new Name(4, "Luka", "Dončić"),
+                new Name(5, "James", "Harden"),
+                new Name(6, "Jameer", "Nelson")));
+    }
+
+    @Test
+    void substringMatchesAreRankedExactThenPrefixThenInfix() {
+        Result result = index.search("james", 10);
+
+        assertThat(result.fuzzy()).isFalse();
+        // Exact names first (shortest full name first), no typo-tolerant hits mixed in
+        assertThat(result.playerIds()).containsExactly(1L, 5L);
+        assertThat(index.search("ame", 10).playerIds()).containsExactly(1L, 5L, 6L);
+    }
+
+    @Test
+    void matchesFullNamesShortTermsAndAccents() {
+        assertThat(index.search("Stephen Cur", 10).playerIds()).containsExactly(2L);
+        assertThat(index.search("cu", 10).playerIds()).containsExactly(3L, 2L);
+        assertThat(index.search("doncic", 10).playerIds()).containsExactly(4L);
+    }
+
+    @Test
+    void typosFallBackToSimilarNames() {
+        Result result = index.search("lebrn jmes", 10);
+
+        assertThat(result.fuzzy()).isTrue();
+        assertThat(result.playerIds()).first().isEqualTo(1L);
+        assertThat(index.search("xqzw", 10).playerIds()).isEmpty();
+    }
+
+    @Test
+    void followsWritesAndLimitsResults() {
+        index.put(7, "Jamal", "Murray");
+        index.put(1, "Bronny", "James");
+        index.remove(5);
+
+        // Equally good and equally long names are ordered by id
+        assertThat(index.search("jam", 10).playerIds()).containsExactly(1L, 7L, 6L);
+        assertThat(index.search("lebron", 10).playerIds()).isEmpty();
+
+        Result limited = index.search("jam", 1);
+        assertThat(limited.playerIds()).containsExactly(1L);
+        assertThat(limited.totalHits()).isEqualTo(3);
+    }
+}
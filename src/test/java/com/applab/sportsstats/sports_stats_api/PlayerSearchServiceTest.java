@@ -0,0 +1,72 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchIndex;
+import com.applab.sportsstats.sports_stats_api.service.PlayerSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Searches with more hits than fit in an id filter still match every player
+ * the index does. The index is padded with names that are not in the
+ * database, ranked ahead of the seeded Stephen Curry.
+ */
+@SpringBootTest
+class PlayerSearchServiceTest {
+
+    private static final long WARRIORS = 2;
+    private static final int PADDING = 1001;
+    private static final long FIRST_PADDING_ID = 1_000_000;
+
+    @Autowired
+    private PlayerSearchService playerSearchService;
+
+    @Autowired
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private Long curry;
+
+    @BeforeEach
+    void setUp() {
+        curry = playerRepository.findByTeamIdAndJerseyNumber(WARRIORS, 30).orElseThrow().getId();
+        for (int i = 0; i < PADDING; i++) {
+            playerSearchIndex.put(FIRST_PADDING_ID + i, "Stephen", "Curr");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        playerSearchService.rebuild();
+    }
+
+    @Test
+    void substringSearchesFallBackToTheFullName() {
+        assertThat(playerSearchIndex.search("Stephen Curr", 1).totalHits()).isGreaterThan(PADDING);
+
+        assertThat(matchingIds("Stephen Curr")).contains(curry);
+    }
+
+    @Test
+    void typoTolerantSearchesListEveryHit() {
+        PlayerSearchIndex.Result best = playerSearchIndex.search("stephen curyr", PADDING);
+        assertThat(best.fuzzy()).isTrue();
+        assertThat(best.playerIds()).doesNotContain(curry);
+
+        assertThat(matchingIds("stephen curyr")).contains(curry);
+    }
+
+    private List<Long> matchingIds(String term) {
+        return playerRepository.findAll(playerSearchService.matching(term)).stream().map(Player::getId).toList();
+    }
+}
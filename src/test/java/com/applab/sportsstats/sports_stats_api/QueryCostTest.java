@@ -0,0 +1,105 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Operations are costed before they execute, from the requested page sizes
+ * or the row counts, and rejected over the (here lowered) budgets.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"sports-stats.graphql.max-cost=50", "sports-stats.graphql.max-depth=5"})
+class QueryCostTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void requestedSizesMultiplyTheCostOfTheirItems() {
+        Map<String, Object> limited = post("{ players(limit: 2) { lastName team { name } } }");
+        Map<String, Object> paged = post("""
+                { playersPaginated(pagination: { page: 0, size: 3 }) { content { lastName } pageInfo { totalElements } } }
+                """);
+
+        assertThat(limited).doesNotContainKey("errors");
+        // Two players and their teams
+        assertThat(cost(limited)).containsEntry("requested", 4).containsEntry("depth", 3);
+        // The page, three players, the page info and its count
+        assertThat(cost(paged)).containsEntry("requested", 6).containsEntry("maximum", 50);
+    }
+
+    @Test
+    void aLimitIsOnlyTrustedWhereTheResolverAppliesIt() {
+        Map<String, Object> limited = post("{ players(limit: 1) { lastName } }");
+        Map<String, Object> unlimited = post("{ players { lastName } }");
+
+        // Costed at one player, and one player returned
+        assertThat(cost(limited)).containsEntry("requested", 1);
+        assertThat((List<?>) ((Map<?, ?>) limited.get("data")).get("players")).hasSize(1);
+        // Without a limit, every player is costed and returned
+        int players = ((List<?>) ((Map<?, ?>) unlimited.get("data")).get("players")).size();
+        assertThat(players).isGreaterThan(1);
+        assertThat(cost(unlimited)).containsEntry("requested", players);
+    }
+
+    @Test
+    void legacyLeaderboardsListEveryPlayerAndClampTheirLimit() {
+        Map<String, Object> unlimited = post("{ pointsLeaderboard { entries { value } } }");
+        Map<String, Object> clamped = post("{ pointsLeaderboard(limit: 1000) { entries { value } } }");
+        Map<String, Object> limited = post("{ pointsLeaderboard(limit: 2) { entries { value } } }");
+        Map<String, Object> ranked = post("{ leaderboard(category: POINTS, limit: 0) { entries { value } } }");
+        int players = ((List<?>) ((Map<?, ?>) post("{ players { id } }").get("data")).get("players")).size();
+
+        assertThat(entries(unlimited, "pointsLeaderboard")).isGreaterThan(2)
+                .isEqualTo(entries(clamped, "pointsLeaderboard"));
+        assertThat(entries(limited, "pointsLeaderboard")).isEqualTo(2);
+        assertThat(errorMessages(ranked)).containsExactly(
+                "Leaderboard limit must be between 1 and " + LeaderboardService.MAX_LIMIT);
+        // The board and one entry per player, at most
+        assertThat(cost(unlimited)).containsEntry("requested", 1 + players);
+        assertThat(cost(clamped)).containsEntry("requested", 1 + players);
+        assertThat(cost(limited)).containsEntry("requested", 3);
+    }
+
+    @Test
+    void operationsOverBudgetAreRejectedBeforeExecuting() {
+        Map<String, Object> fanOut = post("{ players(limit: 20) { team { players { lastName } } } }");
+        Map<String, Object> deep = post("{ teams { players { team { players { team { name } } } } } }");
+
+        assertThat(fanOut.get("data")).isNull();
+        assertThat(errorMessages(fanOut)).singleElement().asString().startsWith("Query cost ");
+        assertThat(((Number) cost(fanOut).get("requested")).longValue()).isGreaterThan(50);
+
+        assertThat(deep.get("data")).isNull();
+        assertThat(errorMessages(deep)).containsExactly("Query depth 6 exceeds the maximum of 5");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String query) {
+        return restTemplate.postForObject("/graphql", Map.of("query", query), Map.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> cost(Map<?, ?> response) {
+        return (Map<String, Object>) ((Map<?, ?>) response.get("extensions")).get("cost");
+    }
+
+    private static int entries(Map<?, ?> response, String field) {
+        Map<?, ?> leaderboard = (Map<?, ?>) ((Map<?, ?>) response.get("data")).get(field);
+        return ((List<?>) leaderboard.get("entries")).size();
+    }
+
+    private static List<String> errorMessages(Map<?, ?> response) {
+        return ((List<?>) response.get("errors")).stream()
+                .map(error -> (String) ((Map<?, ?>) error).get("message"))
+                .toList();
+    }
+}
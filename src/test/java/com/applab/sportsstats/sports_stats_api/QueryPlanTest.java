@@ -0,0 +1,119 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.entity.Match;
+import com.applab.sportsstats.sports_stats_api.enums.Position;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.StatsRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamStandingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every query declared on the repositories should be served by an index.
+ * Each one is run once, and the statements it sends are explained by H2;
+ * a plan that falls back to a table scan fails the test.
+ */
+@SpringBootTest(properties = {
+        CapturingStatementInspector.PROPERTY,
+        // Cached lookups would not reach the database
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@Transactional
+class QueryPlanTest {
+
+    // Queries that have to read every row, and why that is acceptable
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "PlayerRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase",
+            "substring match; name search is served by the PlayerSearchIndex",
+            "MatchRepository.findByVenueContainingIgnoreCase", "substring match on the venue",
+            "PlayerRepository.findPlayersWithMinimumPoints", "open-ended threshold over every stat line",
+            "StatsRepository.findPlayersWithMinimumPoints", "open-ended threshold over every stat line",
+            "StatsRepository.findTopScorers", "open-ended threshold; leaderboards are served in memory",
+            "StatsRepository.findTopAssistProviders", "open-ended threshold; leaderboards are served in memory",
+            "StatsRepository.findTopRebounders", "open-ended threshold; leaderboards are served in memory",
+            "TeamRepository.findByFoundedYearGreaterThan", "open-ended threshold on a four-row table",
+            "TeamStandingRepository.findAllBy", "the whole league table, sorted and limited by the caller");
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerAggregateRepository playerAggregateRepository;
+
+    @Autowired
+    private TeamStandingRepository teamStandingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        List<String> scans = new ArrayList<>();
+        for (Object repository : List.of(matchRepository, statsRepository, playerRepository,
+                teamRepository, playerAggregateRepository, teamStandingRepository)) {
+            Class<?> type = repository.getClass().getInterfaces()[0];
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Modifying.class)) continue;
+                String name = type.getSimpleName() + "." + method.getName();
+
+                CapturingStatementInspector.STATEMENTS.clear();
+                method.invoke(repository, arguments(method));
+                assertThat(CapturingStatementInspector.STATEMENTS).as(name).isNotEmpty();
+
+                for (String sql : CapturingStatementInspector.STATEMENTS) {
+                    String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                    if (plan.contains(".tableScan") && !FULL_SCANS.containsKey(name)) {
+                        scans.add(name + ":\n" + plan);
+                    }
+                }
+            }
+        }
+        assertThat(scans).as("queries falling back to a table scan").isEmpty();
+    }
+
+    // A plausible value for each parameter; the plans do not depend on the values
+    private static Object[] arguments(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            if (type == Long.class) arguments[i] = 1L;
+            else if (type == Integer.class) arguments[i] = 1;
+            else if (type == String.class) arguments[i] = "x";
+            else if (type == Position.class) arguments[i] = Position.POINT_GUARD;
+            else if (type == Match.MatchStatus.class) arguments[i] = Match.MatchStatus.COMPLETED;
+            else if (type == OffsetDateTime.class) arguments[i] = OffsetDateTime.now();
+            else if (type == Pageable.class) arguments[i] = PageRequest.of(1, 10);
+            else if (Collection.class.isAssignableFrom(type)) arguments[i] = List.of(1L, 2L);
+            else throw new IllegalArgumentException("No argument for " + type + " in " + method);
+        }
+        return arguments;
+    }
+}
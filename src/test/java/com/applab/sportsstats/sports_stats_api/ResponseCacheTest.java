@@ -0,0 +1,218 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.service.ResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queries over HTTP are answered from the response cache until a mutation
+ * writes what they read, and GET responses can be revalidated with their
+ * ETag. Not transactional, so that the mutations commit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCacheTest {
+
+    private static final String TEAMS = "{ teams { name coachName totalWins } }";
+    private static final String TEAM = "{ team(id: 1) { name totalWins } }";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        responseCache.clear();
+    }
+
+    @Test
+    void repeatedQueriesAreServedWithoutExecuting() {
+        post(TEAMS);
+        post(TEAM);
+        // Formatting does not change the key
+        post("""
+                {
+                  teams { name coachName totalWins }
+                }
+                """);
+        assertThat(responseCache.size()).isEqualTo(2);
+
+        statistics.clear();
+        ResponseEntity<String> teams = post(TEAMS);
+        ResponseEntity<String> team = post(TEAM);
+
+        assertThat(teams.getBody()).contains("Los Angeles Lakers");
+        assertThat(team.getBody()).contains("totalWins");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void mutationsEvictWhatTheyWrite() {
+        String coach = coachOfTeam2();
+        post(TEAMS);
+        post(TEAM);
+        try {
+            post("mutation { updateTeam(input: { id: 2, coachName: \"Cache Coach\" }) { id } }");
+
+            statistics.clear();
+            assertThat(post(TEAM).getBody()).contains("totalWins");
+            assertThat(statistics.getPrepareStatementCount()).as("team 1 is still cached").isZero();
+
+            assertThat(post(TEAMS).getBody()).contains("Cache Coach");
+            assertThat(statistics.getPrepareStatementCount()).as("team list re-executed").isPositive();
+        } finally {
+            post("mutation { updateTeam(input: { id: 2, coachName: \"%s\" }) { id } }".formatted(coach));
+        }
+        assertThat(post(TEAMS).getBody()).doesNotContain("Cache Coach");
+    }
+
+    @Test
+    void statsMutationsEvictResultsSelectedOrOrderedByStats() {
+        // A line of the lowest scorer per game, lifted far above everyone else
+        Map<String, Object> line = jdbcTemplate.queryForMap("""
+                SELECT s.* FROM stats s JOIN player_aggregates a ON a.player_id = s.player_id
+                ORDER BY a.average_points, s.id LIMIT 1
+                """);
+        String lastName = jdbcTemplate.queryForObject(
+                "SELECT last_name FROM players WHERE id = ?", String.class, line.get("PLAYER_ID"));
+        String filtered = "{ playersFiltered(filter: { minPoints: 150 }) { content { lastName } } }";
+        String topScorer = "{ players(sort: { field: POINTS, order: DESC }, limit: 1) { lastName } }";
+        assertThat(post(filtered).getBody()).doesNotContain(lastName);
+        assertThat(post(topScorer).getBody()).doesNotContain(lastName);
+        try {
+            post(updateStats(line, 1000));
+
+            assertThat(post(filtered).getBody()).contains(lastName);
+            assertThat(post(topScorer).getBody()).contains(lastName);
+        } finally {
+            post(updateStats(line, ((Number) line.get("POINTS")).intValue()));
+        }
+        assertThat(post(filtered).getBody()).doesNotContain(lastName);
+    }
+
+    @Test
+    void newTeamsEvictTheStandings() {
+        String standings = "{ standings { team { name } gamesPlayed } }";
+        assertThat(post(standings).getBody()).doesNotContain("Cache Expansion");
+
+        Map<?, ?> created = restTemplate.postForObject("/graphql", Map.of("query",
+                "mutation { createTeam(input: { name: \"Cache Expansion\", city: \"Omaha\" }) { id } }"), Map.class);
+        Object id = ((Map<?, ?>) ((Map<?, ?>) created.get("data")).get("createTeam")).get("id");
+        try {
+            assertThat(post(standings).getBody()).contains("Cache Expansion");
+        } finally {
+            post("mutation { deleteTeam(id: %s) }".formatted(id));
+        }
+        assertThat(post(standings).getBody()).doesNotContain("Cache Expansion");
+    }
+
+    @Test
+    void lookupsThatFoundNothingAreEvictedByACreate() {
+        String lookup = "{ teamsByCity(city: \"Cache City\") { name } }";
+        assertThat(post(lookup).getBody()).contains("\"teamsByCity\":[]");
+
+        Map<?, ?> created = restTemplate.postForObject("/graphql", Map.of("query",
+                "mutation { createTeam(input: { name: \"Cache Lookup\", city: \"Cache City\" }) { id } }"), Map.class);
+        Object id = ((Map<?, ?>) ((Map<?, ?>) created.get("data")).get("createTeam")).get("id");
+        try {
+            assertThat(post(lookup).getBody()).contains("Cache Lookup");
+        } finally {
+            post("mutation { deleteTeam(id: %s) }".formatted(id));
+        }
+        assertThat(post(lookup).getBody()).contains("\"teamsByCity\":[]");
+    }
+
+    @Test
+    void getResponsesAreRevalidatedWithTheirETag() {
+        ResponseEntity<String> first = get(TEAMS, null);
+        String eTag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+
+        ResponseEntity<String> unchanged = get(TEAMS, eTag);
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+
+        String coach = coachOfTeam2();
+        try {
+            post("mutation { updateTeam(input: { id: 2, coachName: \"ETag Coach\" }) { id } }");
+            ResponseEntity<String> changed = get(TEAMS, eTag);
+            assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(changed.getBody()).contains("ETag Coach");
+            assertThat(changed.getHeaders().getETag()).isNotEqualTo(eTag);
+        } finally {
+            post("mutation { updateTeam(input: { id: 2, coachName: \"%s\" }) { id } }".formatted(coach));
+        }
+    }
+
+    @Test
+    void mutationsAreNotAcceptedOverGet() {
+        ResponseEntity<String> response = get("mutation { deleteTeam(id: 1) }", null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(response.getHeaders().getAllow()).containsExactly(HttpMethod.POST);
+        assertThat(post("{ team(id: 1) { id } }").getBody()).contains("\"id\":\"1\"");
+    }
+
+    private String coachOfTeam2() {
+        ResponseEntity<Map> response = restTemplate.postForEntity("/graphql",
+                Map.of("query", "{ team(id: 2) { coachName } }"), Map.class);
+        return (String) ((Map<?, ?>) ((Map<?, ?>) response.getBody().get("data")).get("team")).get("coachName");
+    }
+
+    private static String updateStats(Map<String, Object> line, int points) {
+        return """
+                mutation { updateStats(input: { playerId: %s, matchId: %s, points: %d, assists: %s, rebounds: %s,
+                  steals: %s, blocks: %s, fieldGoalsMade: %s, fieldGoalsAttempted: %s, threePointersMade: %s,
+                  threePointersAttempted: %s, freeThrowsMade: %s, freeThrowsAttempted: %s }) { id } }
+                """.formatted(line.get("PLAYER_ID"), line.get("MATCH_ID"), points, line.get("ASSISTS"),
+                line.get("REBOUNDS"), line.get("STEALS"), line.get("BLOCKS"), line.get("FIELD_GOALS_MADE"),
+                line.get("FIELD_GOALS_ATTEMPTED"), line.get("THREE_POINTERS_MADE"), line.get("THREE_POINTERS_ATTEMPTED"),
+                line.get("FREE_THROWS_MADE"), line.get("FREE_THROWS_ATTEMPTED"));
+    }
+
+    private ResponseEntity<String> post(String document) {
+        ResponseEntity<String> response = restTemplate.postForEntity("/graphql", Map.of("query", document), String.class);
+        assertThat(response.getBody()).doesNotContain("\"errors\"");
+        return response;
+    }
+
+    private ResponseEntity<String> get(String document, String ifNoneMatch) {
+        URI uri = UriComponentsBuilder.fromPath("/graphql").queryParam("query", "{query}")
+                .encode().buildAndExpand(document).toUri();
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(RequestEntity.get(uri).headers(headers).build(), String.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.dto.ImportRejection;
+import com.applab.sportsstats.sports_stats_api.dto.ImportReport;
+import com.applab.sportsstats.sports_stats_api.dto.ImportTableReport;
+import com.applab.sportsstats.sports_stats_api.entity.Player;
+import com.applab.sportsstats.sports_stats_api.repository.MatchRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerAggregateRepository;
+import com.applab.sportsstats.sports_stats_api.repository.PlayerRepository;
+import com.applab.sportsstats.sports_stats_api.repository.TeamRepository;
+import com.applab.sportsstats.sports_stats_api.service.SeasonImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * A season import writes the valid rows, reports the others by line and
+ * leaves the derived read models up to date. The import commits, so it runs
+ * against a database of its own.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:season_import_test")
+@AutoConfigureGraphQlTester
+class SeasonImportTest {
+
+    @Autowired
+    private SeasonImportService seasonImportService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerAggregateRepository playerAggregateRepository;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void validRowsAreImportedAndInvalidOnesReported(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("teams.csv"), """
+                id,name,city,foundedYear,coachName,homeStadium,championshipsWon
+                t1,Import Falcons,Springfield,1990,"Smith, Jr.",Falcon Dome,2
+                t2,Import Owls,Shelbyville,,,,
+                """);
+        Files.writeString(directory.resolve("players.csv"), """
+                id,teamId,firstName,lastName,jerseyNumber,position,dateOfBirth,height,weight
+                p1,t1,Ann,Archer,61,POINT_GUARD,1995-04-02,185,80
+                p6,t1,Flo,Fisher,61,SHOOTING_GUARD,,,
+                p2,t1,Bo,Baker,62,CENTER,,210,
+                p3,t2,Cy,Carter,63,SMALL_FORWARD,,,
+                p4,t9,Di,Dunn,64,CENTER,,,
+                p5,t2,Ed,Evans,65,GOALKEEPER,,,
+                """);
+        Files.writeString(directory.resolve("matches.ndjson"), """
+                {"id": "m1", "homeTeamId": "t1", "awayTeamId": "t2", "matchDate": "2024-11-02T19:30:00Z", "venue": "Falcon Dome", "status": "COMPLETED", "homeTeamScore": 101, "awayTeamScore": 99}
+                {"id": "m2", "homeTeamId": "t2", "awayTeamId": "t2", "matchDate": "2024-11-09T19:30:00Z", "venue": "Owl Arena"}
+                not json
+                """);
+        Files.writeString(directory.resolve("stats.csv"), """
+                playerId,matchId,points,assists,rebounds,steals,blocks,fieldGoalsMade,fieldGoalsAttempted,threePointersMade,threePointersAttempted,freeThrowsMade,freeThrowsAttempted,minutesPlayed
+                p1,m1,30,5,4,2,0,11,20,4,9,4,5,36
+                p2,m1,12,1,10,0,3,5,8,0,0,2,4,30
+                p3,m1,25,3,6,1,1,9,25,3,7,4,4,
+                p4,m1,10,0,0,0,0,4,6,0,0,2,2,20
+                p1,m2,10,0,0,0,0,4,6,0,0,2,2,20
+                p3,m1,8,0,0,0,0,12,6,0,0,0,0,10
+                """);
+
+        ImportReport report = seasonImportService.importSeason(directory, 2);
+
+        assertThat(report.tables()).extracting(ImportTableReport::table)
+                .containsExactly("teams", "players", "matches", "stats");
+        assertThat(report.tables()).extracting(ImportTableReport::rowsImported).containsExactly(2L, 3L, 1L, 3L);
+        assertThat(report.rowsRejected()).isEqualTo(8);
+
+        ImportTableReport players = report.tables().get(1);
+        assertThat(players.rejections()).extracting(ImportRejection::line).containsExactly(3L, 6L, 7L);
+        // The second jersey 61 of the Falcons is refused by the database and isolated from the rest of its batch
+        assertThat(players.rejections().get(0).reason()).containsIgnoringCase("unique");
+        assertThat(players.rejections().get(1).reason()).isEqualTo("Unknown teamId: t9");
+        assertThat(players.rejections().get(2).reason()).startsWith("position must be one of");
+
+        ImportTableReport matches = report.tables().get(2);
+        assertThat(matches.rejections()).extracting(ImportRejection::reason)
+                .containsExactly("Home and away teams must be different", matches.rejections().get(1).reason());
+        assertThat(matches.rejections().get(1).reason()).startsWith("Malformed JSON");
+
+        ImportTableReport stats = report.tables().get(3);
+        assertThat(stats.rejections()).extracting(ImportRejection::reason).containsExactly(
+                "Unknown playerId: p4",
+                "Unknown matchId: m2",
+                "fieldGoalsMade cannot exceed fieldGoalsAttempted");
+
+        Long falconsId = teamRepository.findByName("Import Falcons").orElseThrow().getId();
+        Player archer = playerRepository.findByTeamIdAndJerseyNumber(falconsId, 61).orElseThrow();
+        assertThat(archer.getLastName()).isEqualTo("Archer");
+        assertThat(matchRepository.findAll()).anyMatch(match -> match.getVenue().equals("Falcon Dome")
+                && match.getHomeTeam().getId().equals(archer.getTeam().getId()));
+        // The aggregates are rebuilt from the imported lines
+        assertThat(playerAggregateRepository.findById(archer.getId()).orElseThrow().getTotalPoints()).isEqualTo(30);
+    }
+
+    @Test
+    void aFailingWriterFailsTheImportInsteadOfBlockingTheReader(@TempDir Path directory) throws IOException {
+        // More batches of one row than the queue holds, and writers that fail on each of them
+        StringBuilder teams = new StringBuilder("id,name,city\n");
+        for (int i = 0; i < 20; i++) {
+            teams.append("f").append(i).append(",Failing ").append(i).append(",Nowhere\n");
+        }
+        Files.writeString(directory.resolve("teams.csv"), teams);
+        doThrow(new IllegalStateException("Writer failure")).when(jdbcTemplate).execute(any(ConnectionCallback.class));
+
+        assertThatThrownBy(() -> assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> seasonImportService.importSeason(directory, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Writer failure");
+    }
+
+    @Test
+    void importMutationStaysWithinTheImportDirectory() {
+        graphQlTester.document("mutation { importSeason(directory: \"../etc\") { rowsImported } }")
+                .execute()
+                .errors().expect(error -> error.getMessage().startsWith("Import directory must be within"))
+                .verify();
+    }
+}
@@ -0,0 +1,109 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teams and players are served from the second-level and query caches once
+ * read, and the mutations invalidate what they change. Not transactional, so
+ * that the mutations commit and reach the caches.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+class SecondLevelCacheTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        String document = """
+                {
+                  team(id: 1) { name players { lastName } }
+                  teamByName(name: "Los Angeles Lakers") { city }
+                  playersByTeam(teamId: 2) { lastName team { name } }
+                }
+                """;
+        graphQlTester.document(document).execute().errors().verify();
+
+        statistics.clear();
+        graphQlTester.document(document).execute().errors().verify()
+                .path("team.players").entityList(Object.class).hasSizeGreaterThan(0)
+                .path("playersByTeam[*].team.name").entityList(String.class)
+                .satisfies(names -> assertThat(names).isNotEmpty().doesNotContainNull());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void mutationsInvalidateCachedPlayers() {
+        String roster = "{ team(id: 1) { players { lastName } } playersByTeam(teamId: 1) { lastName } }";
+        graphQlTester.document(roster).execute().errors().verify();
+
+        String id = graphQlTester.document("""
+                mutation {
+                  createPlayer(input: { firstName: "Cache", lastName: "Rookie", jerseyNumber: 77,
+                                        position: CENTER, teamId: 1 }) { id }
+                }
+                """)
+                .execute()
+                .path("createPlayer.id").entity(String.class).get();
+        try {
+            graphQlTester.document(roster).execute()
+                    .path("team.players[*].lastName").entityList(String.class).contains("Rookie")
+                    .path("playersByTeam[*].lastName").entityList(String.class).contains("Rookie");
+
+            graphQlTester.document("""
+                    mutation { updatePlayer(input: { id: %s, lastName: "Veteran" }) { id } }
+                    """.formatted(id))
+                    .execute().errors().verify();
+            graphQlTester.document("{ player(id: %s) { lastName } }".formatted(id))
+                    .execute()
+                    .path("player.lastName").entity(String.class).isEqualTo("Veteran");
+        } finally {
+            graphQlTester.document("mutation { deletePlayer(id: %s) }".formatted(id)).execute().errors().verify();
+        }
+
+        graphQlTester.document(roster).execute()
+                .path("team.players[*].lastName").entityList(String.class).doesNotContain("Rookie", "Veteran")
+                .path("playersByTeam[*].lastName").entityList(String.class).doesNotContain("Rookie", "Veteran");
+    }
+
+    @Test
+    void exposesCacheStatistics() {
+        graphQlTester.document("{ team(id: 1) { name } }").execute().errors().verify();
+        graphQlTester.document("{ team(id: 1) { name } }").execute().errors().verify();
+
+        graphQlTester.document("""
+                { cacheStatistics { secondLevelCacheHits queryCacheMisses regions { name hits misses puts hitRatio } } }
+                """)
+                .execute()
+                .path("cacheStatistics.secondLevelCacheHits").entity(Long.class)
+                .satisfies(hits -> assertThat(hits).isPositive())
+                .path("cacheStatistics.regions[*].name").entityList(String.class)
+                .contains("teams", "players", "team-players");
+    }
+}
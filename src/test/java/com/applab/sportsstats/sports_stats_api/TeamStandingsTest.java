@@ -0,0 +1,111 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.repository.TeamStandingRepository;
+import com.applab.sportsstats.sports_stats_api.service.TeamStandingsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Standings maintained incrementally, including reversed corrections of a
+ * completed score, match the ones rebuilt from every completed match.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Transactional
+class TeamStandingsTest {
+
+    // Seeded: the Lakers (1) beat the Warriors, the Heat (4) lost to the Celtics
+    private static final long LAKERS = 1;
+    private static final long HEAT = 4;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TeamStandingRepository teamStandingRepository;
+
+    @Autowired
+    private TeamStandingsService teamStandingsService;
+
+    @Test
+    void incrementalStandingsMatchARebuild() {
+        Long first = createMatch("2099-01-01T19:30:00Z");
+        Long second = createMatch("2099-02-01T19:30:00Z");
+
+        completeMatch(first, 110, 100);
+        assertStreaks("W2", "L2");
+
+        completeMatch(second, 100, 90);
+        assertStreaks("W3", "L3");
+
+        // Corrections of the latest result break the streak, and join it back
+        completeMatch(second, 90, 100);
+        assertStreaks("L1", "W1");
+
+        completeMatch(first, 90, 100);
+        assertStreaks("L2", "W2");
+
+        completeMatch(second, 100, 90);
+        assertStreaks("W1", "L1");
+
+        // A result that no longer counts is reversed as well
+        completeMatch(second, 100, 90, "LIVE");
+        assertStreaks("L1", "W1");
+    }
+
+    private Long createMatch(String matchDate) {
+        return graphQlTester.document("""
+                        mutation { createMatch(input: { matchDate: "%s", venue: "Crypto.com Arena",
+                                                        homeTeamId: %d, awayTeamId: %d }) { id } }
+                        """.formatted(matchDate, LAKERS, HEAT))
+                .execute().path("createMatch.id").entity(Long.class).get();
+    }
+
+    private void completeMatch(Long matchId, int homeScore, int awayScore) {
+        completeMatch(matchId, homeScore, awayScore, "COMPLETED");
+    }
+
+    private void completeMatch(Long matchId, int homeScore, int awayScore, String status) {
+        graphQlTester.document("""
+                        mutation { updateMatchScore(input: { matchId: %d, homeTeamScore: %d, awayTeamScore: %d,
+                                                             status: %s }) { id } }
+                        """.formatted(matchId, homeScore, awayScore, status))
+                .execute().errors().verify();
+    }
+
+    private void assertStreaks(String lakers, String heat) {
+        List<String> incremental = standings();
+        assertThat(incremental.get(0)).startsWith(lakers + " ");
+        assertThat(incremental.get(1)).startsWith(heat + " ");
+
+        teamStandingsService.rebuild();
+        assertThat(standings()).isEqualTo(incremental);
+    }
+
+    // Detached snapshots without the write time, as the rebuild replaces the rows
+    private List<String> standings() {
+        entityManager.flush();
+        entityManager.clear();
+        List<String> snapshots = List.of(LAKERS, HEAT).stream()
+                .map(teamId -> teamStandingRepository.findById(teamId).orElseThrow())
+                .map(standing -> {
+                    standing.setUpdatedAt(null);
+                    return standing.getStreak() + " " + standing;
+                })
+                .toList();
+        entityManager.clear();
+        return snapshots;
+    }
+}
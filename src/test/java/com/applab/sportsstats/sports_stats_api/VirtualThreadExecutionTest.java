@@ -0,0 +1,65 @@
+package com.applab.sportsstats.sports_stats_api;
+
+import com.applab.sportsstats.sports_stats_api.service.FetchPlanner;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * With virtual threads enabled, the top-level fields of an operation are
+ * resolved at the same time, each on its own virtual thread and in its own
+ * read-only transaction.
+ */
+@SpringBootTest(properties = "sports-stats.graphql.virtual-threads.enabled=true")
+@AutoConfigureGraphQlTester
+class VirtualThreadExecutionTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoSpyBean
+    private FetchPlanner fetchPlanner;
+
+    @Test
+    void siblingFieldsAreResolvedConcurrently() {
+        // Each resolver plans its fetch first; the barrier only opens once all three are running
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            assertThat(Thread.currentThread().isVirtual()).isTrue();
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            threads.add(Thread.currentThread());
+            barrier.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(fetchPlanner).plan(any(), any(DataFetchingFieldSelectionSet.class));
+
+        graphQlTester.document("""
+                {
+                  liveMatches { venue awayTeam { name } }
+                  upcomingMatches { venue }
+                  teams { name players { lastName } }
+                }
+                """)
+                .execute()
+                .path("liveMatches[*].awayTeam.name").entityList(String.class).contains("Boston Celtics")
+                .path("upcomingMatches").hasValue()
+                .path("teams").entityList(Object.class).hasSize(4)
+                .path("teams[*].players[*].lastName").entityList(String.class).hasSizeGreaterThan(4);
+
+        assertThat(threads).hasSize(3);
+    }
+}
@@ -0,0 +1,386 @@
+package com.applab.sportsstats.sports_stats_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for a locally running instance ({@code mvn spring-boot:run}).
+ * Replays a weighted mix of the queries in the Postman collection over HTTP
+ * at a fixed request rate, holds {@code matchScoreUpdate} subscriptions over
+ * WebSocket while score updates are posted to the subscribed match, and
+ * prints the latency distributions in HdrHistogram's format. The
+ * histograms are also written to {@code target/load-test/*.hgrm}.
+ * <p>
+ * The load is open: requests are sent on schedule whether or not earlier
+ * ones completed, each on its own virtual thread, and latency is measured
+ * from the scheduled send time, so that a stall shows up in the percentiles
+ * rather than lowering the request rate.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.applab.sportsstats.sports_stats_api.loadtest.LoadGenerator \
+ *     -Dexec.args="--rps 200 --duration 60 --subscriptions 500"
+ * </pre>
+ * Options: {@code --url}, {@code --rps}, {@code --duration} and
+ * {@code --warmup} (seconds), {@code --subscriptions}, {@code --match},
+ * {@code --score-updates} (per second), {@code --collection}, and
+ * {@code --weight Folder=N} to change the share of a collection folder.
+ */
+public final class LoadGenerator {
+
+    // Share of each Postman folder in the mix; the introspection health check is left out
+    private static final Map<String, Integer> DEFAULT_WEIGHTS = Map.ofEntries(
+            Map.entry("Teams", 10),
+            Map.entry("Players", 10),
+            Map.entry("Matches", 10),
+            Map.entry("Statistics", 10),
+            Map.entry("Leaderboards", 20),
+            Map.entry("Advanced Queries", 5),
+            Map.entry("Pagination & Sorting", 10),
+            Map.entry("Filtering", 15),
+            Map.entry("Paginated Search", 5),
+            Map.entry("Complex Combinations", 5),
+            Map.entry("Health Check", 0));
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String SCORE_UPDATE = "updateMatchScore";
+    private static final String SCORE_DELIVERY = "matchScoreUpdate (delivery)";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Options options;
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+    // Send time of each posted home score, to time its delivery to the subscribers
+    private final Map<Integer, Long> scoresSentAt = new ConcurrentHashMap<>();
+    private volatile long measuringFrom;
+
+    private LoadGenerator(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadGenerator(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        List<Operation> operations = loadOperations();
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        System.out.printf("Replaying %d operations at %d requests/s for %ds after a %ds warmup against %s%n",
+                operations.size(), options.rps, options.durationSeconds, options.warmupSeconds, options.url);
+
+        List<WebSocket> subscriptions = subscribe();
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rps;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds + options.durationSeconds);
+        measuringFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.scoreUpdatesPerSecond > 0) {
+                executor.submit(() -> postScoreUpdates(start, end));
+            }
+            for (long scheduled = start; scheduled < end; scheduled += interval) {
+                sleepUntil(scheduled);
+                Operation operation = pick(operations, totalWeight);
+                long sendAt = scheduled;
+                executor.submit(() -> execute(operation.name(), operation.body(), sendAt));
+            }
+        }
+        subscriptions.forEach(webSocket -> webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done"));
+        report(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - measuringFrom));
+    }
+
+    private List<Operation> loadOperations() throws IOException {
+        JsonNode collection = objectMapper.readTree(Path.of(options.collection).toFile());
+        List<Operation> operations = new ArrayList<>();
+        for (JsonNode folder : collection.path("item")) {
+            int weight = options.weights.getOrDefault(folder.path("name").asText(),
+                    DEFAULT_WEIGHTS.getOrDefault(folder.path("name").asText(), 1));
+            for (JsonNode item : folder.path("item")) {
+                String body = item.path("request").path("body").path("raw").asText();
+                if (weight > 0 && !body.isBlank()) {
+                    // Compact, so that the body is the same request the collection sends
+                    operations.add(new Operation(item.path("name").asText(), weight,
+                            objectMapper.writeValueAsString(objectMapper.readTree(body))));
+                }
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations selected from " + options.collection);
+        }
+        return operations;
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight) {
+        int target = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            target -= operation.weight();
+            if (target < 0) {
+                return operation;
+            }
+        }
+        return operations.getLast();
+    }
+
+    private void execute(String name, String body, long scheduledAt) {
+        boolean success;
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(options.url))
+                            .timeout(Duration.ofSeconds(10))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() == 200 && !objectMapper.readTree(response.body()).has("errors");
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        record(name, scheduledAt, success);
+    }
+
+    private void postScoreUpdates(long start, long end) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.scoreUpdatesPerSecond;
+        int homeScore = 1000;
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            sleepUntil(scheduled);
+            homeScore++;
+            scoresSentAt.put(homeScore, scheduled);
+            String mutation = "mutation { updateMatchScore(input: { matchId: %d, homeTeamScore: %d, awayTeamScore: 0, status: LIVE }) { id } }"
+                    .formatted(options.matchId, homeScore);
+            execute(SCORE_UPDATE, json(Map.of("query", mutation)), scheduled);
+        }
+    }
+
+    /**
+     * Opens the subscriptions with the graphql-transport-ws protocol, and
+     * waits for all of them to be acknowledged.
+     */
+    private List<WebSocket> subscribe() throws Exception {
+        if (options.subscriptions == 0) {
+            return List.of();
+        }
+        URI uri = URI.create(options.url.replaceFirst("^http", "ws"));
+        String subscribe = json(Map.of("id", "1", "type", "subscribe", "payload", Map.of("query",
+                "subscription { matchScoreUpdate(matchId: \"%d\") { id homeTeamScore } }".formatted(options.matchId))));
+        AtomicInteger acknowledged = new AtomicInteger();
+        List<CompletableFuture<WebSocket>> connecting = new ArrayList<>();
+        for (int i = 0; i < options.subscriptions; i++) {
+            CompletableFuture<Void> ack = new CompletableFuture<>();
+            connecting.add(httpClient.newWebSocketBuilder()
+                    .subprotocols("graphql-transport-ws")
+                    .buildAsync(uri, new SubscriptionListener(subscribe, ack))
+                    .thenCompose(webSocket -> webSocket.sendText(json(Map.of("type", "connection_init")), true))
+                    .thenCombine(ack, (webSocket, acked) -> {
+                        acknowledged.incrementAndGet();
+                        return webSocket;
+                    }));
+        }
+        List<WebSocket> webSockets = new ArrayList<>();
+        for (CompletableFuture<WebSocket> webSocket : connecting) {
+            webSockets.add(webSocket.get(30, TimeUnit.SECONDS));
+        }
+        System.out.printf("Holding %d matchScoreUpdate subscriptions to match %d%n", acknowledged.get(), options.matchId);
+        return webSockets;
+    }
+
+    private final class SubscriptionListener implements WebSocket.Listener {
+
+        private final String subscribe;
+        private final CompletableFuture<Void> ack;
+        private final StringBuilder message = new StringBuilder();
+
+        private SubscriptionListener(String subscribe, CompletableFuture<Void> ack) {
+            this.subscribe = subscribe;
+            this.ack = ack;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            message.append(data);
+            if (last) {
+                onMessage(webSocket, message.toString());
+                message.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void onMessage(WebSocket webSocket, String text) {
+            long receivedAt = System.nanoTime();
+            try {
+                JsonNode json = objectMapper.readTree(text);
+                switch (json.path("type").asText()) {
+                    case "connection_ack" -> {
+                        webSocket.sendText(subscribe, true);
+                        ack.complete(null);
+                    }
+                    case "next" -> {
+                        Long sentAt = scoresSentAt.get(
+                                json.path("payload").path("data").path("matchScoreUpdate").path("homeTeamScore").asInt());
+                        if (sentAt != null) {
+                            record(SCORE_DELIVERY, sentAt, receivedAt, !json.path("payload").has("errors"));
+                        }
+                    }
+                    case "error" -> record(SCORE_DELIVERY, receivedAt, receivedAt, false);
+                    default -> {
+                    }
+                }
+            } catch (IOException e) {
+                record(SCORE_DELIVERY, receivedAt, receivedAt, false);
+            }
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            ack.completeExceptionally(error);
+        }
+    }
+
+    private void record(String name, long scheduledAt, boolean success) {
+        record(name, scheduledAt, System.nanoTime(), success);
+    }
+
+    private void record(String name, long startedAt, long completedAt, boolean success) {
+        if (startedAt < measuringFrom) {
+            return;
+        }
+        Stat stat = stats.computeIfAbsent(name, key -> new Stat());
+        stat.latency.recordValue(Math.min(HIGHEST_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(completedAt - startedAt)));
+        if (!success) {
+            stat.errors.increment();
+        }
+    }
+
+    private void report(long seconds) throws IOException {
+        Path directory = Files.createDirectories(Path.of("target", "load-test"));
+        Histogram all = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long errors = 0;
+        System.out.printf("%n%-45s %9s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        for (Map.Entry<String, Stat> entry : new TreeMap<>(stats).entrySet()) {
+            Histogram latency = entry.getValue().latency;
+            long failed = entry.getValue().errors.sum();
+            printRow(entry.getKey(), latency, seconds, failed);
+            if (!entry.getKey().equals(SCORE_DELIVERY)) {
+                all.add(latency);
+                errors += failed;
+            }
+            write(directory.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "-") + ".hgrm"), latency);
+        }
+        printRow("all requests", all, seconds, errors);
+        write(directory.resolve("all.hgrm"), all);
+
+        System.out.printf("%nLatency distribution of all requests (ms):%n");
+        all.outputPercentileDistribution(System.out, 1000.0);
+    }
+
+    private static void printRow(String name, Histogram latency, long seconds, long errors) {
+        long count = latency.getTotalCount();
+        System.out.printf("%-45s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                name, count, count / (double) Math.max(1, seconds),
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                count == 0 ? 0 : 100.0 * errors / count);
+    }
+
+    private static void write(Path file, Histogram latency) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record Operation(String name, int weight, String body) {
+    }
+
+    private static final class Stat {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private static final class Options {
+        private String url = "http://localhost:8090/graphql";
+        private String collection = "Sports-Stats-API.postman_collection.json";
+        private int rps = 100;
+        private int durationSeconds = 60;
+        private int warmupSeconds = 10;
+        private int subscriptions = 100;
+        private long matchId = 3;
+        private int scoreUpdatesPerSecond = 1;
+        private final Map<String, Integer> weights = new LinkedHashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--url" -> options.url = value;
+                    case "--collection" -> options.collection = value;
+                    case "--rps" -> options.rps = Integer.parseInt(value);
+                    case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--subscriptions" -> options.subscriptions = Integer.parseInt(value);
+                    case "--match" -> options.matchId = Long.parseLong(value);
+                    case "--score-updates" -> options.scoreUpdatesPerSecond = Integer.parseInt(value);
+                    case "--weight" -> {
+                        String[] folderWeight = value.split("=", 2);
+                        options.weights.put(folderWeight[0], Integer.parseInt(folderWeight[1]));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (options.rps <= 0) {
+                throw new IllegalArgumentException("The request rate must be positive");
+            }
+            return options;
+        }
+    }
+}